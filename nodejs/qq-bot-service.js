@@ -45,6 +45,13 @@ class QQBotDirectService {
     this.heartbeatInterval = null;
     this.lastHeartbeatAck = true;
 
+    // SpringBoot长连接桥接（替代每个事件一次HTTP POST）
+    this.bridgeUrl = this.springBootUrl.replace(/^http/, 'ws') + '/qq/bridge';
+    this.bridge = null;
+    this.bridgeSeq = 0;
+    this.bridgePending = new Map();
+    this.bridgeTimeout = 25000;
+
     console.log('机器人配置:');
     console.log('- AppID:', this.botConfig.appID);
     console.log('- 沙箱模式:', this.botConfig.sandbox);
@@ -348,13 +355,13 @@ class QQBotDirectService {
       console.log('📩 SpringBoot响应:', response);
 
       // 根据SpringBoot的响应决定是否回复
-      if (response && response.shouldReply && response.replyContent) {
+      if (response && response.shouldReply && response.reply) {
         console.log('✉️  正在发送回复消息...');
-        console.log('  内容:', response.replyContent);
+        console.log('  内容:', JSON.stringify(response.reply));
         console.log('  频道ID:', response.channelId || messageData.channel_id);
         console.log('  原消息ID:', messageData.id);
         
-        await this.replyMessage(messageData, response.replyContent);
+        await this.replyMessage(messageData, response.reply);
       } else {
         console.log('ℹ️  无需回复');
       }
@@ -373,9 +380,9 @@ class QQBotDirectService {
       console.log('SpringBoot响应:', response);
 
       // 根据SpringBoot的响应决定是否回复
-      if (response && response.shouldReply && response.replyContent) {
-        console.log('正在发送群聊回复消息:', response.replyContent);
-        await this.replyGroupMessage(messageData, response.replyContent);
+      if (response && response.shouldReply && response.reply) {
+        console.log('正在发送群聊回复消息:', JSON.stringify(response.reply));
+        await this.replyGroupMessage(messageData, response.reply);
       }
     } catch (error) {
       console.error('处理群聊@消息失败:', error);
@@ -392,9 +399,9 @@ class QQBotDirectService {
       console.log('SpringBoot响应:', response);
 
       // 根据SpringBoot的响应决定是否回复
-      if (response && response.shouldReply && response.replyContent) {
-        console.log('正在发送私聊回复消息:', response.replyContent);
-        await this.replyC2CMessage(messageData, response.replyContent);
+      if (response && response.shouldReply && response.reply) {
+        console.log('正在发送私聊回复消息:', JSON.stringify(response.reply));
+        await this.replyC2CMessage(messageData, response.reply);
       }
     } catch (error) {
       console.error('处理私聊消息失败:', error);
@@ -411,71 +418,21 @@ class QQBotDirectService {
       console.log('SpringBoot响应:', response);
 
       // 根据SpringBoot的响应决定是否回复
-      if (response && response.shouldReply && response.replyContent) {
-        console.log('正在发送频道私聊回复消息:', response.replyContent);
-        await this.replyDirectMessage(messageData, response.replyContent);
+      if (response && response.shouldReply && response.reply) {
+        console.log('正在发送频道私聊回复消息:', JSON.stringify(response.reply));
+        await this.replyDirectMessage(messageData, response.reply);
       }
     } catch (error) {
       console.error('处理频道私聊消息失败:', error);
     }
   }
-  async replyMessage(originalMessage, content) {
+  async replyMessage(originalMessage, reply) {
     try {
       console.log('发送频道回复消息...');
       const headers = await this.createHeaders();
 
-      // 解析内容为JSON对象以检测是否为特殊消息类型
-      let messageData = {};
-      let isSpecialMessage = false;
-      
-      try {
-        const parsedContent = JSON.parse(content);
-        
-        // 检查是否为 Markdown 消息（msg_type: 2）
-        if (parsedContent.msg_type === 2 && parsedContent.markdown) {
-          isSpecialMessage = true;
-          // Markdown 消息不需要 content 字段和 msg_id
-          messageData = {
-            msg_type: 2,
-            markdown: parsedContent.markdown
-          };
-        }
-        // 检查是否为 Ark 消息（msg_type: 3）
-        else if (parsedContent.msg_type === 3 && parsedContent.ark) {
-          isSpecialMessage = true;
-          // Ark 消息只需要 msg_type 和 ark 字段
-          messageData = {
-            msg_type: 3,
-            ark: parsedContent.ark
-          };
-        }
-        // 检查是否为 Media 富媒体消息（msg_type: 7）
-        else if (parsedContent.msg_type === 7 && parsedContent.media) {
-          isSpecialMessage = true;
-          // Media 消息不需要 content 字段和 msg_id
-          messageData = {
-            msg_type: 7,
-            media: parsedContent.media
-          };
-        }
-        // 常规文本消息或其他格式
-        else {
-          messageData = {
-            content: content,
-            msg_type: 0,
-            msg_id: originalMessage.id
-          };
-        }
-      } catch (e) {
-        // 如果不是JSON，作为普通文本处理
-        messageData = {
-          content: content,
-          msg_type: 0,
-          msg_id: originalMessage.id
-        };
-      }
-
-      console.log('消息类型:', isSpecialMessage ? 'Markdown/Ark/Media' : '文本');
+      // 频道 Markdown/Ark 消息不需要 msg_id
+      const messageData = this.toMessageBody(reply, originalMessage, false);
       console.log('消息数据:', JSON.stringify(messageData));
 
       const response = await axios.post(`${this.apiBaseUrl}/channels/${originalMessage.channel_id}/messages`, messageData, {
@@ -491,63 +448,16 @@ class QQBotDirectService {
   }
 
   // 回复群聊消息
-  async replyGroupMessage(originalMessage, content) {
+  async replyGroupMessage(originalMessage, reply) {
     try {
       console.log('发送群聊回复消息...');
       const headers = await this.createHeaders();
 
-      // 解析内容为JSON对象以检测是否为特殊消息类型
-      let messageData = {};
-      let isSpecialMessage = false;
-      
-      try {
-        const parsedContent = JSON.parse(content);
-        
-        // 检查是否为 Markdown 消息（msg_type: 2）
-        if (parsedContent.msg_type === 2 && parsedContent.markdown) {
-          isSpecialMessage = true;
-          // Markdown 消息不需要 content 字段和 msg_id
-          messageData = {
-            msg_type: 2,
-            markdown: parsedContent.markdown
-          };
-        }
-        // 检查是否为 Ark 消息（msg_type: 3）
-        else if (parsedContent.msg_type === 3 && parsedContent.ark) {
-          isSpecialMessage = true;
-          // Ark 消息只需要 msg_type 和 ark 字段
-          messageData = {
-            msg_type: 3,
-            ark: parsedContent.ark
-          };
-        }
-        // 检查是否为 Media 富媒体消息（msg_type: 7，包括图片）
-        else if (parsedContent.msg_type === 7 && parsedContent.media) {
-          isSpecialMessage = true;
-          // Media 消息不需要 content 字段和 msg_id
-          messageData = {
-            msg_type: 7,
-            media: parsedContent.media
-          };
-        }
-        // 常规文本消息或其他格式
-        else {
-          messageData = {
-            content: content,
-            msg_type: 0,
-            msg_id: originalMessage.id
-          };
-        }
-      } catch (e) {
-        // 如果不是JSON，作为普通文本处理
-        messageData = {
-          content: content,
-          msg_type: 0,
-          msg_id: originalMessage.id
-        };
-      }
-
-      console.log('消息类型:', isSpecialMessage ? 'Markdown/Ark/Media' : '文本');
+      // 群聊 Markdown/Ark 消息不需要 msg_id；图片需要先上传为富媒体
+      const filesUrl = `${this.apiBaseUrl}/v2/groups/${originalMessage.group_openid}/files`;
+      const messageData = reply.image
+        ? await this.toMediaMessageBody(reply, originalMessage, filesUrl, headers)
+        : this.toMessageBody(reply, originalMessage, false);
       console.log('消息数据:', JSON.stringify(messageData));
 
       const response = await axios.post(`${this.apiBaseUrl}/v2/groups/${originalMessage.group_openid}/messages`, messageData, {
@@ -563,66 +473,16 @@ class QQBotDirectService {
   }
 
   // 回复私聊消息
-  async replyC2CMessage(originalMessage, content) {
+  async replyC2CMessage(originalMessage, reply) {
     try {
       console.log('发送私聊回复消息...');
       const headers = await this.createHeaders();
 
-      // 解析内容为JSON对象以检测是否为特殊消息类型
-      let messageData = {};
-      let isSpecialMessage = false;
-      
-      try {
-        const parsedContent = JSON.parse(content);
-        
-        // 检查是否为 Markdown 消息（msg_type: 2）
-        if (parsedContent.msg_type === 2 && parsedContent.markdown) {
-          isSpecialMessage = true;
-          // 私聊 Markdown 消息需要 msg_id，才能作为回复消息而不是主动消息
-          messageData = {
-            msg_type: 2,
-            markdown: parsedContent.markdown,
-            msg_id: originalMessage.id
-          };
-        }
-        // 检查是否为 Ark 消息（msg_type: 3）
-        else if (parsedContent.msg_type === 3 && parsedContent.ark) {
-          isSpecialMessage = true;
-          // 私聊 Ark 消息需要 msg_id，才能作为回复消息而不是主动消息
-          messageData = {
-            msg_type: 3,
-            ark: parsedContent.ark,
-            msg_id: originalMessage.id
-          };
-        }
-        // 检查是否为 Media 富媒体消息（msg_type: 7，包括图片）
-        else if (parsedContent.msg_type === 7 && parsedContent.media) {
-          isSpecialMessage = true;
-          // 私聊 Media 消息需要 msg_id，才能作为回复消息而不是主动消息
-          messageData = {
-            msg_type: 7,
-            media: parsedContent.media,
-            msg_id: originalMessage.id
-          };
-        }
-        // 常规文本消息或其他格式
-        else {
-          messageData = {
-            content: content,
-            msg_type: 0,
-            msg_id: originalMessage.id
-          };
-        }
-      } catch (e) {
-        // 如果不是JSON，作为普通文本处理
-        messageData = {
-          content: content,
-          msg_type: 0,
-          msg_id: originalMessage.id
-        };
-      }
-
-      console.log('消息类型:', isSpecialMessage ? 'Markdown/Ark/Media' : '文本');
+      // 私聊富消息需要 msg_id，才能作为回复消息而不是主动消息；图片需要先上传为富媒体
+      const filesUrl = `${this.apiBaseUrl}/v2/users/${originalMessage.author.user_openid}/files`;
+      const messageData = reply.image
+        ? await this.toMediaMessageBody(reply, originalMessage, filesUrl, headers)
+        : this.toMessageBody(reply, originalMessage, true);
       console.log('消息数据:', JSON.stringify(messageData));
 
       const response = await axios.post(`${this.apiBaseUrl}/v2/users/${originalMessage.author.user_openid}/messages`, messageData, {
@@ -638,65 +498,14 @@ class QQBotDirectService {
   }
 
   // 回复频道私聊消息（DIRECT_MESSAGE）
-  async replyDirectMessage(originalMessage, content) {
+  async replyDirectMessage(originalMessage, reply) {
     try {
       console.log('发送频道私聊回复消息...');
       console.log('原始消息:', JSON.stringify(originalMessage));
       const headers = await this.createHeaders();
 
-      // 解析内容为JSON对象以检测是否为特殊消息类型
-      let messageData = {};
-      let isSpecialMessage = false;
-      
-      try {
-        const parsedContent = JSON.parse(content);
-        
-        // 检查是否为 Markdown 消息（msg_type: 2）
-        if (parsedContent.msg_type === 2 && parsedContent.markdown) {
-          isSpecialMessage = true;
-          // 频道私聊 Markdown 消息需要 msg_id，才能作为回复消息而不是主动消息
-          messageData = {
-            msg_type: 2,
-            markdown: parsedContent.markdown,
-            msg_id: originalMessage.id
-          };
-        }
-        // 检查是否为 Ark 消息（msg_type: 3）
-        else if (parsedContent.msg_type === 3 && parsedContent.ark) {
-          isSpecialMessage = true;
-          // 频道私聊 Ark 消息需要 msg_id，才能作为回复消息而不是主动消息
-          messageData = {
-            msg_type: 3,
-            ark: parsedContent.ark,
-            msg_id: originalMessage.id
-          };
-        }
-        // 检查是否为 Media 富媒体消息（msg_type: 7，包括图片）
-        else if (parsedContent.msg_type === 7 && parsedContent.media) {
-          isSpecialMessage = true;
-          // 频道私聊 Media 消息需要 msg_id，才能作为回复消息而不是主动消息
-          messageData = {
-            msg_type: 7,
-            media: parsedContent.media,
-            msg_id: originalMessage.id
-          };
-        }
-        // 常规文本消息或其他格式
-        else {
-          messageData = {
-            content: content,
-            msg_id: originalMessage.id
-          };
-        }
-      } catch (e) {
-        // 如果不是JSON，作为普通文本处理
-        messageData = {
-          content: content,
-          msg_id: originalMessage.id
-        };
-      }
-
-      console.log('消息类型:', isSpecialMessage ? 'Markdown/Ark/Media' : '文本');
+      // 频道私聊富消息需要 msg_id，才能作为回复消息而不是主动消息
+      const messageData = this.toMessageBody(reply, originalMessage, true);
       console.log('消息数据:', JSON.stringify(messageData));
 
       // DIRECT_MESSAGE_CREATE 的回复方式：使用 /dms/{guild_id}/messages
@@ -719,6 +528,38 @@ class QQBotDirectService {
     }
   }
 
+  // SpringBoot 返回的 reply 已经是发消息接口的消息体（msg_type + content/markdown/ark/image），
+  // 不需要再解析字符串；这里只补充会话字段
+  // 文本和图片消息总是带 msg_id 作为被动回复，Markdown/Ark 按接口要求决定
+  toMessageBody(reply, originalMessage, richNeedsMsgId) {
+    const messageData = { ...reply };
+    if (reply.msg_type === 0 || richNeedsMsgId) {
+      messageData.msg_id = originalMessage.id;
+    }
+    return messageData;
+  }
+
+  // 群聊和私聊不支持图片地址，先上传为富媒体再以 msg_type 7 发送
+  async toMediaMessageBody(reply, originalMessage, filesUrl, headers) {
+    const upload = await axios.post(filesUrl, {
+      file_type: 1,
+      url: reply.image,
+      srv_send_msg: false
+    }, {
+      headers
+    });
+
+    const messageData = {
+      msg_type: 7,
+      media: { file_info: upload.data.file_info },
+      msg_id: originalMessage.id
+    };
+    if (reply.content) {
+      messageData.content = reply.content;
+    }
+    return messageData;
+  }
+
   // 启动心跳
   startHeartbeat(interval) {
     console.log(`启动心跳，间隔: ${interval}ms`);
@@ -734,13 +575,96 @@ class QQBotDirectService {
     }, interval);
   }
 
+  // 连接SpringBoot长连接桥接
+  connectBridge() {
+    const bridge = new WebSocket(this.bridgeUrl);
+    this.bridge = bridge;
+
+    bridge.on('open', () => {
+      console.log('✅ SpringBoot桥接连接已建立:', this.bridgeUrl);
+    });
+
+    bridge.on('message', (raw) => {
+      try {
+        const frame = JSON.parse(raw);
+        const pending = this.bridgePending.get(frame.id);
+        if (!pending) {
+          return;
+        }
+        this.bridgePending.delete(frame.id);
+        clearTimeout(pending.timer);
+        if (frame.error) {
+          pending.reject(new Error(frame.error));
+        } else {
+          pending.resolve(frame.result);
+        }
+      } catch (error) {
+        console.error('解析SpringBoot桥接响应失败:', error.message);
+      }
+    });
+
+    bridge.on('close', () => {
+      console.log('SpringBoot桥接连接关闭，5秒后重连');
+      // 未完成的请求交给HTTP兜底
+      for (const [id, pending] of this.bridgePending) {
+        clearTimeout(pending.timer);
+        pending.reject(new Error('桥接连接已关闭'));
+      }
+      this.bridgePending.clear();
+      if (this.bridge === bridge) {
+        this.bridge = null;
+      }
+      setTimeout(() => this.connectBridge(), 5000);
+    });
+
+    bridge.on('error', (error) => {
+      console.error('SpringBoot桥接连接错误:', error.message);
+    });
+  }
+
+  // 桥接是否可用
+  isBridgeOpen() {
+    return this.bridge && this.bridge.readyState === WebSocket.OPEN;
+  }
+
+  // 通过桥接发送请求，按id关联响应，可以同时有多个请求在途
+  requestViaBridge(eventType, data) {
+    return new Promise((resolve, reject) => {
+      const id = ++this.bridgeSeq;
+      const timer = setTimeout(() => {
+        this.bridgePending.delete(id);
+        reject(new Error('桥接请求超时'));
+      }, this.bridgeTimeout);
+      this.bridgePending.set(id, { resolve, reject, timer });
+      this.bridge.send(JSON.stringify({ id, type: 'process', eventType, data }), (error) => {
+        if (error) {
+          clearTimeout(timer);
+          this.bridgePending.delete(id);
+          reject(error);
+        }
+      });
+    });
+  }
+
   // 转发消息到SpringBoot
   async forwardToSpringBoot(eventType, data) {
+    // 桥接请求失败时SpringBoot可能已经收到并在处理这条消息，标记为重试以复用原结果，避免被当作重复消息丢弃
+    let retry = false;
+    if (this.isBridgeOpen()) {
+      try {
+        return await this.requestViaBridge(eventType, data);
+      } catch (error) {
+        console.error('桥接转发失败，改用HTTP:', error.message);
+        retry = true;
+      }
+    }
+
     try {
       const response = await axios.post(`${this.springBootUrl}/qq/process-message`, {
         eventType: eventType,
         data: data,
-        timestamp: Date.now()
+        timestamp: Date.now(),
+        retry: retry
       }, {
         headers: {
           'Content-Type': 'application/json',
@@ -758,6 +682,11 @@ class QQBotDirectService {
 
   // 通知SpringBoot事件
   async notifySpringBoot(eventType, data) {
+    if (this.isBridgeOpen()) {
+      this.bridge.send(JSON.stringify({ type: 'notify', eventType, data }));
+      return;
+    }
+
     try {
       await axios.post(`${this.springBootUrl}/qq/event-notification`, {
         eventType: eventType,
@@ -799,6 +728,9 @@ class QQBotDirectService {
       // 获取机器人信息
       await this.getBotInfo();
 
+      // 连接SpringBoot桥接（失败时自动重连，期间走HTTP）
+      this.connectBridge();
+
       // 连接WebSocket
       await this.connectWebSocket();
 
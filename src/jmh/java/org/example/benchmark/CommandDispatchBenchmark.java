@@ -0,0 +1,118 @@
+package org.example.benchmark;
+
+import org.example.commands.ChooseCommand;
+import org.example.commands.Command;
+import org.example.commands.DebugCommand;
+import org.example.commands.EchoCommand;
+import org.example.commands.HelpCommand;
+import org.example.commands.MarkDownTestCommand;
+import org.example.config.HostSamplerConfig;
+import org.example.config.ImageStoreConfig;
+import org.example.debug.HostMetricsSampler;
+import org.example.service.CommandDispatchTable;
+import org.example.service.CommandRegistry;
+import org.example.service.CommandTokenizer;
+import org.example.service.ImageStore;
+import org.example.service.ParsedCommand;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 指令分发基准测试
+ * 对比旧版 processCommand 的解析方式（lastIndexOf + substring + 正则 split + HashMap）
+ * 与预编译分发表 + 单次扫描分词器，只测量解析和查表，不执行指令
+ *
+ * 运行：mvn -Pbenchmarks test-compile exec:exec -Djmh.args="CommandDispatch"
+ *
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CommandDispatchBenchmark {
+
+    @Param({
+            "<@!1234567890> /echo 你好 世界",
+            "/help",
+            "今天天气不错，大家中午吃什么？",
+            "<@!1234567890> /unknown a b c"
+    })
+    public String content;
+
+    private Map<String, Command> legacyHandlers;
+    private CommandDispatchTable dispatchTable;
+
+    @Setup
+    public void setup() {
+        List<Command> commands = new ArrayList<>();
+        commands.add(new EchoCommand());
+        commands.add(new ChooseCommand());
+        commands.add(new DebugCommand(new HostMetricsSampler(new HostSamplerConfig())));
+        commands.add(new MarkDownTestCommand(new ImageStore(new ImageStoreConfig())));
+        CommandRegistry registry = new CommandRegistry(commands);
+        registry.register(new HelpCommand(registry));
+
+        legacyHandlers = new HashMap<>();
+        for (Command command : registry.getDispatchTable().commands()) {
+            legacyHandlers.put(command.getName(), command);
+        }
+        dispatchTable = registry.getDispatchTable();
+    }
+
+    @Benchmark
+    public void legacy(Blackhole bh) {
+        String cleanContent = content.trim();
+        if (cleanContent.contains("@")) {
+            int lastAtIndex = cleanContent.lastIndexOf("@");
+            String afterAt = cleanContent.substring(lastAtIndex);
+            int spaceIndex = afterAt.indexOf(" ");
+            if (spaceIndex == -1) {
+                return;
+            }
+            cleanContent = afterAt.substring(spaceIndex + 1).trim();
+        }
+        if (!cleanContent.startsWith("/")) {
+            return;
+        }
+        String[] parts = cleanContent.substring(1).split("\\s+");
+        String command = parts[0].toLowerCase();
+        String[] args = Arrays.copyOfRange(parts, 1, parts.length);
+        bh.consume(legacyHandlers.get(command));
+        bh.consume(args);
+    }
+
+    @Benchmark
+    public void dispatchTable(Blackhole bh) {
+        ParsedCommand parsed = CommandTokenizer.tokenize(content);
+        if (parsed == null) {
+            return;
+        }
+        Command command = dispatchTable.lookup(parsed);
+        bh.consume(command);
+        if (command != null) {
+            // 命中时才物化参数数组，与实际执行路径一致
+            bh.consume(parsed.args());
+        }
+    }
+}
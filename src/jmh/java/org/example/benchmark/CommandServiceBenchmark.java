@@ -0,0 +1,100 @@
+package org.example.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.commands.ChooseCommand;
+import org.example.commands.Command;
+import org.example.commands.DebugCommand;
+import org.example.commands.EchoCommand;
+import org.example.commands.HelpCommand;
+import org.example.commands.MarkDownTestCommand;
+import org.example.config.FloodControlConfig;
+import org.example.config.HostSamplerConfig;
+import org.example.config.ImageStoreConfig;
+import org.example.debug.HostMetricsSampler;
+import org.example.reply.Reply;
+import org.example.service.BotMetrics;
+import org.example.service.CommandFloodGuard;
+import org.example.service.CommandRegistry;
+import org.example.service.CommandReplyCache;
+import org.example.service.CommandService;
+import org.example.service.ImageStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CommandService.processCommand 基准测试
+ * 覆盖群聊@指令（/choose 不缓存、/help echo 命中回复缓存）、普通聊天消息和未知指令，
+ * 包含分词、查表、缓存和指标记录在内的完整同步路径
+ *
+ * 运行：mvn -Pbenchmarks test-compile exec:exec -Djmh.args="CommandService"
+ *
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CommandServiceBenchmark {
+
+    @Param({"groupChoose", "groupHelp", "plain", "unknown"})
+    public String message;
+
+    private String content;
+
+    private CommandService commandService;
+
+    @Setup
+    public void setup() {
+        List<Command> commands = new ArrayList<>();
+        commands.add(new EchoCommand());
+        commands.add(new ChooseCommand());
+        commands.add(new DebugCommand(new HostMetricsSampler(new HostSamplerConfig())));
+        commands.add(new MarkDownTestCommand(new ImageStore(new ImageStoreConfig())));
+        CommandRegistry registry = new CommandRegistry(commands);
+        registry.register(new HelpCommand(registry));
+
+        // 同步路径不使用线程池；QQBotService 只在已弃用的 handleCommand 中用到
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        commandService = new CommandService(null, registry, Runnable::run,
+                new CommandReplyCache(1000), new BotMetrics(meterRegistry),
+                new CommandFloodGuard(new FloodControlConfig(), meterRegistry));
+
+        switch (message) {
+            case "groupChoose":
+                content = "<@!1234567890> /choose 火锅 烧烤 麻辣烫 炸鸡";
+                break;
+            case "groupHelp":
+                content = "<@!1234567890> /help echo";
+                break;
+            case "plain":
+                content = "今天天气不错，大家中午吃什么？";
+                break;
+            case "unknown":
+                content = "<@!1234567890> /unknown a b c";
+                break;
+            default:
+                throw new IllegalArgumentException(message);
+        }
+    }
+
+    @Benchmark
+    public Reply processCommand() {
+        return commandService.processCommand(content);
+    }
+}
@@ -0,0 +1,96 @@
+package org.example.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.event.BotEvent;
+import org.example.event.EventDecoder;
+import org.example.event.NodeEnvelope;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 事件解码基准测试
+ * 对比旧版 readValue(payload, Map.class) + 逐层强转，与流式解码为事件记录；
+ * 请求体包含附件、成员信息等机器人不使用的字段，重点看 -prof gc 的 gc.alloc.rate.norm
+ *
+ * 运行：mvn -Pbenchmarks test-compile exec:exec -Djmh.args="EventDecode"
+ *
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventDecodeBenchmark {
+
+    private static final String DATA = "{\"id\":\"ROBOT1.0_abcdefghijklmnopqrstuvwxyz0123456789\","
+            + "\"content\":\" /echo 你好 世界\",\"timestamp\":\"2024-01-01T12:00:00+08:00\","
+            + "\"group_id\":\"0123456789ABCDEF0123456789ABCDEF\","
+            + "\"group_openid\":\"0123456789ABCDEF0123456789ABCDEF\","
+            + "\"author\":{\"id\":\"FEDCBA9876543210FEDCBA9876543210\","
+            + "\"member_openid\":\"FEDCBA9876543210FEDCBA9876543210\","
+            + "\"union_openid\":\"AAAABBBBCCCCDDDDEEEEFFFF00001111\"},"
+            + "\"attachments\":[{\"content_type\":\"image/png\",\"filename\":\"a.png\",\"height\":720,"
+            + "\"width\":1280,\"size\":204800,\"url\":\"https://multimedia.nt.qq.com/download?appid=1407\"}],"
+            + "\"message_scene\":{\"source\":\"default\",\"ext\":[\"ref_msg_idx=REFIDX_abc\",\"msg_idx=REFIDX_def\"]},"
+            + "\"message_type\":0}";
+
+    private static final String WEBHOOK = "{\"op\":0,\"s\":42,\"t\":\"GROUP_AT_MESSAGE_CREATE\","
+            + "\"id\":\"GROUP_AT_MESSAGE_CREATE:abcdef0123456789\",\"d\":" + DATA + "}";
+
+    private static final String ENVELOPE = "{\"eventType\":\"GROUP_AT_MESSAGE_CREATE\",\"data\":" + DATA
+            + ",\"timestamp\":1704081600000}";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public void webhookLegacy(Blackhole bh) throws Exception {
+        Map<String, Object> message = objectMapper.readValue(WEBHOOK, Map.class);
+        String type = (String) message.get("t");
+        Map<String, Object> data = (Map<String, Object>) message.get("d");
+        Map<String, Object> author = (Map<String, Object>) data.get("author");
+        bh.consume(type);
+        bh.consume(data.get("id"));
+        bh.consume(data.get("content"));
+        bh.consume(data.get("group_openid"));
+        bh.consume(author.get("member_openid"));
+    }
+
+    @Benchmark
+    public BotEvent webhookStreaming() throws Exception {
+        return EventDecoder.decodeWebhook(WEBHOOK);
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public void envelopeLegacy(Blackhole bh) throws Exception {
+        Map<String, Object> request = objectMapper.readValue(ENVELOPE, Map.class);
+        String eventType = (String) request.get("eventType");
+        Map<String, Object> data = (Map<String, Object>) request.get("data");
+        Map<String, Object> author = (Map<String, Object>) data.get("author");
+        bh.consume(eventType);
+        bh.consume(data.get("id"));
+        bh.consume(data.get("content"));
+        bh.consume(data.get("group_openid"));
+        bh.consume(author.get("member_openid"));
+    }
+
+    @Benchmark
+    public NodeEnvelope envelopeStreaming() throws Exception {
+        return EventDecoder.decodeEnvelope(ENVELOPE);
+    }
+}
@@ -0,0 +1,72 @@
+package org.example.benchmark;
+
+import org.example.commands.ChooseCommand;
+import org.example.commands.Command;
+import org.example.commands.DebugCommand;
+import org.example.commands.EchoCommand;
+import org.example.commands.HelpCommand;
+import org.example.commands.MarkDownTestCommand;
+import org.example.config.HostSamplerConfig;
+import org.example.config.ImageStoreConfig;
+import org.example.debug.HostMetricsSampler;
+import org.example.service.CommandRegistry;
+import org.example.service.ImageStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HelpCommand.execute 基准测试（不经过回复缓存）
+ * 参数为空串表示不带参数的 /help
+ *
+ * 运行：mvn -Pbenchmarks test-compile exec:exec -Djmh.args="HelpCommand"
+ *
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HelpCommandBenchmark {
+
+    @Param({"", "1", "echo", "nope"})
+    public String arg;
+
+    private String[] args;
+
+    private HelpCommand helpCommand;
+
+    @Setup
+    public void setup() {
+        List<Command> commands = new ArrayList<>();
+        commands.add(new EchoCommand());
+        commands.add(new ChooseCommand());
+        commands.add(new DebugCommand(new HostMetricsSampler(new HostSamplerConfig())));
+        commands.add(new MarkDownTestCommand(new ImageStore(new ImageStoreConfig())));
+        CommandRegistry registry = new CommandRegistry(commands);
+        helpCommand = new HelpCommand(registry);
+        registry.register(helpCommand);
+
+        args = arg.isEmpty() ? new String[0] : new String[]{arg};
+    }
+
+    @Benchmark
+    public String execute() {
+        return helpCommand.execute(args);
+    }
+}
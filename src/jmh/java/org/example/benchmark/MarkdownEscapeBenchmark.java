@@ -0,0 +1,112 @@
+package org.example.benchmark;
+
+import org.example.Z_Utils.MarkdownMessageUtils;
+import org.example.Z_Utils.MarkdownParam;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MarkdownMessageUtils 转义与校验基准测试
+ * 大部分真实参数值不含需要转义的字符，clean 系列衡量这种常见情况；
+ * chainedReplace 和 getBytesLength 是原先的逐个 replace 和编码后取长度的写法，作为对照
+ *
+ * 运行：mvn -Pbenchmarks test-compile exec:exec -Djmh.args="MarkdownEscape"
+ *
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MarkdownEscapeBenchmark {
+
+    @Param({"cleanAscii", "cleanChinese", "emoji", "needsEscape", "longChinese", "emojiHeavy"})
+    public String text;
+
+    private String value;
+
+    private List<MarkdownParam> params;
+
+    @Setup
+    public void setup() {
+        switch (text) {
+            case "cleanAscii":
+                value = "https://q.qq.com/qqbot/static/images/f3648b8001dfa331020c096a85057715.png";
+                break;
+            case "cleanChinese":
+                value = "今天天气不错，适合出去走走。晚上一起吃火锅吧，地点在老地方。";
+                break;
+            case "emoji":
+                value = "🎉 恭喜 🎉 本周活跃之星：小明 👍👍👍 继续加油 💪";
+                break;
+            case "needsEscape":
+                value = "第一行\n第二行\t\"引用\" C:\\path\\to\\file\r\n结束";
+                break;
+            case "longChinese":
+                // 接近 1000 字节上限的群聊统计正文
+                value = "📊 今日群聊统计\n发言人数：42，消息总数：1024，最活跃成员：小明（128 条）。\n".repeat(6);
+                break;
+            case "emojiHeavy":
+                value = "🔥🔥🔥 周末开黑 🎮 来的扣 1️⃣ 🙋‍♂️🙋‍♀️ 不来的扣 2️⃣ 😭😭 晚上 8 点不见不散 🌙✨".repeat(3);
+                break;
+            default:
+                throw new IllegalArgumentException(text);
+        }
+        params = List.of(
+                MarkdownParam.of("title", "📊 今日群聊统计"),
+                MarkdownParam.of("content", value),
+                MarkdownParam.of("ReturnImg", "https://example.com/images/stats.png"),
+                MarkdownParam.of("footer", "数据每 5 分钟更新一次"));
+    }
+
+    @Benchmark
+    public String escapeMarkdownValue() {
+        return MarkdownMessageUtils.escapeMarkdownValue(value);
+    }
+
+    @Benchmark
+    public String chainedReplace() {
+        return value
+                .replace("\\", "\\\\")
+                .replace("\"", "\\\"")
+                .replace("\n", "\\n")
+                .replace("\r", "\\r")
+                .replace("\t", "\\t");
+    }
+
+    @Benchmark
+    public MarkdownMessageUtils.EscapedValue escapeAndMeasure() {
+        return MarkdownMessageUtils.escapeAndMeasure(value);
+    }
+
+    @Benchmark
+    public int utf8Length() {
+        return MarkdownMessageUtils.utf8Length(value);
+    }
+
+    @Benchmark
+    public int getBytesLength() {
+        return value.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    @Benchmark
+    public String validateParams() {
+        return MarkdownMessageUtils.validateParams(params);
+    }
+}
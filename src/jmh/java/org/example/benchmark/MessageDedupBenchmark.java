@@ -0,0 +1,63 @@
+package org.example.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.config.DedupConfig;
+import org.example.service.MessageDeduplicator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 重复消息过滤基准测试
+ * unique 模拟正常流量（每条消息ID都不同，走布隆过滤器快速路径），
+ * duplicate 模拟同一条消息反复投递（走精确查询）
+ *
+ * 运行：mvn -Pbenchmarks test-compile exec:exec -Djmh.args="MessageDedup"
+ *
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class MessageDedupBenchmark {
+
+    private static final String PREFIX = "ROBOT1.0_abcdefghijklmnopqrstuvwxyz_";
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private MessageDeduplicator deduplicator;
+
+    @Setup
+    public void setup() {
+        DedupConfig config = new DedupConfig();
+        config.setMaximumSize(1_000_000);
+        deduplicator = new MessageDeduplicator(config, new SimpleMeterRegistry());
+        deduplicator.isDuplicate(PREFIX + "repeated");
+    }
+
+    @Benchmark
+    public boolean unique() {
+        return deduplicator.isDuplicate(PREFIX + sequence.incrementAndGet());
+    }
+
+    @Benchmark
+    public boolean duplicate() {
+        return deduplicator.isDuplicate(PREFIX + "repeated");
+    }
+}
@@ -0,0 +1,148 @@
+package org.example.benchmark;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.example.config.DedupConfig;
+import org.example.config.QQBotConfig;
+import org.example.service.QQBotService;
+import org.example.service.WebhookSignatureVerifier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.security.spec.EdECPrivateKeySpec;
+import java.security.spec.NamedParameterSpec;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * QQBotService.verifySignature 基准测试（Ed25519）
+ * 使用典型的群聊@消息回调作为请求体。重放窗口会拒绝重复的签名，
+ * 因此预先为 {@link #PAYLOADS} 条消息ID不同的请求体生成签名，轮流校验；
+ * 一轮用完后清空重放缓存再从头开始，每次调用测量的都是验签通过的完整路径
+ *
+ * 时间戳超出重放窗口的签名会被拒绝：每次迭代开始时用当前时间重新签名，
+ * 单次迭代很长时，轮换到开头且签名已用过半个窗口也会重新签名
+ *
+ * 运行：mvn -Pbenchmarks test-compile exec:exec -Djmh.args="Signature"
+ *
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SignatureBenchmark {
+
+    private static final String SECRET = "DG5g3B4j9X2KOErG";
+
+    private static final int PAYLOADS = 4096;
+
+    private static final String PAYLOAD_TEMPLATE = "{\"op\":0,\"s\":42,\"t\":\"GROUP_AT_MESSAGE_CREATE\","
+            + "\"id\":\"GROUP_AT_MESSAGE_CREATE:abcdef0123456789\",\"d\":{\"id\":\"ROBOT1.0_%08x\","
+            + "\"content\":\" /echo 你好 世界\",\"timestamp\":\"2024-01-01T12:00:00+08:00\","
+            + "\"group_openid\":\"0123456789ABCDEF0123456789ABCDEF\","
+            + "\"author\":{\"member_openid\":\"FEDCBA9876543210FEDCBA9876543210\"}}}";
+
+    private QQBotService qqBotService;
+
+    private Cache<?, ?> replayCache;
+
+    private Signature signer;
+
+    // 签名使用超过该秒数后，下一次轮换时重新签名
+    private long resignAfterSeconds;
+
+    // 当前签名的时间戳（秒）
+    private long signedAt;
+
+    private String[] payloads;
+
+    private Map<String, String>[] headers;
+
+    private int next;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() throws Exception {
+        QQBotConfig config = new QQBotConfig();
+        config.setSecret(SECRET);
+        WebhookSignatureVerifier verifier = new WebhookSignatureVerifier(config);
+        qqBotService = new QQBotService(new DedupConfig());
+        ReflectionTestUtils.setField(qqBotService, "signatureVerifier", verifier);
+        replayCache = (Cache<?, ?>) ReflectionTestUtils.getField(verifier, "seenSignatures");
+        resignAfterSeconds = config.getWebhookReplayWindow().toSeconds() / 2;
+
+        // 按平台规则用 secret 派生私钥，为每个请求体生成真实签名
+        String seed = SECRET.repeat(32 / SECRET.length() + 1).substring(0, 32);
+        PrivateKey privateKey = KeyFactory.getInstance("Ed25519").generatePrivate(
+                new EdECPrivateKeySpec(NamedParameterSpec.ED25519, seed.getBytes(StandardCharsets.UTF_8)));
+        signer = Signature.getInstance("Ed25519");
+        signer.initSign(privateKey);
+
+        payloads = new String[PAYLOADS];
+        headers = new Map[PAYLOADS];
+        for (int i = 0; i < PAYLOADS; i++) {
+            payloads[i] = String.format(PAYLOAD_TEMPLATE, i);
+            headers[i] = new HashMap<>();
+        }
+        sign();
+
+        if (!qqBotService.verifySignature(headers[0], payloads[0])) {
+            throw new IllegalStateException("基准请求的签名未通过校验");
+        }
+        replayCache.invalidateAll();
+    }
+
+    /**
+     * 每次迭代用当前时间重新签名，从第一条请求开始
+     */
+    @Setup(Level.Iteration)
+    public void resign() throws Exception {
+        sign();
+        replayCache.invalidateAll();
+        next = 0;
+    }
+
+    @Benchmark
+    public boolean verifySignature() throws Exception {
+        int i = next;
+        if (i == PAYLOADS) {
+            // 签名都已进入重放窗口，清空后重新使用；时间戳快要超出窗口时顺带重新签名
+            if (System.currentTimeMillis() / 1000 - signedAt > resignAfterSeconds) {
+                sign();
+            }
+            replayCache.invalidateAll();
+            i = 0;
+        }
+        next = i + 1;
+        return qqBotService.verifySignature(headers[i], payloads[i]);
+    }
+
+    private void sign() throws Exception {
+        signedAt = System.currentTimeMillis() / 1000;
+        String timestamp = String.valueOf(signedAt);
+        for (int i = 0; i < PAYLOADS; i++) {
+            signer.update((timestamp + payloads[i]).getBytes(StandardCharsets.UTF_8));
+            headers[i].put("x-signature-timestamp", timestamp);
+            headers[i].put("x-signature-ed25519", HexFormat.of().formatHex(signer.sign()));
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package org.example.benchmark;
+
+import org.example.Z_Utils.MarkdownParam;
+import org.example.commands.MarkDownTestCommand;
+import org.example.commands.TemplateMarkdownCommand;
+import org.example.config.ImageStoreConfig;
+import org.example.service.ImageStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 模板 Markdown 消息构建基准测试
+ * buildTemplateMarkdownMessage 只序列化预先构建好的参数列表；
+ * imgCommand 走 /img 的完整 execute 路径（构建参数 + 序列化）
+ *
+ * 运行：mvn -Pbenchmarks test-compile exec:exec -Djmh.args="TemplateMarkdown"
+ *
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TemplateMarkdownBenchmark {
+
+    private static final String[] IMG_ARGS = {"https://example.com/images/cat.png"};
+
+    private FixedParamsCommand fixedParams;
+    private MarkDownTestCommand imgCommand;
+
+    @Setup
+    public void setup() {
+        fixedParams = new FixedParamsCommand();
+        imgCommand = new MarkDownTestCommand(new ImageStore(new ImageStoreConfig()));
+    }
+
+    @Benchmark
+    public String buildTemplateMarkdownMessage() throws Exception {
+        return fixedParams.build();
+    }
+
+    @Benchmark
+    public String imgCommand() throws Exception {
+        return imgCommand.execute(IMG_ARGS);
+    }
+
+    /**
+     * 参数固定的模板指令，用于单独测量 buildTemplateMarkdownMessage
+     */
+    static final class FixedParamsCommand extends TemplateMarkdownCommand {
+
+        private final List<MarkdownParam> params = new ArrayList<>();
+
+        FixedParamsCommand() {
+            params.add(buildMarkdownParam("title", "📊 今日群聊统计"));
+            params.add(buildMarkdownParam("content", "发言人数：42\n消息总数：1024\n最活跃：小明"));
+            params.add(buildMarkdownParam("ReturnImg", "https://example.com/images/stats.png"));
+            params.add(buildMarkdownParam("footer", "数据每 5 分钟更新一次"));
+        }
+
+        String build() throws Exception {
+            return buildTemplateMarkdownMessage(params);
+        }
+
+        @Override
+        protected String getMarkdownTemplateId() {
+            return "102813362_1760679605";
+        }
+
+        @Override
+        protected List<MarkdownParam> getMarkdownParams(String[] args) {
+            return params;
+        }
+
+        @Override
+        public String getName() {
+            return "bench";
+        }
+
+        @Override
+        public String getDescription() {
+            return "基准测试";
+        }
+
+        @Override
+        public String getUsage() {
+            return "/bench";
+        }
+    }
+}
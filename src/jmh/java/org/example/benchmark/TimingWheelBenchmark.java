@@ -0,0 +1,82 @@
+package org.example.benchmark;
+
+import org.example.reminder.TimingWheel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 定时消息时间轮基准测试
+ * 在已有 pending 个定时器（到期时间分布在未来 30 天内）的情况下，衡量添加一个定时器并推进一个 tick 的开销；
+ * priorityQueue 是 ScheduledThreadPoolExecutor 内部使用的堆结构，作为对照
+ *
+ * 运行：mvn -Pbenchmarks test-compile exec:exec -Djmh.args="TimingWheel"
+ *
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimingWheelBenchmark {
+
+    private static final long TICK_MILLIS = 1000;
+    private static final long HORIZON_MILLIS = TimeUnit.DAYS.toMillis(30);
+
+    @Param({"1000", "100000", "500000"})
+    public int pending;
+
+    private TimingWheel<Long> wheel;
+    private PriorityBlockingQueue<long[]> heap;
+    private Random random;
+    private long now;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        random = new Random(42);
+        now = 1_800_000_000_000L;
+        wheel = new TimingWheel<>(TICK_MILLIS, 512, now);
+        heap = new PriorityBlockingQueue<>(pending, (a, b) -> Long.compare(a[0], b[0]));
+        for (int i = 0; i < pending; i++) {
+            long deadline = now + TICK_MILLIS + (long) (random.nextDouble() * HORIZON_MILLIS);
+            wheel.add(new TimingWheel.Timeout<>((long) i, deadline));
+            heap.add(new long[]{deadline});
+        }
+    }
+
+    @Benchmark
+    public void timingWheel(Blackhole bh) {
+        long deadline = now + TICK_MILLIS + (long) (random.nextDouble() * HORIZON_MILLIS);
+        wheel.add(new TimingWheel.Timeout<>(deadline, deadline));
+        now += TICK_MILLIS;
+        wheel.advanceTo(now, bh::consume);
+    }
+
+    @Benchmark
+    public void priorityQueue(Blackhole bh) {
+        long deadline = now + TICK_MILLIS + (long) (random.nextDouble() * HORIZON_MILLIS);
+        heap.add(new long[]{deadline});
+        now += TICK_MILLIS;
+        long[] head;
+        while ((head = heap.peek()) != null && head[0] <= now) {
+            bh.consume(heap.poll());
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package org.example;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -15,11 +17,13 @@ import org.springframework.scheduling.annotation.EnableAsync;
 @EnableConfigurationProperties
 @EnableAsync
 public class Main {
+
+    private static final Logger log = LoggerFactory.getLogger(Main.class);
     
     public static void main(String[] args) {
         SpringApplication.run(Main.class, args);
-        System.out.println("QQ机器人服务启动成功！");
-        System.out.println("访问 http://localhost:8070 查看服务状态");
-        System.out.println("机器人消息回调地址: http://localhost:8070/qq/webhook");
+        log.info("QQ机器人服务启动成功！");
+        log.info("访问 http://localhost:8070 查看服务状态");
+        log.info("机器人消息回调地址: http://localhost:8070/qq/webhook");
     }
 }
\ No newline at end of file
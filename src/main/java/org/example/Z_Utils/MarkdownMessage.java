@@ -0,0 +1,46 @@
+package org.example.Z_Utils;
+
+import java.util.List;
+
+/**
+ * 模板 Markdown 消息
+ * 序列化为 {"content": "...", "msg_type": 2, "markdown": {"custom_template_id": "...", "params": [...]}}，
+ * content 为 null 时不输出
+ *
+ * @param templateId 模板 ID，不能为空
+ * @param params     模板参数
+ * @param content    消息内容，可为 null
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+public record MarkdownMessage(String templateId, List<MarkdownParam> params, String content) {
+
+  /**
+   * @throws IllegalArgumentException 模板 ID 为空
+   */
+  public MarkdownMessage {
+    // 模板 ID 是消息头缓存的键，在这里统一校验，序列化时不再检查
+    if (templateId == null || templateId.isBlank()) {
+      throw new IllegalArgumentException("模板 ID 不能为空");
+    }
+    params = params == null ? List.of() : List.copyOf(params);
+  }
+
+  /**
+   * 构建不带 content 的模板消息
+   *
+   * @param templateId 模板 ID
+   * @param params     模板参数
+   * @return 消息
+   */
+  public static MarkdownMessage template(String templateId, List<MarkdownParam> params) {
+    return new MarkdownMessage(templateId, params, null);
+  }
+
+  /**
+   * @return JSON 格式的消息体
+   */
+  public String toJson() {
+    return MarkdownMessageWriter.write(this);
+  }
+}
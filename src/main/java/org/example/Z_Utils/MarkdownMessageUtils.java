@@ -1,6 +1,7 @@
 package org.example.Z_Utils;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -19,13 +20,50 @@ public class MarkdownMessageUtils {
    */
   public static final int MARKDOWN_TYPE = 2;
 
+  /**
+   * 单个参数值的最大长度，平台按 UTF-8 字节数限制
+   */
+  public static final int MAX_VALUE_BYTES = 1000;
+
+  /**
+   * 需要转义的字符 -> 反斜杠后的字符，需要转义的字符都不大于 '\\'
+   */
+  private static final char[] ESCAPES = new char['\\' + 1];
+
+  static {
+    ESCAPES['\\'] = '\\';
+    ESCAPES['"'] = '"';
+    ESCAPES['\n'] = 'n';
+    ESCAPES['\r'] = 'r';
+    ESCAPES['\t'] = 't';
+  }
+
+  /**
+   * 构建模板 Markdown 消息，用 {@link MarkdownMessage#toJson()} 直接序列化为消息体
+   * 
+   * @param content    消息内容，为 null 时使用空格
+   * @param templateId 模板 ID
+   * @param params     模板参数
+   * @return 消息
+   * @throws IllegalArgumentException 模板 ID 为空
+   */
+  public static MarkdownMessage buildMarkdownMessage(
+      String content,
+      String templateId,
+      List<MarkdownParam> params) {
+    // content 字段为必填，即使是空字符串也要提供
+    return new MarkdownMessage(templateId, params, content != null ? content : " ");
+  }
+
   /**
    * 构建 Markdown 消息对象
    * 
    * @param content       消息内容（必填）
    * @param markdownObj   Markdown 对象
    * @return 完整的消息对象
+   * @deprecated 每次构建嵌套 Map 再交给 ObjectMapper，请使用 {@link #buildMarkdownMessage(String, String, List)}
    */
+  @Deprecated
   public static Map<String, Object> buildMarkdownMessageBody(
       String content, 
       Map<String, Object> markdownObj) {
@@ -51,6 +89,7 @@ public class MarkdownMessageUtils {
    * @param templateId 模板 ID
    * @param params     模板参数
    * @return Markdown 对象
+   * @throws IllegalArgumentException 参数值超过 {@link #MAX_VALUE_BYTES} 字节
    */
   public static Map<String, Object> buildMarkdownObject(
       String templateId, 
@@ -76,17 +115,20 @@ public class MarkdownMessageUtils {
    * 
    * @param params 原始参数
    * @return 转换后的参数
+   * @throws IllegalArgumentException 参数值超过 {@link #MAX_VALUE_BYTES} 字节
    */
   private static Map<String, String> convertParams(Map<String, String> params) {
     Map<String, String> converted = new HashMap<>();
     
     for (Map.Entry<String, String> entry : params.entrySet()) {
       String key = entry.getKey();
-      String value = entry.getValue();
       
-      // 对值进行转义
-      String escapedValue = escapeMarkdownValue(value);
-      converted.put(key, escapedValue);
+      // 转义的同时统计字节数，不再单独扫描一遍做长度校验
+      EscapedValue escaped = escapeAndMeasure(entry.getValue());
+      if (escaped.isTooLong()) {
+        throw new IllegalArgumentException(valueTooLong(key));
+      }
+      converted.put(key, escaped.value());
     }
     
     return converted;
@@ -94,6 +136,8 @@ public class MarkdownMessageUtils {
 
   /**
    * 转义 Markdown 值中的特殊字符
+   * 单次扫描：没有需要转义的字符时直接返回原字符串，不分配新对象；
+   * 需要转义时两个特殊字符之间的片段整段复制
    * 
    * @param value 原始值
    * @return 转义后的值
@@ -102,13 +146,101 @@ public class MarkdownMessageUtils {
     if (value == null) {
       return "";
     }
-    
-    return value
-        .replace("\\", "\\\\")  // 反斜杠
-        .replace("\"", "\\\"")  // 双引号
-        .replace("\n", "\\n")   // 换行
-        .replace("\r", "\\r")   // 回车
-        .replace("\t", "\\t");  // 制表符
+
+    int length = value.length();
+    StringBuilder escaped = null;
+    int copied = 0;
+    for (int i = 0; i < length; i++) {
+      char replacement = escapeOf(value.charAt(i));
+      if (replacement != 0) {
+        if (escaped == null) {
+          escaped = new StringBuilder(length + 16);
+        }
+        escaped.append(value, copied, i).append('\\').append(replacement);
+        copied = i + 1;
+      }
+    }
+    if (escaped == null) {
+      return value;
+    }
+    return escaped.append(value, copied, length).toString();
+  }
+
+  /**
+   * 转义并统计原始值的 UTF-8 字节数，两件事在同一次扫描中完成
+   * 
+   * @param value 原始值
+   * @return 转义结果，没有需要转义的字符时 value 为原字符串
+   */
+  public static EscapedValue escapeAndMeasure(String value) {
+    if (value == null) {
+      return EscapedValue.EMPTY;
+    }
+
+    int length = value.length();
+    int bytes = length;
+    StringBuilder escaped = null;
+    int copied = 0;
+    for (int i = 0; i < length; i++) {
+      char c = value.charAt(i);
+      if (c < 0x80) {
+        char replacement = escapeOf(c);
+        if (replacement != 0) {
+          if (escaped == null) {
+            escaped = new StringBuilder(length + 16);
+          }
+          escaped.append(value, copied, i).append('\\').append(replacement);
+          copied = i + 1;
+        }
+      } else if (c < 0x800) {
+        bytes += 1;
+      } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+        // 代理对（emoji 等）两个 char 共 4 字节，已按 2 计入
+        bytes += 2;
+        i++;
+      } else {
+        bytes += 2;
+      }
+    }
+    String result = escaped == null ? value : escaped.append(value, copied, length).toString();
+    return new EscapedValue(result, bytes);
+  }
+
+  /**
+   * 统计字符串的 UTF-8 字节数，不做编码也不分配数组
+   * 
+   * @param value 字符串
+   * @return 字节数，null 为 0
+   */
+  public static int utf8Length(String value) {
+    if (value == null) {
+      return 0;
+    }
+    int length = value.length();
+    int bytes = length;
+    for (int i = 0; i < length; i++) {
+      char c = value.charAt(i);
+      if (c < 0x80) {
+        continue;
+      }
+      if (c < 0x800) {
+        bytes += 1;
+      } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+        // 两个 char 共 4 字节，已按 2 计入
+        bytes += 2;
+        i++;
+      } else {
+        bytes += 2;
+      }
+    }
+    return bytes;
+  }
+
+  /**
+   * @return 转义后跟在反斜杠后的字符，不需要转义时返回 0
+   */
+  private static char escapeOf(char c) {
+    return c < ESCAPES.length ? ESCAPES[c] : 0;
   }
 
   /**
@@ -131,41 +263,85 @@ public class MarkdownMessageUtils {
       return "参数不能为空";
     }
     
-    // 检查参数大小
+    // 检查参数大小（按平台限制的 UTF-8 字节数，而不是 UTF-16 字符数）
     for (Map.Entry<String, String> entry : params.entrySet()) {
       String key = entry.getKey();
-      String value = entry.getValue();
       
       if (key == null || key.trim().isEmpty()) {
         return "参数 key 不能为空";
       }
       
-      if (value != null && value.length() > 1000) {
-        return "参数 '" + key + "' 的值过长（超过 1000 字符）";
+      if (utf8Length(entry.getValue()) > MAX_VALUE_BYTES) {
+        return valueTooLong(key);
       }
     }
     
     return null;
   }
 
+  /**
+   * 一次性验证整个模板参数列表：key 不能为空，每个值不超过 {@link #MAX_VALUE_BYTES} 字节
+   * 
+   * @param params 参数列表
+   * @return 验证结果，null 表示验证通过
+   */
+  public static String validateParams(List<MarkdownParam> params) {
+    if (params == null || params.isEmpty()) {
+      return "参数不能为空";
+    }
+
+    for (MarkdownParam param : params) {
+      String key = param.key();
+      if (key == null || key.isBlank()) {
+        return "参数 key 不能为空";
+      }
+      for (String value : param.values()) {
+        if (utf8Length(value) > MAX_VALUE_BYTES) {
+          return valueTooLong(key);
+        }
+      }
+    }
+
+    return null;
+  }
+
+  private static String valueTooLong(String key) {
+    return "参数 '" + key + "' 的值过长（超过 " + MAX_VALUE_BYTES + " 字节）";
+  }
+
+  /**
+   * 转义结果
+   * 
+   * @param value     转义后的值
+   * @param utf8Bytes 原始值的 UTF-8 字节数
+   */
+  public record EscapedValue(String value, int utf8Bytes) {
+
+    private static final EscapedValue EMPTY = new EscapedValue("", 0);
+
+    /**
+     * @return 原始值是否超过单个参数值的字节上限
+     */
+    public boolean isTooLong() {
+      return utf8Bytes > MAX_VALUE_BYTES;
+    }
+  }
+
   /**
    * 构建标题风格的 Markdown 消息
    * 
    * @param title       标题
    * @param content     内容
    * @param templateId  模板 ID
-   * @return 完整的消息对象
+   * @return 消息
    */
-  public static Map<String, Object> buildTitleMarkdownMessage(
+  public static MarkdownMessage buildTitleMarkdownMessage(
       String title, 
       String content, 
       String templateId) {
-    Map<String, String> params = new HashMap<>();
-    params.put("title", title);
-    params.put("content", content);
-    
-    Map<String, Object> markdown = buildMarkdownObject(templateId, params);
-    return buildMarkdownMessageBody(" ", markdown);
+    return buildMarkdownMessage(" ", templateId, List.of(
+        MarkdownParam.of("title", title),
+        MarkdownParam.of("content", content)));
   }
 
   /**
@@ -174,15 +350,12 @@ public class MarkdownMessageUtils {
    * @param title       列表标题
    * @param items       列表项
    * @param templateId  模板 ID
-   * @return 完整的消息对象
+   * @return 消息
    */
-  public static Map<String, Object> buildListMarkdownMessage(
+  public static MarkdownMessage buildListMarkdownMessage(
       String title, 
-      java.util.List<String> items, 
+      List<String> items, 
       String templateId) {
-    Map<String, String> params = new HashMap<>();
-    params.put("title", title);
-    
     // 构建列表字符串
     StringBuilder itemsStr = new StringBuilder();
     if (items != null) {
@@ -193,10 +366,10 @@ public class MarkdownMessageUtils {
         }
       }
     }
-    params.put("items", itemsStr.toString());
-    
-    Map<String, Object> markdown = buildMarkdownObject(templateId, params);
-    return buildMarkdownMessageBody(" ", markdown);
+
+    return buildMarkdownMessage(" ", templateId, List.of(
+        MarkdownParam.of("title", title),
+        MarkdownParam.of("items", itemsStr.toString())));
   }
 
   /**
@@ -205,14 +378,12 @@ public class MarkdownMessageUtils {
    * @param headers     表头
    * @param rows        表行数据
    * @param templateId  模板 ID
-   * @return 完整的消息对象
+   * @return 消息
    */
-  public static Map<String, Object> buildTableMarkdownMessage(
+  public static MarkdownMessage buildTableMarkdownMessage(
       String[] headers, 
-      java.util.List<String[]> rows, 
+      List<String[]> rows, 
       String templateId) {
-    Map<String, String> params = new HashMap<>();
-    
     // 构建表头
     StringBuilder table = new StringBuilder();
     if (headers != null && headers.length > 0) {
@@ -240,11 +411,8 @@ public class MarkdownMessageUtils {
         }
       }
     }
-    
-    params.put("table", table.toString());
-    
-    Map<String, Object> markdown = buildMarkdownObject(templateId, params);
-    return buildMarkdownMessageBody(" ", markdown);
+
+    return buildMarkdownMessage(" ", templateId, List.of(MarkdownParam.of("table", table.toString())));
   }
 
   /**
@@ -0,0 +1,209 @@
+package org.example.Z_Utils;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.fasterxml.jackson.core.io.SerializedString;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 模板 Markdown 消息序列化器
+ * 用 JsonGenerator 直接把 {@link MarkdownMessage} 写成 JSON，不构建中间 Map，也不经过 ObjectMapper
+ *
+ * 1. 消息头 "msg_type":2,"markdown":{"custom_template_id":"...","params": 按模板 ID 编码一次后缓存
+ * 2. 只有参数数组由 JsonGenerator 逐个写出
+ * 3. 每个线程复用同一个字符缓冲区，超过上限的缓冲区不保留
+ *
+ * 作为回复的一部分写入其它 JsonGenerator 时（{@link #writeMarkdownObject}），
+ * 字段名和模板 ID 使用预先转义的 SerializedString
+ *
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+public final class MarkdownMessageWriter {
+
+  private static final JsonFactory JSON_FACTORY = JsonFactory.builder()
+      .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+      .build();
+
+  /**
+   * 最多缓存的模板头数量，模板 ID 来自指令中的常量，正常远小于该值
+   */
+  private static final int MAX_CACHED_HEADERS = 256;
+
+  /**
+   * 线程复用缓冲区保留的最大字符数
+   */
+  private static final int MAX_RETAINED_CHARS = 16 * 1024;
+
+  private static final SerializableString CUSTOM_TEMPLATE_ID = new SerializedString("custom_template_id");
+  private static final SerializableString PARAMS = new SerializedString("params");
+  private static final SerializableString KEY = new SerializedString("key");
+  private static final SerializableString VALUES = new SerializedString("values");
+
+  private static final Map<String, String> HEADERS = new ConcurrentHashMap<>();
+
+  private static final Map<String, SerializableString> TEMPLATE_IDS = new ConcurrentHashMap<>();
+
+  private static final ThreadLocal<ReusableWriter> BUFFERS = ThreadLocal.withInitial(ReusableWriter::new);
+
+  private MarkdownMessageWriter() {
+  }
+
+  /**
+   * 序列化为 JSON 字符串
+   *
+   * @param message 消息
+   * @return JSON 格式的消息体
+   */
+  public static String write(MarkdownMessage message) {
+    ReusableWriter out = BUFFERS.get();
+    out.reset();
+    try {
+      writeTo(message, out);
+    } catch (IOException e) {
+      // 写入内存不会发生 I/O 错误
+      throw new UncheckedIOException(e);
+    }
+    return out.toString();
+  }
+
+  /**
+   * 序列化并写入输出流，输出流由调用方关闭
+   *
+   * @param message 消息
+   * @param out     输出流
+   * @throws IOException 写入失败
+   */
+  public static void writeTo(MarkdownMessage message, Writer out) throws IOException {
+    out.write('{');
+    if (message.content() != null) {
+      out.write("\"content\":\"");
+      out.write(JsonStringEncoder.getInstance().quoteAsString(message.content()));
+      out.write("\",");
+    }
+    out.write(header(message.templateId()));
+
+    try (JsonGenerator generator = JSON_FACTORY.createGenerator(out)) {
+      writeParams(message, generator);
+    }
+    out.write("}}");
+  }
+
+  /**
+   * 在 JsonGenerator 的当前位置写出 markdown 对象 {"custom_template_id": "...", "params": [...]}
+   *
+   * @param message   消息
+   * @param generator 输出
+   * @throws IOException 写入失败
+   */
+  public static void writeMarkdownObject(MarkdownMessage message, JsonGenerator generator) throws IOException {
+    generator.writeStartObject();
+    generator.writeFieldName(CUSTOM_TEMPLATE_ID);
+    generator.writeString(templateId(message.templateId()));
+    generator.writeFieldName(PARAMS);
+    writeParams(message, generator);
+    generator.writeEndObject();
+  }
+
+  private static void writeParams(MarkdownMessage message, JsonGenerator generator) throws IOException {
+    generator.writeStartArray();
+    for (MarkdownParam param : message.params()) {
+      generator.writeStartObject();
+      generator.writeFieldName(KEY);
+      generator.writeString(param.key());
+      generator.writeFieldName(VALUES);
+      generator.writeStartArray();
+      for (String value : param.values()) {
+        generator.writeString(value);
+      }
+      generator.writeEndArray();
+      generator.writeEndObject();
+    }
+    generator.writeEndArray();
+  }
+
+  private static SerializableString templateId(String templateId) {
+    SerializableString encoded = TEMPLATE_IDS.get(templateId);
+    if (encoded == null) {
+      encoded = new SerializedString(templateId);
+      if (TEMPLATE_IDS.size() < MAX_CACHED_HEADERS) {
+        TEMPLATE_IDS.putIfAbsent(templateId, encoded);
+      }
+    }
+    return encoded;
+  }
+
+  /**
+   * @return 模板 ID 对应的消息头，从 "msg_type" 到 "params": 为止
+   */
+  private static String header(String templateId) {
+    String header = HEADERS.get(templateId);
+    if (header == null) {
+      header = "\"msg_type\":" + MarkdownMessageUtils.MARKDOWN_TYPE
+          + ",\"markdown\":{\"custom_template_id\":\""
+          + new String(JsonStringEncoder.getInstance().quoteAsString(templateId))
+          + "\",\"params\":";
+      if (HEADERS.size() < MAX_CACHED_HEADERS) {
+        HEADERS.putIfAbsent(templateId, header);
+      }
+    }
+    return header;
+  }
+
+  /**
+   * 基于 StringBuilder 的非同步 Writer，可重置后复用
+   */
+  private static final class ReusableWriter extends Writer {
+
+    private StringBuilder buffer = new StringBuilder(1024);
+
+    void reset() {
+      if (buffer.capacity() > MAX_RETAINED_CHARS) {
+        buffer = new StringBuilder(1024);
+      } else {
+        buffer.setLength(0);
+      }
+    }
+
+    @Override
+    public void write(int c) {
+      buffer.append((char) c);
+    }
+
+    @Override
+    public void write(char[] chars, int offset, int length) {
+      buffer.append(chars, offset, length);
+    }
+
+    @Override
+    public void write(String str) {
+      buffer.append(str);
+    }
+
+    @Override
+    public void write(String str, int offset, int length) {
+      buffer.append(str, offset, offset + length);
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public String toString() {
+      return buffer.toString();
+    }
+  }
+}
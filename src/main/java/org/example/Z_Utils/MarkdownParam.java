@@ -0,0 +1,37 @@
+package org.example.Z_Utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 模板 Markdown 参数
+ * 对应消息体中的 {"key": "title", "values": ["标题"]}
+ *
+ * @param key    模板变量名称
+ * @param values 变量值
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+public record MarkdownParam(String key, List<String> values) {
+
+  public MarkdownParam {
+    values = values == null ? List.of() : List.copyOf(values);
+  }
+
+  /**
+   * 构建参数，忽略为 null 的值
+   *
+   * @param key    模板变量名称
+   * @param values 变量值
+   * @return 参数
+   */
+  public static MarkdownParam of(String key, String... values) {
+    List<String> valueList = new ArrayList<>(values.length);
+    for (String value : values) {
+      if (value != null) {
+        valueList.add(value);
+      }
+    }
+    return new MarkdownParam(key, valueList);
+  }
+}
@@ -0,0 +1,276 @@
+package org.example.Z_Utils;
+
+import javax.imageio.ImageIO;
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsEnvironment;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 表格图片渲染器
+ * 直接用 Java2D 把表头和行数据画成 PNG，不经过 Swing，也不写临时文件，可在 headless 模式下运行
+ *
+ * 字体和 FontMetrics 在构造时创建一次，实例线程安全，可在多个指令间共享；
+ * 超过最大宽度的单元格文本以"…"截断
+ *
+ * 用法示例：
+ * byte[] png = TableImageRenderer.defaults().renderPng(List.of("端口", "进程"), rows);
+ *
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+public final class TableImageRenderer {
+
+    static {
+        // 服务器环境没有显示设备，未显式配置时强制 headless
+        if (System.getProperty("java.awt.headless") == null) {
+            System.setProperty("java.awt.headless", "true");
+        }
+    }
+
+    // 按顺序选择第一个可用的中文字体，都不存在时使用逻辑字体 SansSerif
+    private static final String[] PREFERRED_FAMILIES = {
+            "Microsoft YaHei UI", "Microsoft YaHei", "PingFang SC", "Noto Sans CJK SC",
+            "Source Han Sans SC", "WenQuanYi Micro Hei", "SimHei"};
+
+    private static final String FONT_FAMILY = resolveFontFamily();
+
+    private static final Color HEADER_BACKGROUND = new Color(0xEE, 0xF1, 0xF5);
+    private static final Color STRIPE_BACKGROUND = new Color(0xF8, 0xF9, 0xFB);
+    private static final Color GRID = new Color(0xD0, 0xD5, 0xDD);
+    private static final Color TEXT = new Color(0x1F, 0x23, 0x28);
+
+    private static final int CELL_PADDING = 15;
+    private static final int IMAGE_PADDING = 10;
+    private static final String ELLIPSIS = "…";
+
+    private static final TableImageRenderer DEFAULTS = new TableImageRenderer(14, 1200);
+
+    private final Font font;
+    private final Font headerFont;
+    private final FontMetrics metrics;
+    private final FontMetrics headerMetrics;
+    private final int rowHeight;
+    private final int headerHeight;
+    private final int maxWidth;
+
+    /**
+     * @param fontSize 字号
+     * @param maxWidth 图片最大宽度（像素）
+     */
+    public TableImageRenderer(int fontSize, int maxWidth) {
+        this.font = new Font(FONT_FAMILY, Font.PLAIN, fontSize);
+        this.headerFont = font.deriveFont(Font.BOLD);
+        // FontMetrics 不可变，从一次性的 Graphics 取出后可以跨线程复用
+        Graphics2D g = new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB).createGraphics();
+        try {
+            applyHints(g);
+            this.metrics = g.getFontMetrics(font);
+            this.headerMetrics = g.getFontMetrics(headerFont);
+        } finally {
+            g.dispose();
+        }
+        this.rowHeight = metrics.getHeight() + 8;
+        this.headerHeight = headerMetrics.getHeight() + 12;
+        this.maxWidth = maxWidth;
+    }
+
+    /**
+     * @return 14 号字、最大宽度 1200 像素的共享实例
+     */
+    public static TableImageRenderer defaults() {
+        return DEFAULTS;
+    }
+
+    /**
+     * 渲染为 PNG 字节
+     *
+     * @param headers 表头
+     * @param rows    行数据，每行的列数应与表头一致，缺少的列留空
+     * @return PNG 数据
+     */
+    public byte[] renderPng(List<String> headers, List<? extends List<String>> rows) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(16 * 1024);
+        try {
+            writePng(headers, rows, out);
+        } catch (IOException e) {
+            // 写入内存不会发生 I/O 错误
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * 渲染为 PNG 并写入输出流，输出流由调用方关闭
+     *
+     * @param headers 表头
+     * @param rows    行数据
+     * @param out     输出流
+     * @throws IOException 写入失败
+     */
+    public void writePng(List<String> headers, List<? extends List<String>> rows, OutputStream out) throws IOException {
+        BufferedImage image = render(headers, rows);
+        // 显式使用内存缓存，避免 ImageIO 默认在临时目录创建缓存文件
+        try (ImageOutputStream stream = new MemoryCacheImageOutputStream(out)) {
+            if (!ImageIO.write(image, "png", stream)) {
+                throw new IOException("没有可用的 PNG 编码器");
+            }
+        } finally {
+            image.flush();
+        }
+    }
+
+    /**
+     * 渲染为图片
+     *
+     * @param headers 表头
+     * @param rows    行数据
+     * @return 图片
+     */
+    public BufferedImage render(List<String> headers, List<? extends List<String>> rows) {
+        int columns = headers.size();
+        int[] widths = columnWidths(headers, rows);
+
+        int tableWidth = 0;
+        for (int width : widths) {
+            tableWidth += width;
+        }
+        int imageWidth = Math.min(tableWidth + IMAGE_PADDING * 2, maxWidth);
+        // 超宽时按比例压缩各列，压缩后放不下的文本截断
+        if (tableWidth + IMAGE_PADDING * 2 > maxWidth) {
+            double scale = (double) (maxWidth - IMAGE_PADDING * 2) / tableWidth;
+            tableWidth = 0;
+            for (int c = 0; c < columns; c++) {
+                widths[c] = Math.max(CELL_PADDING * 2, (int) (widths[c] * scale));
+                tableWidth += widths[c];
+            }
+        }
+        int imageHeight = headerHeight + rows.size() * rowHeight + IMAGE_PADDING * 2;
+
+        BufferedImage image = new BufferedImage(imageWidth, imageHeight, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        try {
+            applyHints(g);
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, imageWidth, imageHeight);
+            g.translate(IMAGE_PADDING, IMAGE_PADDING);
+
+            // 表头
+            g.setColor(HEADER_BACKGROUND);
+            g.fillRect(0, 0, tableWidth, headerHeight);
+            g.setFont(headerFont);
+            g.setColor(TEXT);
+            drawRow(g, headers, widths, 0, headerHeight, headerMetrics);
+
+            // 表体
+            g.setFont(font);
+            int y = headerHeight;
+            for (int r = 0; r < rows.size(); r++) {
+                if (r % 2 == 1) {
+                    g.setColor(STRIPE_BACKGROUND);
+                    g.fillRect(0, y, tableWidth, rowHeight);
+                }
+                g.setColor(TEXT);
+                drawRow(g, rows.get(r), widths, y, rowHeight, metrics);
+                y += rowHeight;
+            }
+
+            // 网格线
+            g.setColor(GRID);
+            g.drawRect(0, 0, tableWidth - 1, y - 1);
+            g.drawLine(0, headerHeight, tableWidth - 1, headerHeight);
+            for (int line = headerHeight + rowHeight; line < y; line += rowHeight) {
+                g.drawLine(0, line, tableWidth - 1, line);
+            }
+            int x = 0;
+            for (int c = 0; c < columns - 1; c++) {
+                x += widths[c];
+                g.drawLine(x, 0, x, y - 1);
+            }
+        } finally {
+            g.dispose();
+        }
+        return image;
+    }
+
+    private int[] columnWidths(List<String> headers, List<? extends List<String>> rows) {
+        int[] widths = new int[headers.size()];
+        for (int c = 0; c < widths.length; c++) {
+            widths[c] = headerMetrics.stringWidth(text(headers, c)) + CELL_PADDING * 2;
+        }
+        for (List<String> row : rows) {
+            for (int c = 0; c < widths.length; c++) {
+                widths[c] = Math.max(widths[c], metrics.stringWidth(text(row, c)) + CELL_PADDING * 2);
+            }
+        }
+        return widths;
+    }
+
+    private static void drawRow(Graphics2D g, List<String> cells, int[] widths, int top, int height, FontMetrics fm) {
+        int baseline = top + (height - fm.getHeight()) / 2 + fm.getAscent();
+        int x = 0;
+        for (int c = 0; c < widths.length; c++) {
+            String text = fit(text(cells, c), widths[c] - CELL_PADDING * 2, fm);
+            g.drawString(text, x + CELL_PADDING, baseline);
+            x += widths[c];
+        }
+    }
+
+    /**
+     * 文本超出可用宽度时截断并加省略号
+     */
+    private static String fit(String text, int available, FontMetrics fm) {
+        if (fm.stringWidth(text) <= available) {
+            return text;
+        }
+        int limit = available - fm.stringWidth(ELLIPSIS);
+        int end = text.length();
+        while (end > 0 && fm.stringWidth(text.substring(0, end)) > limit) {
+            end = Character.isLowSurrogate(text.charAt(end - 1)) && end > 1 ? end - 2 : end - 1;
+        }
+        return text.substring(0, end) + ELLIPSIS;
+    }
+
+    private static String text(List<String> cells, int index) {
+        if (index >= cells.size()) {
+            return "";
+        }
+        String value = cells.get(index);
+        return value == null ? "" : value;
+    }
+
+    private static void applyHints(Graphics2D g) {
+        g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g.setRenderingHint(RenderingHints.KEY_FRACTIONALMETRICS, RenderingHints.VALUE_FRACTIONALMETRICS_ON);
+    }
+
+    private static String resolveFontFamily() {
+        try {
+            Set<String> available = new HashSet<>(Arrays.asList(
+                    GraphicsEnvironment.getLocalGraphicsEnvironment().getAvailableFontFamilyNames()));
+            for (String family : PREFERRED_FAMILIES) {
+                if (available.contains(family)) {
+                    return family;
+                }
+            }
+        } catch (Throwable ignored) {
+            // 没有字体配置的精简环境，使用逻辑字体
+        }
+        return Font.SANS_SERIF;
+    }
+}
@@ -0,0 +1,228 @@
+package org.example.audit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.example.config.AuditLogConfig;
+import org.example.event.BotEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 事件审计日志
+ * 请求线程只把记录放入无锁队列（多生产者、单消费者）后立即返回；
+ * 单个写入线程攒满 batch-size 条或等待 flush-interval 后批量写入 {@link AuditSink}
+ *
+ * 队列超过 queue-capacity 时按 overflow 策略丢弃：
+ * drop-oldest 丢弃最早的一条；sample 每 sample-rate 条新事件保留 1 条并丢弃最早的一条，其余新事件直接丢弃
+ * 写入失败的批次丢弃并计数，不重试，避免数据库故障时积压拖垮进程
+ *
+ * 指标：
+ * qq.audit.queue.depth           队列中等待写入的记录数
+ * qq.audit.flush{sink}           单批写入耗时
+ * qq.audit.records{result}       written 已写入、dropped 队列满丢弃、failed 写入失败
+ *
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+@Component
+public class AuditLog {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditLog.class);
+
+    private final AuditLogConfig config;
+
+    private final AuditSink sink;
+
+    private final Queue<AuditRecord> queue = new ConcurrentLinkedQueue<>();
+
+    // ConcurrentLinkedQueue.size() 需要遍历，单独计数
+    private final AtomicInteger depth = new AtomicInteger();
+
+    // sample 策略下队列满后收到的事件数
+    private final AtomicLong overflowed = new AtomicLong();
+
+    private final Thread writer;
+
+    private volatile boolean running = true;
+
+    private final Timer flushTimer;
+    private final Counter written;
+    private final Counter dropped;
+    private final Counter failed;
+
+    @Autowired
+    public AuditLog(AuditLogConfig config, ObjectProvider<JdbcTemplate> jdbcTemplate, MeterRegistry registry) {
+        this(config, config.isEnabled() ? createSink(config, jdbcTemplate.getIfAvailable()) : null, registry);
+    }
+
+    /**
+     * @param sink 写入目标，为 null 时不记录
+     */
+    AuditLog(AuditLogConfig config, AuditSink sink, MeterRegistry registry) {
+        this.config = config;
+        this.sink = sink;
+
+        Gauge.builder("qq.audit.queue.depth", depth, AtomicInteger::get)
+                .description("等待写入的审计记录数")
+                .register(registry);
+        this.flushTimer = Timer.builder("qq.audit.flush")
+                .description("审计日志单批写入耗时")
+                .tag("sink", sink != null ? sink.name() : "none")
+                .register(registry);
+        this.written = recordCounter(registry, "written");
+        this.dropped = recordCounter(registry, "dropped");
+        this.failed = recordCounter(registry, "failed");
+
+        if (sink == null) {
+            this.writer = null;
+            return;
+        }
+        this.writer = new Thread(this::runWriter, "audit-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+        log.info("审计日志写入目标: {}", sink.name());
+    }
+
+    /**
+     * 记录一个事件，不阻塞
+     *
+     * @param event 事件
+     */
+    public void record(BotEvent event) {
+        if (sink != null) {
+            offer(AuditRecord.of(event));
+        }
+    }
+
+    /**
+     * 记录一条审计记录，不阻塞
+     *
+     * @param record 审计记录
+     */
+    public void offer(AuditRecord record) {
+        if (sink == null) {
+            return;
+        }
+        if (depth.get() >= config.getQueueCapacity()) {
+            if (config.getOverflow() == AuditLogConfig.Overflow.SAMPLE
+                    && overflowed.getAndIncrement() % Math.max(1, config.getSampleRate()) != 0) {
+                dropped.increment();
+                return;
+            }
+            // 为新记录腾出位置
+            if (queue.poll() != null) {
+                depth.decrementAndGet();
+                dropped.increment();
+            }
+        }
+        queue.offer(record);
+        // 刚好攒满一批时唤醒写入线程，之后的记录不再重复唤醒
+        if (depth.incrementAndGet() == config.getBatchSize()) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    /**
+     * @return 等待写入的记录数
+     */
+    public int queueDepth() {
+        return depth.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            sink.close();
+        } catch (IOException e) {
+            log.warn("关闭审计日志失败: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 写入线程：队列不足一批时最多等待 flush-interval；停止时写完队列中剩余的记录再退出
+     */
+    private void runWriter() {
+        int batchSize = Math.max(1, config.getBatchSize());
+        long intervalNanos = config.getFlushInterval().toNanos();
+        List<AuditRecord> batch = new ArrayList<>(batchSize);
+        while (running || depth.get() > 0) {
+            if (running && depth.get() < batchSize) {
+                LockSupport.parkNanos(this, intervalNanos);
+            }
+            AuditRecord record;
+            while (batch.size() < batchSize && (record = queue.poll()) != null) {
+                depth.decrementAndGet();
+                batch.add(record);
+            }
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<AuditRecord> batch) {
+        long start = System.nanoTime();
+        try {
+            sink.write(batch);
+            written.increment(batch.size());
+        } catch (IOException | RuntimeException e) {
+            failed.increment(batch.size());
+            log.warn("审计日志写入失败，丢弃 {} 条记录: {}", batch.size(), e.getMessage());
+        } finally {
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static AuditSink createSink(AuditLogConfig config, JdbcTemplate jdbcTemplate) {
+        if (config.getSink() != AuditLogConfig.Sink.FILE) {
+            if (jdbcTemplate != null) {
+                try {
+                    return new JdbcAuditSink(jdbcTemplate);
+                } catch (RuntimeException e) {
+                    if (config.getSink() == AuditLogConfig.Sink.JDBC) {
+                        throw e;
+                    }
+                    log.warn("审计日志表不可用，改为写入文件: {}", e.getMessage());
+                }
+            } else if (config.getSink() == AuditLogConfig.Sink.JDBC) {
+                throw new IllegalStateException("qq.audit.sink=jdbc 但没有可用的数据源");
+            }
+        }
+        return new FileAuditSink(config.getDirectory());
+    }
+
+    private static Counter recordCounter(MeterRegistry registry, String result) {
+        return Counter.builder("qq.audit.records")
+                .description("审计记录数")
+                .tag("result", result)
+                .register(registry);
+    }
+}
@@ -0,0 +1,43 @@
+package org.example.audit;
+
+import org.example.event.BotEvent;
+import org.example.event.MessageCreate;
+import org.example.event.MessageEvent;
+import org.example.event.Ready;
+
+/**
+ * 一条审计记录，只保留事件的标识字段，不记录消息内容
+ *
+ * @param timestampMillis 收到事件的时间戳（毫秒）
+ * @param eventType       事件类型
+ * @param messageId       消息ID，非消息事件为 null
+ * @param senderId        发送者标识，非消息事件为 null
+ * @param conversationId  群 openid 或子频道ID，单聊和非消息事件为 null
+ * @param detail          其它事件的附加信息，例如 READY 的会话ID
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+public record AuditRecord(long timestampMillis, String eventType, String messageId,
+                          String senderId, String conversationId, String detail) {
+
+    /**
+     * @param event 事件
+     * @return 以当前时间记录的审计记录
+     */
+    public static AuditRecord of(BotEvent event) {
+        long now = System.currentTimeMillis();
+        if (event instanceof MessageEvent message) {
+            return new AuditRecord(now, event.eventType(), message.id(),
+                    message.senderId(), message.conversationId(), null);
+        }
+        if (event instanceof MessageCreate message) {
+            return new AuditRecord(now, event.eventType(), message.id(),
+                    message.authorId(), message.channelId(), null);
+        }
+        if (event instanceof Ready ready) {
+            return new AuditRecord(now, event.eventType(), null, ready.userId(), null,
+                    "sessionId=" + ready.sessionId() + " bot=" + ready.username());
+        }
+        return new AuditRecord(now, event.eventType(), null, null, null, null);
+    }
+}
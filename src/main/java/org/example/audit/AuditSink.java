@@ -0,0 +1,32 @@
+package org.example.audit;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * 审计记录的写入目标，只由 {@link AuditLog} 的写入线程调用，实现不需要线程安全
+ *
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+public interface AuditSink {
+
+    /**
+     * @return 写入目标名称，用作指标标签
+     */
+    String name();
+
+    /**
+     * 写入一批记录，返回时记录已持久化
+     *
+     * @param records 按接收顺序排列的记录
+     * @throws IOException 写入失败，这一批记录丢弃
+     */
+    void write(List<AuditRecord> records) throws IOException;
+
+    /**
+     * 释放资源
+     */
+    default void close() throws IOException {
+    }
+}
@@ -0,0 +1,114 @@
+package org.example.audit;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.fasterxml.jackson.core.io.SerializedString;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * 写入本地文件的审计日志
+ * 每天一个只追加的 audit-yyyy-MM-dd.jsonl 文件，每条记录一行 JSON；
+ * 每批写完后 flush，文件保持打开直到日期变化
+ *
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+public class FileAuditSink implements AuditSink {
+
+    private static final JsonFactory JSON_FACTORY = JsonFactory.builder()
+            .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+            .build();
+
+    private static final SerializedString TIME = new SerializedString("time");
+    private static final SerializedString EVENT_TYPE = new SerializedString("eventType");
+    private static final SerializedString MESSAGE_ID = new SerializedString("messageId");
+    private static final SerializedString SENDER_ID = new SerializedString("senderId");
+    private static final SerializedString CONVERSATION_ID = new SerializedString("conversationId");
+    private static final SerializedString DETAIL = new SerializedString("detail");
+
+    private final Path directory;
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    private LocalDate currentDate;
+    private Writer writer;
+
+    public FileAuditSink(String directory) {
+        this.directory = Paths.get(directory).toAbsolutePath();
+    }
+
+    @Override
+    public String name() {
+        return "file";
+    }
+
+    @Override
+    public void write(List<AuditRecord> records) throws IOException {
+        Writer out = null;
+        JsonGenerator generator = null;
+        for (AuditRecord record : records) {
+            LocalDate date = Instant.ofEpochMilli(record.timestampMillis()).atZone(zone).toLocalDate();
+            if (out == null || !date.equals(currentDate)) {
+                if (generator != null) {
+                    generator.flush();
+                }
+                out = writerFor(date);
+                generator = JSON_FACTORY.createGenerator(out);
+                generator.setRootValueSeparator(null);
+            }
+            generator.writeStartObject();
+            generator.writeFieldName(TIME);
+            generator.writeString(Instant.ofEpochMilli(record.timestampMillis()).toString());
+            generator.writeFieldName(EVENT_TYPE);
+            generator.writeString(record.eventType());
+            writeOptional(generator, MESSAGE_ID, record.messageId());
+            writeOptional(generator, SENDER_ID, record.senderId());
+            writeOptional(generator, CONVERSATION_ID, record.conversationId());
+            writeOptional(generator, DETAIL, record.detail());
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+        if (generator != null) {
+            generator.flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+        }
+    }
+
+    private Writer writerFor(LocalDate date) throws IOException {
+        if (writer != null && date.equals(currentDate)) {
+            return writer;
+        }
+        close();
+        Files.createDirectories(directory);
+        Path file = directory.resolve("audit-" + date + ".jsonl");
+        writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE);
+        currentDate = date;
+        return writer;
+    }
+
+    private static void writeOptional(JsonGenerator generator, SerializedString name, String value) throws IOException {
+        if (value != null) {
+            generator.writeFieldName(name);
+            generator.writeString(value);
+        }
+    }
+}
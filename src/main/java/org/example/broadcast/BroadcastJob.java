@@ -0,0 +1,140 @@
+package org.example.broadcast;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * 一个广播任务的发送状态
+ * 只由 broadcast-dispatcher 线程访问，不需要同步
+ *
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+final class BroadcastJob {
+
+    enum State {
+        RUNNING, COMPLETED, CANCELLED
+    }
+
+    /**
+     * 进度文件内容：已发送和已失败的目标用位图保存，其余目标在恢复后重新发送
+     */
+    record Checkpoint(String id, String content, String msgType, List<String> targets, long createdAt,
+                      State state, long[] sent, long[] failed, Long finishedAt, String lastError) {
+    }
+
+    final String id;
+    final String content;
+    final String msgType;
+    final List<String> targets;
+    final long createdAt;
+
+    State state = State.RUNNING;
+    Long finishedAt;
+    String lastError;
+
+    final BitSet sent;
+    final BitSet failed;
+
+    // 已尝试次数，下标与 targets 一致
+    final int[] attempts;
+
+    // 等待重试的目标：[可重试的 nanoTime, 目标下标]
+    final PriorityQueue<long[]> retries = new PriorityQueue<>((a, b) -> Long.compare(a[0], b[0]));
+
+    // 下一个从未尝试过的目标
+    int cursor;
+
+    int inFlight;
+
+    // 本次运行的统计，用于计算速率
+    final long runStartNanos = System.nanoTime();
+    long runEndNanos;
+    long sentThisRun;
+    long retryCount;
+
+    // 已安排的下一次唤醒（nanoTime），没有时为 Long.MAX_VALUE
+    long wakeAt = Long.MAX_VALUE;
+
+    // 自上次写入进度后是否有变化
+    boolean dirty = true;
+
+    BroadcastJob(String id, String content, String msgType, List<String> targets, long createdAt,
+                 BitSet sent, BitSet failed) {
+        this.id = id;
+        this.content = content;
+        this.msgType = msgType;
+        this.targets = targets;
+        this.createdAt = createdAt;
+        this.sent = sent;
+        this.failed = failed;
+        this.attempts = new int[targets.size()];
+    }
+
+    static BroadcastJob restore(Checkpoint checkpoint) {
+        BroadcastJob job = new BroadcastJob(checkpoint.id(), checkpoint.content(), checkpoint.msgType(),
+                List.copyOf(checkpoint.targets()), checkpoint.createdAt(),
+                BitSet.valueOf(checkpoint.sent()), BitSet.valueOf(checkpoint.failed()));
+        job.state = checkpoint.state();
+        job.finishedAt = checkpoint.finishedAt();
+        job.lastError = checkpoint.lastError();
+        return job;
+    }
+
+    Checkpoint checkpoint() {
+        return new Checkpoint(id, content, msgType, targets, createdAt, state,
+                sent.toLongArray(), failed.toLongArray(), finishedAt, lastError);
+    }
+
+    /**
+     * 取下一个可以发送的目标：先取等待时间已到的重试，再取从未尝试过的目标
+     *
+     * @return 目标下标，没有时返回 -1
+     */
+    int nextReady(long nowNanos) {
+        long[] retry = retries.peek();
+        if (retry != null && retry[0] <= nowNanos) {
+            retries.poll();
+            return (int) retry[1];
+        }
+        while (cursor < targets.size() && (sent.get(cursor) || failed.get(cursor))) {
+            cursor++;
+        }
+        return cursor < targets.size() ? cursor++ : -1;
+    }
+
+    /**
+     * 是否有可以发送的目标，不取出目标
+     */
+    boolean hasReady(long nowNanos) {
+        long[] retry = retries.peek();
+        if (retry != null && retry[0] <= nowNanos) {
+            return true;
+        }
+        while (cursor < targets.size() && (sent.get(cursor) || failed.get(cursor))) {
+            cursor++;
+        }
+        return cursor < targets.size();
+    }
+
+    /**
+     * @return 所有目标都已成功或最终失败
+     */
+    boolean isDone() {
+        return sent.cardinality() + failed.cardinality() == targets.size();
+    }
+
+    BroadcastStatus status() {
+        int total = targets.size();
+        int sentCount = sent.cardinality();
+        int failedCount = failed.cardinality();
+        int pending = total - sentCount - failedCount;
+        long end = runEndNanos != 0 ? runEndNanos : System.nanoTime();
+        double seconds = (end - runStartNanos) / 1_000_000_000.0;
+        double throughput = seconds > 0 ? sentThisRun / seconds : 0;
+        Long eta = state == State.RUNNING && throughput > 0 ? (long) Math.ceil(pending / throughput) : null;
+        return new BroadcastStatus(id, state.name(), total, sentCount, failedCount, pending, inFlight,
+                retryCount, createdAt, finishedAt, Math.round(throughput * 100) / 100.0, eta, lastError);
+    }
+}
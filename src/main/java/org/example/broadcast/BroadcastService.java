@@ -0,0 +1,423 @@
+package org.example.broadcast;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.example.config.BroadcastConfig;
+import org.example.service.QQBotService;
+import org.example.service.TokenBucket;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 广播服务
+ * 把一条消息发送到一批子频道，发送通过 {@link QQBotService#sendMessageAsync} 进入出站队列，
+ * 由出站发送器执行每个频道和整个机器人的限流
+ *
+ * 1. 每个广播最多 concurrency 条消息同时等待结果，所有广播合计不超过 rate-per-second，
+ *    不会占满出站队列，指令回复仍能及时发出
+ * 2. 出站队列已满、超时、429 和 5xx 等可恢复的失败按指数退避加随机抖动重试，最多 max-attempts 次；
+ *    其它 4xx 直接记为失败
+ * 3. 进度按 checkpoint-interval 写入 {directory}/{id}.json，重启后未结束的广播从断点继续，
+ *    已记录成功的目标不会重发
+ * 4. 已结束的广播保留 retention 后从内存中移除，并删除进度文件
+ *
+ * 所有广播状态只由 broadcast-dispatcher 线程修改，发送结果回调也转到该线程处理
+ *
+ * 指标：qq.broadcast.messages{result} 成功/失败/重试的次数，qq.broadcast.active 进行中的广播数
+ *
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+@Service
+public class BroadcastService {
+
+    private static final Logger log = LoggerFactory.getLogger(BroadcastService.class);
+
+    private static final Pattern ID_PATTERN = Pattern.compile("[0-9a-z]{1,32}");
+
+    // WebClient 错误信息以 HTTP 状态码开头，例如 "429 Too Many Requests from POST ..."
+    private static final Pattern STATUS_PATTERN = Pattern.compile("^(\\d{3}) ");
+
+    private static final String EXTENSION = ".json";
+
+    // 检查过期广播的间隔
+    private static final long PRUNE_INTERVAL_MINUTES = 10;
+
+    private final BroadcastConfig config;
+    private final QQBotService qqBotService;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Path directory;
+
+    private final Map<String, BroadcastJob> jobs = new ConcurrentHashMap<>();
+
+    private final TokenBucket rateLimiter;
+
+    private final ScheduledExecutorService dispatcher;
+
+    private final Counter sentCounter;
+    private final Counter failedCounter;
+    private final Counter retriedCounter;
+
+    public BroadcastService(BroadcastConfig config, @Lazy QQBotService qqBotService, MeterRegistry registry) {
+        this.config = config;
+        this.qqBotService = qqBotService;
+        this.directory = Paths.get(config.getDirectory()).toAbsolutePath();
+        this.rateLimiter = new TokenBucket(config.getRatePerSecond(), config.getBurst());
+        this.dispatcher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "broadcast-dispatcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = config.getCheckpointInterval().toMillis();
+        this.dispatcher.scheduleWithFixedDelay(this::checkpointAll, interval, interval, TimeUnit.MILLISECONDS);
+        this.dispatcher.scheduleWithFixedDelay(this::pruneFinished,
+                PRUNE_INTERVAL_MINUTES, PRUNE_INTERVAL_MINUTES, TimeUnit.MINUTES);
+
+        Gauge.builder("qq.broadcast.active", jobs, map -> map.values().stream()
+                        .filter(job -> job.state == BroadcastJob.State.RUNNING).count())
+                .description("进行中的广播数")
+                .register(registry);
+        this.sentCounter = messageCounter(registry, "sent");
+        this.failedCounter = messageCounter(registry, "failed");
+        this.retriedCounter = messageCounter(registry, "retried");
+    }
+
+    /**
+     * 创建广播并立即开始发送
+     *
+     * @param content 消息内容
+     * @param msgType 消息类型
+     * @param targets 子频道ID列表，重复的只发送一次
+     * @return 初始进度
+     * @throws IllegalArgumentException 内容为空、没有目标或目标过多
+     */
+    public CompletableFuture<BroadcastStatus> submit(String content, String msgType, List<String> targets) {
+        if (content == null || content.isBlank()) {
+            throw new IllegalArgumentException("广播内容不能为空");
+        }
+        if (targets == null || targets.isEmpty()) {
+            throw new IllegalArgumentException("广播目标不能为空");
+        }
+        LinkedHashSet<String> distinct = new LinkedHashSet<>();
+        for (String target : targets) {
+            if (target != null && !target.isBlank()) {
+                distinct.add(target.trim());
+            }
+        }
+        if (distinct.isEmpty()) {
+            throw new IllegalArgumentException("广播目标不能为空");
+        }
+        if (distinct.size() > config.getMaxTargets()) {
+            throw new IllegalArgumentException("广播目标不能超过 " + config.getMaxTargets() + " 个");
+        }
+
+        String id = UUID.randomUUID().toString().replace("-", "").substring(0, 16);
+        BroadcastJob job = new BroadcastJob(id, content, msgType == null ? "text" : msgType,
+                List.copyOf(distinct), System.currentTimeMillis(), new BitSet(), new BitSet());
+        return CompletableFuture.supplyAsync(() -> {
+            jobs.put(id, job);
+            writeCheckpoint(job);
+            log.info("广播已创建: id={}, targets={}", id, job.targets.size());
+            pump(job);
+            return job.status();
+        }, dispatcher);
+    }
+
+    /**
+     * @param id 广播ID
+     * @return 进度，不存在时为 null
+     */
+    public CompletableFuture<BroadcastStatus> status(String id) {
+        return CompletableFuture.supplyAsync(() -> {
+            BroadcastJob job = jobs.get(id);
+            return job == null ? null : job.status();
+        }, dispatcher);
+    }
+
+    /**
+     * @return 所有广播的进度，按创建时间倒序
+     */
+    public CompletableFuture<List<BroadcastStatus>> list() {
+        return CompletableFuture.supplyAsync(() -> jobs.values().stream()
+                .sorted(Comparator.comparingLong((BroadcastJob job) -> job.createdAt).reversed())
+                .map(BroadcastJob::status)
+                .toList(), dispatcher);
+    }
+
+    /**
+     * 取消广播，已发出的消息不会撤回
+     *
+     * @param id 广播ID
+     * @return 取消后的进度，不存在时为 null
+     */
+    public CompletableFuture<BroadcastStatus> cancel(String id) {
+        return CompletableFuture.supplyAsync(() -> {
+            BroadcastJob job = jobs.get(id);
+            if (job == null) {
+                return null;
+            }
+            if (job.state == BroadcastJob.State.RUNNING) {
+                finish(job, BroadcastJob.State.CANCELLED);
+            }
+            return job.status();
+        }, dispatcher);
+    }
+
+    /**
+     * 启动完成后加载进度文件，继续未结束的广播
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resume() {
+        dispatcher.execute(this::loadCheckpoints);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        try {
+            dispatcher.submit(this::checkpointAll).get(5, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            log.warn("保存广播进度失败: {}", e.getMessage());
+        }
+        dispatcher.shutdownNow();
+    }
+
+    /**
+     * 在并发数和速率允许的范围内发出尽可能多的消息；暂时不能发送时安排下一次唤醒
+     */
+    private void pump(BroadcastJob job) {
+        if (job.state != BroadcastJob.State.RUNNING) {
+            return;
+        }
+        long now = System.nanoTime();
+        while (job.inFlight < config.getConcurrency() && job.hasReady(now)) {
+            // 只有确实有目标要发时才等待限流，否则由重试时间或发送结果唤醒
+            long wait = rateLimiter.nanosUntilAvailable(now);
+            if (wait > 0) {
+                wakeUp(job, now + wait);
+                return;
+            }
+            rateLimiter.tryAcquire(now);
+            send(job, job.nextReady(now));
+        }
+
+        if (job.inFlight == 0 && job.retries.isEmpty() && job.isDone()) {
+            finish(job, BroadcastJob.State.COMPLETED);
+        } else if (job.inFlight < config.getConcurrency() && !job.retries.isEmpty()) {
+            wakeUp(job, job.retries.peek()[0]);
+        }
+    }
+
+    private void send(BroadcastJob job, int index) {
+        job.inFlight++;
+        job.attempts[index]++;
+        String target = job.targets.get(index);
+        CompletableFuture<Map<String, Object>> result;
+        try {
+            result = qqBotService.sendMessageAsync(target, job.content, job.msgType);
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        result.whenComplete((response, error) -> dispatcher.execute(() -> onResult(job, index, response, error)));
+    }
+
+    private void onResult(BroadcastJob job, int index, Map<String, Object> response, Throwable error) {
+        job.inFlight--;
+        job.dirty = true;
+        if (error == null && Boolean.TRUE.equals(response.get("success"))) {
+            job.sent.set(index);
+            job.sentThisRun++;
+            sentCounter.increment();
+        } else {
+            String message = error != null ? String.valueOf(error.getMessage()) : String.valueOf(response.get("error"));
+            if (job.state == BroadcastJob.State.RUNNING && isTransient(message)
+                    && job.attempts[index] < config.getMaxAttempts()) {
+                job.retries.add(new long[]{System.nanoTime() + backoffNanos(job.attempts[index]), index});
+                job.retryCount++;
+                retriedCounter.increment();
+            } else {
+                job.failed.set(index);
+                job.lastError = job.targets.get(index) + ": " + message;
+                failedCounter.increment();
+            }
+        }
+        pump(job);
+    }
+
+    private void finish(BroadcastJob job, BroadcastJob.State state) {
+        job.state = state;
+        job.finishedAt = System.currentTimeMillis();
+        job.runEndNanos = System.nanoTime();
+        job.retries.clear();
+        job.dirty = true;
+        writeCheckpoint(job);
+        log.info("广播已结束: id={}, state={}, sent={}, failed={}",
+                job.id, state, job.sent.cardinality(), job.failed.cardinality());
+    }
+
+    /**
+     * 在指定时间唤醒广播；已安排了更早的唤醒时不重复安排
+     */
+    private void wakeUp(BroadcastJob job, long atNanos) {
+        if (job.wakeAt <= atNanos) {
+            return;
+        }
+        job.wakeAt = atNanos;
+        dispatcher.schedule(() -> {
+            if (job.wakeAt == atNanos) {
+                job.wakeAt = Long.MAX_VALUE;
+            }
+            pump(job);
+        }, Math.max(0, atNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 第 n 次失败后的等待时间：base * 2^(n-1)，不超过上限，在 [一半, 全部] 之间随机
+     */
+    private long backoffNanos(int attempt) {
+        long base = config.getRetryBaseDelay().toNanos();
+        long max = config.getRetryMaxDelay().toNanos();
+        long delay = attempt >= 31 ? max : Math.min(max, base << Math.max(0, attempt - 1));
+        if (delay <= 0) {
+            delay = max;
+        }
+        return delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+    }
+
+    /**
+     * 超时、连接失败、出站队列已满、429 和 5xx 视为可恢复；其它 4xx 重试也不会成功
+     */
+    static boolean isTransient(String error) {
+        if (error == null) {
+            return true;
+        }
+        Matcher matcher = STATUS_PATTERN.matcher(error);
+        if (!matcher.find()) {
+            return true;
+        }
+        int status = Integer.parseInt(matcher.group(1));
+        return status == 429 || status >= 500 || status < 400;
+    }
+
+    private void checkpointAll() {
+        for (BroadcastJob job : jobs.values()) {
+            if (job.dirty) {
+                writeCheckpoint(job);
+            }
+        }
+    }
+
+    /**
+     * 移除结束超过 retention 的广播及其进度文件
+     */
+    private void pruneFinished() {
+        long expireBefore = System.currentTimeMillis() - config.getRetention().toMillis();
+        try {
+            for (BroadcastJob job : List.copyOf(jobs.values())) {
+                if (job.finishedAt != null && job.finishedAt < expireBefore) {
+                    jobs.remove(job.id);
+                    Files.deleteIfExists(directory.resolve(job.id + EXTENSION));
+                    log.debug("已移除过期广播: id={}", job.id);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // 异常会终止周期任务，记录后继续
+            log.warn("清理过期广播失败: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 先写临时文件再原子重命名，进程在写入过程中退出时保留上一次的进度
+     */
+    private void writeCheckpoint(BroadcastJob job) {
+        try {
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, job.id, ".tmp");
+            try {
+                objectMapper.writeValue(temp.toFile(), job.checkpoint());
+                Files.move(temp, directory.resolve(job.id + EXTENSION),
+                        StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            job.dirty = false;
+        } catch (IOException e) {
+            log.warn("保存广播进度失败: id={}, error={}", job.id, e.getMessage());
+        }
+    }
+
+    private void loadCheckpoints() {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        long expireBefore = System.currentTimeMillis() - config.getRetention().toMillis();
+        List<BroadcastJob> resumed = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + EXTENSION)) {
+            for (Path path : stream) {
+                String name = path.getFileName().toString();
+                String id = name.substring(0, name.length() - EXTENSION.length());
+                if (!ID_PATTERN.matcher(id).matches() || jobs.containsKey(id)) {
+                    continue;
+                }
+                BroadcastJob job;
+                try {
+                    job = BroadcastJob.restore(objectMapper.readValue(path.toFile(), BroadcastJob.Checkpoint.class));
+                } catch (IOException e) {
+                    log.warn("广播进度文件无法解析: {}", path, e);
+                    continue;
+                }
+                if (job.finishedAt != null && job.finishedAt < expireBefore) {
+                    Files.deleteIfExists(path);
+                    continue;
+                }
+                job.dirty = false;
+                jobs.put(id, job);
+                if (job.state == BroadcastJob.State.RUNNING) {
+                    resumed.add(job);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("读取广播进度目录失败: {}", e.getMessage());
+        }
+        for (BroadcastJob job : resumed) {
+            log.info("继续未完成的广播: id={}, remaining={}", job.id,
+                    job.targets.size() - job.sent.cardinality() - job.failed.cardinality());
+            pump(job);
+        }
+    }
+
+    private static Counter messageCounter(MeterRegistry registry, String result) {
+        return Counter.builder("qq.broadcast.messages")
+                .description("广播发送次数")
+                .tag("result", result)
+                .register(registry);
+    }
+}
@@ -0,0 +1,25 @@
+package org.example.broadcast;
+
+/**
+ * 广播进度
+ *
+ * @param id                 广播ID
+ * @param state              RUNNING、COMPLETED 或 CANCELLED
+ * @param total              目标总数
+ * @param sent               已发送成功的目标数
+ * @param failed             最终失败的目标数
+ * @param pending            尚未完成的目标数（含发送中和等待重试）
+ * @param inFlight           发送中的目标数
+ * @param retries            本次运行以来的重试次数
+ * @param createdAt          创建时间戳（毫秒）
+ * @param finishedAt         结束时间戳（毫秒），未结束时为 null
+ * @param throughputPerSecond 本次运行（重启后重新计算）的平均发送速率
+ * @param etaSeconds         按当前速率预计剩余秒数，无法估计时为 null
+ * @param lastError          最近一次失败原因
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+public record BroadcastStatus(String id, String state, int total, int sent, int failed, int pending,
+                              int inFlight, long retries, long createdAt, Long finishedAt,
+                              double throughputPerSecond, Long etaSeconds, String lastError) {
+}
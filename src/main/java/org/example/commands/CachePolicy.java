@@ -0,0 +1,86 @@
+package org.example.commands;
+
+import java.time.Duration;
+
+/**
+ * 指令回复缓存策略
+ * 指令通过 {@link Command#getCachePolicy()} 声明自己的回复能否复用，
+ * 命中缓存时指令不会被执行
+ *
+ * 用法示例：
+ * CachePolicy.none()                                  不缓存（默认）
+ * CachePolicy.forever()                               永久缓存，与参数无关
+ * CachePolicy.forever().keyedByArgs()                 永久缓存，按参数区分
+ * CachePolicy.ttl(Duration.ofSeconds(5)).keyedByArgs() 缓存 5 秒，按参数区分
+ *
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+public final class CachePolicy {
+
+  private static final CachePolicy NONE = new CachePolicy(false, null, false);
+
+  private final boolean enabled;
+  private final Duration ttl;
+  private final boolean keyedByArgs;
+
+  private CachePolicy(boolean enabled, Duration ttl, boolean keyedByArgs) {
+    this.enabled = enabled;
+    this.ttl = ttl;
+    this.keyedByArgs = keyedByArgs;
+  }
+
+  /**
+   * 不缓存
+   */
+  public static CachePolicy none() {
+    return NONE;
+  }
+
+  /**
+   * 永久缓存（直到被容量淘汰或手动失效）
+   */
+  public static CachePolicy forever() {
+    return new CachePolicy(true, null, false);
+  }
+
+  /**
+   * 缓存指定时长
+   *
+   * @param ttl 存活时间
+   */
+  public static CachePolicy ttl(Duration ttl) {
+    if (ttl == null || ttl.isNegative() || ttl.isZero()) {
+      throw new IllegalArgumentException("缓存时长必须为正数");
+    }
+    return new CachePolicy(true, ttl, false);
+  }
+
+  /**
+   * 以参数作为缓存键的一部分，不同参数分别缓存
+   */
+  public CachePolicy keyedByArgs() {
+    return enabled ? new CachePolicy(true, ttl, true) : this;
+  }
+
+  /**
+   * @return 是否启用缓存
+   */
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * @return 存活时间，null 表示永久
+   */
+  public Duration getTtl() {
+    return ttl;
+  }
+
+  /**
+   * @return 是否按参数区分缓存
+   */
+  public boolean isKeyedByArgs() {
+    return keyedByArgs;
+  }
+}
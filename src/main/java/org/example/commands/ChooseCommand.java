@@ -14,6 +14,11 @@ public class ChooseCommand extends BaseCommand {
     return "choose";
   }
 
+  @Override
+  public String getCategory() {
+    return "工具";
+  }
+
   @Override
   public String getDescription() {
     return "输入[选项1][选项2]或更多，随机选择";
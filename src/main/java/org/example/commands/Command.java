@@ -1,5 +1,14 @@
 package org.example.commands;
 
+import org.example.event.MessageEvent;
+import org.example.reply.Reply;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+
 /**
  * 指令接口
  * 所有指令类都需要实现这个接口
@@ -9,6 +18,11 @@ package org.example.commands;
  */
 public interface Command {
 
+  /**
+   * 默认执行超时时间
+   */
+  Duration DEFAULT_TIMEOUT = Duration.ofSeconds(10);
+
   /**
    * 获取指令名称
    * 
@@ -16,6 +30,34 @@ public interface Command {
    */
   String getName();
 
+  /**
+   * 获取指令别名
+   * 别名与指令名称共用同一张分发表，大小写不敏感
+   * 
+   * @return 别名列表（不包含"/"前缀），默认没有别名
+   */
+  default List<String> getAliases() {
+    return List.of();
+  }
+
+  /**
+   * 获取指令分类，帮助信息按分类分组显示
+   * 
+   * @return 分类名称
+   */
+  default String getCategory() {
+    return "通用";
+  }
+
+  /**
+   * 是否在 /help 指令列表中显示
+   * 
+   * @return 默认显示
+   */
+  default boolean isListedInHelp() {
+    return true;
+  }
+
   /**
    * 获取指令描述
    * 
@@ -37,4 +79,129 @@ public interface Command {
    * @return 执行结果
    */
   String execute(String[] args) throws Exception;
-}
\ No newline at end of file
+
+  /**
+   * 执行指令并返回结构化回复
+   * 默认把 {@link #execute(String[])} 的文本包装为文本回复；
+   * 模板 Markdown、图片、Ark 等富消息指令覆盖此方法直接返回消息对象，不必先序列化成字符串
+   * 
+   * @param args 指令参数
+   * @return 回复，没有回复时返回null
+   */
+  default Reply executeReply(String[] args) throws Exception {
+    String text = execute(args);
+    return text == null ? null : Reply.text(text);
+  }
+
+  /**
+   * 结合消息上下文执行指令
+   * 需要知道发送者或所在频道的指令（例如 /remind）覆盖此方法，默认忽略消息上下文
+   * 
+   * @param args    指令参数
+   * @param message 触发指令的消息，不是由消息触发时为null
+   * @return 回复，没有回复时返回null
+   */
+  default Reply executeReply(String[] args, MessageEvent message) throws Exception {
+    return executeReply(args);
+  }
+
+  /**
+   * 获取指令执行超时时间
+   * 超时后直接返回 {@link #getTimeoutReply()}，不再等待执行结果
+   * 
+   * @return 超时时间
+   */
+  default Duration getTimeout() {
+    return DEFAULT_TIMEOUT;
+  }
+
+  /**
+   * 按本次参数获取指令执行超时时间
+   * 只有部分子命令耗时较长的指令（例如 /img port）覆盖此方法
+   * 
+   * @param args 指令参数
+   * @return 超时时间，默认为 {@link #getTimeout()}
+   */
+  default Duration getTimeout(String[] args) {
+    return getTimeout();
+  }
+
+  /**
+   * 获取执行超时时的兜底回复
+   * 
+   * @return 兜底回复内容
+   */
+  default String getTimeoutReply() {
+    return "⏳ 指令 /" + getName() + " 执行超时，请稍后再试";
+  }
+
+  /**
+   * 获取回复缓存策略
+   * 回复只取决于参数的指令可以声明缓存，命中时跳过执行
+   * 
+   * @return 缓存策略，默认不缓存
+   */
+  default CachePolicy getCachePolicy() {
+    return CachePolicy.none();
+  }
+
+  /**
+   * 获取指令执行开销等级，决定防刷屏限流使用哪一档限额
+   * 
+   * @return 开销等级，默认轻量
+   */
+  default CommandCost getCost() {
+    return CommandCost.LIGHT;
+  }
+
+  /**
+   * 按本次参数获取指令执行开销等级
+   * 子命令开销差别很大的指令（例如 /debug ping 与 /debug port）覆盖此方法
+   * 
+   * @param args 指令参数
+   * @return 开销等级，默认为 {@link #getCost()}
+   */
+  default CommandCost getCost(String[] args) {
+    return getCost();
+  }
+
+  /**
+   * 在指定线程池中异步执行指令
+   * 
+   * @param args     指令参数
+   * @param executor 执行指令的线程池
+   * @return 执行结果
+   */
+  default CompletableFuture<Reply> executeAsync(String[] args, Executor executor) {
+    return executeAsync(args, null, executor);
+  }
+
+  /**
+   * 在指定线程池中结合消息上下文异步执行指令
+   * 取消返回的 future 时会中断正在执行指令的线程，及时释放线程池；
+   * 不响应中断的阻塞操作会继续执行到结束，只是结果被丢弃
+   * 
+   * @param args     指令参数
+   * @param message  触发指令的消息，可以为null
+   * @param executor 执行指令的线程池
+   * @return 执行结果
+   */
+  default CompletableFuture<Reply> executeAsync(String[] args, MessageEvent message, Executor executor) {
+    CompletableFuture<Reply> result = new CompletableFuture<>();
+    FutureTask<Void> task = new FutureTask<>(() -> {
+      try {
+        result.complete(executeReply(args, message));
+      } catch (Throwable e) {
+        result.completeExceptionally(e);
+      }
+      return null;
+    });
+    executor.execute(task);
+    result.whenComplete((reply, error) -> {
+      if (result.isCancelled()) {
+        task.cancel(true);
+      }
+    });
+    return result;
+  }
+}
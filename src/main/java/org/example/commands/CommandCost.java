@@ -0,0 +1,22 @@
+package org.example.commands;
+
+/**
+ * 指令执行开销等级
+ * 防刷屏限流按等级使用不同的令牌桶：轻量指令限额宽松，
+ * 需要启动子进程、绘图等重量级指令限额严格
+ *
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+public enum CommandCost {
+
+  /**
+   * 轻量指令：纯文本处理或命中缓存
+   */
+  LIGHT,
+
+  /**
+   * 重量级指令：启动子进程、采集主机信息、生成图片等
+   */
+  HEAVY
+}
@@ -2,19 +2,37 @@ package org.example.commands;
 
 import org.example.debug.Debug_PortMain;
 import org.example.debug.Debug_ping;
+import org.example.debug.HostMetricsSampler;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+
 /**
  * 调试命令 - 用于测试消息处理和AI服务
  */
 @Component
 public class DebugCommand extends BaseCommand {
 
+  private final Debug_ping debugPing;
+
+  // 统计最近 N 分钟时允许的最大分钟数，不超过采样器保留的历史
+  private final int maxPingMinutes;
+
+  public DebugCommand(HostMetricsSampler sampler) {
+    this.debugPing = new Debug_ping(sampler);
+    this.maxPingMinutes = (int) Math.max(1, sampler.history().toMinutes());
+  }
+
   @Override
   public String getName() {
     return "debug";
   }
 
+  @Override
+  public String getCategory() {
+    return "调试";
+  }
+
   @Override
   public String getDescription() {
     return "选择:[ping][port]，测试服务器功能";
@@ -24,15 +42,44 @@ public class DebugCommand extends BaseCommand {
   public String getUsage() {
     return "用法：\n" +
         "/debug ping -读取主机服务状态\n" +
+        "/debug ping 分钟数 -最近N分钟的最小/平均/最大值\n" +
         "/debug port -主机端口占用情况\n"
     ;
   }
 
+  /**
+   * port 子命令需要启动多个子进程，给足时间但要早于 Node.js 端 25 秒的请求超时
+   */
+  @Override
+  public Duration getTimeout() {
+    return Duration.ofSeconds(20);
+  }
+
+  @Override
+  public String getTimeoutReply() {
+    return "⏳ 调试命令执行超时，主机可能正忙，请稍后再试";
+  }
+
+  /**
+   * 主机状态几秒内不会明显变化，短 TTL 避免重复刷新时反复采集和启动子进程
+   */
+  @Override
+  public CachePolicy getCachePolicy() {
+    return CachePolicy.ttl(Duration.ofSeconds(3)).keyedByArgs();
+  }
+
+  /**
+   * 端口占用统计要启动多个子进程，按重量级指令限流；ping 只读取后台采样，按轻量指令限流
+   */
+  @Override
+  public CommandCost getCost(String[] args) {
+    return args.length > 0 && "port".equalsIgnoreCase(args[0]) ? CommandCost.HEAVY : CommandCost.LIGHT;
+  }
+
   @Override
   public String execute(String[] args) throws Exception {
     // ===============引用Debug文件夹内==========
 
-    Debug_ping debugPing = new Debug_ping();
     Debug_PortMain debugPortMain=new Debug_PortMain();
 
     // =======================================
@@ -43,6 +90,9 @@ public class DebugCommand extends BaseCommand {
 
     switch (subCommand) {
       case "ping":
+        if (args.length > 1) {
+          return pingHistory(args[1]);
+        }
         return debugPing.UsePing();
       case "port":
         return debugPortMain.getPortStatistics();
@@ -51,4 +101,17 @@ public class DebugCommand extends BaseCommand {
     }
   }
 
-}
\ No newline at end of file
+  private String pingHistory(String minutesArg) {
+    int minutes;
+    try {
+      minutes = Integer.parseInt(minutesArg);
+    } catch (NumberFormatException e) {
+      return "❌ 分钟数必须是整数\n\n" + getUsage();
+    }
+    if (minutes < 1 || minutes > maxPingMinutes) {
+      return "❌ 分钟数必须在 1 到 " + maxPingMinutes + " 之间（只保留最近 " + maxPingMinutes + " 分钟的采样）";
+    }
+    return debugPing.UsePing(minutes);
+  }
+
+}
@@ -14,6 +14,11 @@ public class EchoCommand extends BaseCommand {
     return "echo";
   }
 
+  @Override
+  public String getCategory() {
+    return "工具";
+  }
+
   @Override
   public String getDescription() {
     return "输入[内容]重复你说的话";
@@ -24,6 +29,14 @@ public class EchoCommand extends BaseCommand {
     return "用法：/echo [内容]\n例如：/echo 你好世界";
   }
 
+  /**
+   * 执行本身几乎没有开销；按任意参数缓存只会让刷屏内容挤出共享回复缓存中有用的条目
+   */
+  @Override
+  public CachePolicy getCachePolicy() {
+    return CachePolicy.none();
+  }
+
   @Override
   public String execute(String[] args) {
     String validation = validateMinArgs(args, 1);
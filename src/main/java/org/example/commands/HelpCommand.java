@@ -1,21 +1,27 @@
 package org.example.commands;
 
+import org.example.service.CommandRegistry;
+import org.example.service.HelpCatalogue;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
-import java.util.List;
 
 /**
  * 帮助指令
  * 显示所有可用指令的帮助信息
+ * 帮助内容由 {@link HelpCatalogue} 在指令集合确定时预先渲染，这里只做查表
  */
 @Component
 public class HelpCommand extends BaseCommand {
 
-  private final List<Command> allCommands;
+  private final CommandRegistry commandRegistry;
 
+  /**
+   * 指令注册器依赖所有指令（包括本指令），这里延迟注入避免循环依赖
+   */
   @Autowired
-  public HelpCommand(List<Command> allCommands) {
-    this.allCommands = allCommands;
+  public HelpCommand(@Lazy CommandRegistry commandRegistry) {
+    this.commandRegistry = commandRegistry;
   }
 
   @Override
@@ -32,50 +38,60 @@ public class HelpCommand extends BaseCommand {
   public String getUsage() {
     return "用法：\n" +
         "/help - 显示所有指令\n" +
+        "/help [页码] - 翻页查看指令列表\n" +
+        "/help [分类] - 显示某个分类下的指令\n" +
         "/help [指令名] - 显示特定指令的详细信息";
   }
 
+  /**
+   * 帮助列表中不显示自己
+   */
   @Override
-  public String execute(String[] args) {
-    if (args.length == 0) {
-      return getAllCommandsHelp();
-    } else {
-      String commandName = args[0].toLowerCase();
-      return getSpecificCommandHelp(commandName);
-    }
+  public boolean isListedInHelp() {
+    return false;
   }
 
-  private String getAllCommandsHelp() {
-    StringBuilder sb = new StringBuilder();
-    sb.append("🤖 QQ机器人指令帮助\n\n");
-
-    for (Command command : allCommands) {
-      // 跳过自己，避免循环依赖
-      if (command == this)
-        continue;
+  /**
+   * 帮助内容只取决于已注册的指令和参数，指令集合变化时缓存会被清空
+   */
+  @Override
+  public CachePolicy getCachePolicy() {
+    return CachePolicy.forever().keyedByArgs();
+  }
 
-      sb.append("• /").append(command.getName())
-          .append(" - ").append(command.getDescription())
-          .append("\n");
+  @Override
+  public String execute(String[] args) {
+    HelpCatalogue catalogue = commandRegistry.getHelpCatalogue();
+    if (args.length == 0) {
+      return catalogue.page(1);
     }
 
-    sb.append("\n💡 使用 /help [指令名] 查看详细用法");
-    sb.append("\n💡 在群聊中需要@机器人");
+    String target = args[0].toLowerCase();
+    int page = parsePage(target);
+    if (page > 0) {
+      return catalogue.page(page);
+    }
 
-    return sb.toString();
+    String help = catalogue.lookup(target);
+    if (help != null) {
+      return help;
+    }
+    return "❌ 未找到指令：" + target + "\n" +
+        "使用 /help 查看所有可用指令";
   }
 
-  private String getSpecificCommandHelp(String commandName) {
-    for (Command command : allCommands) {
-      if (command.getName().equalsIgnoreCase(commandName)) {
-        return "📖 指令详情\n\n" +
-            "指令：/" + command.getName() + "\n" +
-            "描述：" + command.getDescription() + "\n\n" +
-            command.getUsage();
+  /**
+   * 解析页码，不是纯数字时返回 -1
+   */
+  private int parsePage(String value) {
+    if (value.isEmpty() || value.length() > 4) {
+      return -1;
+    }
+    for (int i = 0; i < value.length(); i++) {
+      if (value.charAt(i) < '0' || value.charAt(i) > '9') {
+        return -1;
       }
     }
-
-    return "❌ 未找到指令：" + commandName + "\n" +
-        "使用 /help 查看所有可用指令";
+    return Integer.parseInt(value);
   }
-}
\ No newline at end of file
+}
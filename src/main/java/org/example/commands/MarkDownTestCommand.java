@@ -1,10 +1,14 @@
 package org.example.commands;
 
+import org.example.Z_Utils.MarkdownParam;
+import org.example.Z_Utils.TableImageRenderer;
+import org.example.debug.PortMainImg;
+import org.example.service.ImageStore;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 
 /**
  * 图片消息示例指令
@@ -12,6 +16,7 @@ import java.util.Map;
  * 
  * 指令格式：/img
  * 用法：/img [可选URL参数]
+ *       /img port  生成端口占用表格图片，由本服务的 /images 接口提供给 QQ 拉取
  * 
  * 使用模板 ID: 102813362_1760679605
  * 输出示例：
@@ -41,6 +46,17 @@ public class MarkDownTestCommand extends TemplateMarkdownCommand {
    */
   private static final String DEFAULT_IMAGE_URL = "https://q.qq.com/qqbot/static/images/f3648b8001dfa331020c096a85057715.png";
 
+  /**
+   * 生成端口表格图片的子命令
+   */
+  private static final String PORT_TABLE = "port";
+
+  private final ImageStore imageStore;
+
+  public MarkDownTestCommand(ImageStore imageStore) {
+    this.imageStore = imageStore;
+  }
+
   /**
    * 获取指令名称
    * 
@@ -51,6 +67,16 @@ public class MarkDownTestCommand extends TemplateMarkdownCommand {
     return "img";
   }
 
+  /**
+   * 获取指令分类
+   * 
+   * @return 指令分类
+   */
+  @Override
+  public String getCategory() {
+    return "消息示例";
+  }
+
   /**
    * 获取指令描述
    * 
@@ -68,7 +94,42 @@ public class MarkDownTestCommand extends TemplateMarkdownCommand {
    */
   @Override
   public String getUsage() {
-    return "/img [URL] - 发送图片消息，可选指定图片 URL，默认使用示例图片";
+    return "/img [URL] - 发送图片消息，可选指定图片 URL，默认使用示例图片\n" +
+        "/img port - 发送端口占用表格图片";
+  }
+
+  /**
+   * URL 参数的消息内容不变，但 port 表格随主机状态变化，使用短 TTL；
+   * 端口数据不变时图片按内容哈希复用，不会重复渲染
+   * 
+   * @return 缓存策略
+   */
+  @Override
+  public CachePolicy getCachePolicy() {
+    return CachePolicy.ttl(Duration.ofSeconds(3)).keyedByArgs();
+  }
+
+  /**
+   * port 子命令要完整扫描一次端口占用并渲染图片，与 /debug port 一样按重量级指令限流
+   * 
+   * @param args 指令参数
+   * @return 开销等级
+   */
+  @Override
+  public CommandCost getCost(String[] args) {
+    return args.length > 0 && PORT_TABLE.equalsIgnoreCase(args[0]) ? CommandCost.HEAVY : CommandCost.LIGHT;
+  }
+
+  /**
+   * port 子命令的端口扫描在 netstat 路径上需要数秒，与 /debug 相同给足时间，但要早于 Node.js 端 25 秒的请求超时；
+   * 其它子命令只生成消息，使用默认超时
+   * 
+   * @param args 指令参数
+   * @return 超时时间
+   */
+  @Override
+  public Duration getTimeout(String[] args) {
+    return args.length > 0 && PORT_TABLE.equalsIgnoreCase(args[0]) ? Duration.ofSeconds(20) : getTimeout();
   }
 
   /**
@@ -90,8 +151,8 @@ public class MarkDownTestCommand extends TemplateMarkdownCommand {
    * @throws Exception 如果生成参数时出错
    */
   @Override
-  protected List<Map<String, Object>> getMarkdownParams(String[] args) throws Exception {
-    List<Map<String, Object>> params = new ArrayList<>();
+  protected List<MarkdownParam> getMarkdownParams(String[] args) throws Exception {
+    List<MarkdownParam> params = new ArrayList<>();
 
     // 获取图片 URL
     String imageUrl = getImageUrl(args);
@@ -114,6 +175,10 @@ public class MarkDownTestCommand extends TemplateMarkdownCommand {
     // 如果提供了参数，使用第一个参数作为 URL
     if (args != null && args.length > 0 && !args[0].trim().isEmpty()) {
       String customUrl = args[0].trim();
+
+      if (PORT_TABLE.equalsIgnoreCase(customUrl)) {
+        return renderPortTable();
+      }
       
       // 简单验证 URL 格式
       if (customUrl.startsWith("http://") || customUrl.startsWith("https://")) {
@@ -126,4 +191,19 @@ public class MarkDownTestCommand extends TemplateMarkdownCommand {
     // 没有参数时使用默认示例 URL
     return DEFAULT_IMAGE_URL;
   }
+
+  /**
+   * 渲染端口占用表格并返回图片地址
+   * 表格内容作为数据键，端口占用没有变化时直接复用上一次的图片
+   * 
+   * @return 图片 URL
+   * @throws Exception 如果扫描端口失败
+   */
+  private String renderPortTable() throws Exception {
+    List<List<String>> rows = PortMainImg.getPortStatisticsTable();
+    String sourceKey = "port-table:" + rows;
+    String hash = imageStore.putRendered(sourceKey,
+        () -> TableImageRenderer.defaults().renderPng(PortMainImg.COLUMNS, rows));
+    return imageStore.urlFor(hash);
+  }
 }
@@ -0,0 +1,148 @@
+package org.example.commands;
+
+import org.example.config.ReminderConfig;
+import org.example.event.AtMessageCreate;
+import org.example.reminder.MessageScheduler;
+import org.example.reminder.ScheduledMessage;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 提醒指令
+ * 经过指定时长后在当前子频道@发送者
+ *
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+@Component
+public class RemindCommand extends ScheduledMessageCommand {
+
+  private static final String PREFIX = " ⏰ 提醒：";
+
+  public RemindCommand(MessageScheduler scheduler, ReminderConfig config) {
+    super(scheduler, config);
+  }
+
+  @Override
+  public String getName() {
+    return "remind";
+  }
+
+  @Override
+  public List<String> getAliases() {
+    return List.of("提醒");
+  }
+
+  @Override
+  public String getDescription() {
+    return "输入[时长][内容]，到时间后@你";
+  }
+
+  @Override
+  public String getUsage() {
+    return "用法：\n" +
+        "/remind 时长 内容 -时长如 30s、10m、1h30m、2d\n" +
+        "/remind list -查看你的定时消息\n" +
+        "/remind cancel 编号 -取消定时消息\n" +
+        "例如：/remind 10m 喝水";
+  }
+
+  @Override
+  protected String execute(String[] args, AtMessageCreate message) {
+    String validation = validateMinArgs(args, 1);
+    if (validation != null) {
+      return validation;
+    }
+    if (args[0].equalsIgnoreCase("list")) {
+      return list(message.authorId());
+    }
+    if (args[0].equalsIgnoreCase("cancel")) {
+      return cancel(args, message.authorId());
+    }
+
+    long delayMillis = parseDuration(args[0]);
+    if (delayMillis <= 0) {
+      return "❌ 无法识别的时长: " + args[0] + "\n" + getUsage();
+    }
+    String content = joinArgs(args, 1);
+    long dueAt = System.currentTimeMillis() + delayMillis;
+    String error = validate(message, dueAt, content);
+    if (error != null) {
+      return error;
+    }
+    ScheduledMessage scheduled = scheduler.schedule(message.channelId(), message.authorId(),
+        "<@!" + message.authorId() + ">" + PREFIX + content, dueAt);
+    return "⏰ 好的，将在 " + formatDueAt(scheduled) + " 提醒你：" + content + "（编号 " + scheduled.getId() + "）";
+  }
+
+  private String list(String creatorId) {
+    List<ScheduledMessage> messages = scheduler.list(creatorId);
+    if (messages.isEmpty()) {
+      return "📭 你没有未发送的定时消息";
+    }
+    StringBuilder sb = new StringBuilder("📋 你的定时消息：\n");
+    for (ScheduledMessage message : messages) {
+      String content = message.getContent();
+      int prefix = content.indexOf(PREFIX);
+      if (prefix >= 0) {
+        content = content.substring(prefix + PREFIX.length());
+      }
+      sb.append("• ").append(message.getId()).append("  ").append(formatDueAt(message))
+          .append("  ").append(content).append('\n');
+    }
+    return sb.toString();
+  }
+
+  private String cancel(String[] args, String creatorId) {
+    if (args.length < 2) {
+      return "❌ 请输入要取消的编号\n" + getUsage();
+    }
+    long id;
+    try {
+      id = Long.parseLong(args[1]);
+    } catch (NumberFormatException e) {
+      return "❌ 编号必须是数字";
+    }
+    return scheduler.cancel(id, creatorId) ? "✅ 已取消定时消息 " + id : "❌ 没有找到你创建的定时消息 " + id;
+  }
+
+  /**
+   * 解析时长，例如 30s、10m、1h30m、2d；纯数字按分钟
+   *
+   * @return 毫秒数，无法解析时返回 -1
+   */
+  static long parseDuration(String text) {
+    long total = 0;
+    long number = -1;
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      if (c >= '0' && c <= '9') {
+        number = (number < 0 ? 0 : number) * 10 + (c - '0');
+        if (number > 1_000_000) {
+          return -1;
+        }
+        continue;
+      }
+      if (number < 0) {
+        return -1;
+      }
+      long unit = switch (Character.toLowerCase(c)) {
+        case 's', '秒' -> 1000L;
+        case 'm', '分' -> 60_000L;
+        case 'h', '时' -> 3_600_000L;
+        case 'd', '天' -> 86_400_000L;
+        default -> -1L;
+      };
+      if (unit < 0) {
+        return -1;
+      }
+      total += number * unit;
+      number = -1;
+    }
+    if (number >= 0) {
+      total += number * 60_000L;
+    }
+    return total;
+  }
+}
@@ -0,0 +1,92 @@
+package org.example.commands;
+
+import org.example.config.ReminderConfig;
+import org.example.event.AtMessageCreate;
+import org.example.reminder.MessageScheduler;
+import org.example.reminder.ScheduledMessage;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * 定时发送指令
+ * 在指定时刻把内容发送到当前子频道
+ *
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+@Component
+public class ScheduleCommand extends ScheduledMessageCommand {
+
+  public ScheduleCommand(MessageScheduler scheduler, ReminderConfig config) {
+    super(scheduler, config);
+  }
+
+  @Override
+  public String getName() {
+    return "schedule";
+  }
+
+  @Override
+  public List<String> getAliases() {
+    return List.of("定时");
+  }
+
+  @Override
+  public String getDescription() {
+    return "输入[时间][内容]，到点发送到本子频道";
+  }
+
+  @Override
+  public String getUsage() {
+    return "用法：\n" +
+        "/schedule HH:mm 内容 -今天该时刻发送，已过则明天\n" +
+        "/schedule yyyy-MM-dd HH:mm 内容 -指定日期发送\n" +
+        "查看和取消请使用 /remind list、/remind cancel 编号\n" +
+        "例如：/schedule 20:00 开黑了";
+  }
+
+  @Override
+  protected String execute(String[] args, AtMessageCreate message) {
+    String validation = validateMinArgs(args, 2);
+    if (validation != null) {
+      return validation;
+    }
+
+    ZonedDateTime now = ZonedDateTime.now(zone);
+    ZonedDateTime due;
+    int contentIndex;
+    try {
+      if (args[0].indexOf('-') > 0) {
+        validation = validateMinArgs(args, 3);
+        if (validation != null) {
+          return validation;
+        }
+        due = LocalDateTime.of(LocalDate.parse(args[0]), LocalTime.parse(args[1])).atZone(zone);
+        contentIndex = 2;
+      } else {
+        due = now.with(LocalTime.parse(args[0]));
+        if (!due.isAfter(now)) {
+          due = due.plusDays(1);
+        }
+        contentIndex = 1;
+      }
+    } catch (DateTimeParseException e) {
+      return "❌ 无法识别的时间\n" + getUsage();
+    }
+
+    String content = joinArgs(args, contentIndex);
+    long dueAt = due.toInstant().toEpochMilli();
+    String error = validate(message, dueAt, content);
+    if (error != null) {
+      return error;
+    }
+    ScheduledMessage scheduled = scheduler.schedule(message.channelId(), message.authorId(), content, dueAt);
+    return "🗓️ 好的，将在 " + formatDueAt(scheduled) + " 发送（编号 " + scheduled.getId() + "）";
+  }
+}
@@ -0,0 +1,101 @@
+package org.example.commands;
+
+import org.example.config.ReminderConfig;
+import org.example.event.AtMessageCreate;
+import org.example.event.MessageEvent;
+import org.example.reminder.MessageScheduler;
+import org.example.reminder.ScheduledMessage;
+import org.example.reply.Reply;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * 定时消息指令基类
+ * 校验发送位置、数量和时长后交给 {@link MessageScheduler}；
+ * 定时消息通过子频道主动消息发出，目前只支持在子频道中创建
+ *
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+public abstract class ScheduledMessageCommand extends BaseCommand {
+
+  protected static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+  protected final MessageScheduler scheduler;
+  protected final ReminderConfig config;
+  protected final ZoneId zone;
+
+  protected ScheduledMessageCommand(MessageScheduler scheduler, ReminderConfig config) {
+    this.scheduler = scheduler;
+    this.config = config;
+    this.zone = ZoneId.of(config.getZone());
+  }
+
+  @Override
+  public String getCategory() {
+    return "工具";
+  }
+
+  /**
+   * 定时消息需要知道发送者和子频道，没有消息上下文时只返回用法
+   */
+  @Override
+  public String execute(String[] args) {
+    return "❌ 请在子频道中@机器人使用\n" + getUsage();
+  }
+
+  @Override
+  public Reply executeReply(String[] args, MessageEvent message) throws Exception {
+    if (!(message instanceof AtMessageCreate at)) {
+      return Reply.text("❌ 定时消息目前只支持在子频道中@机器人使用");
+    }
+    return Reply.text(execute(args, at));
+  }
+
+  /**
+   * 在子频道中执行指令
+   *
+   * @param args    指令参数
+   * @param message 触发指令的子频道消息
+   * @return 回复文本
+   */
+  protected abstract String execute(String[] args, AtMessageCreate message) throws Exception;
+
+  /**
+   * 校验定时消息的时间、内容和发送者已有的数量
+   *
+   * @param message 触发指令的消息
+   * @param dueAt   到期时间戳（毫秒）
+   * @param content 用户输入的内容
+   * @return 校验通过时返回 null，否则返回错误提示
+   */
+  protected String validate(AtMessageCreate message, long dueAt, String content) {
+    long now = System.currentTimeMillis();
+    if (dueAt <= now) {
+      return "❌ 时间必须晚于现在";
+    }
+    if (dueAt - now > config.getMaxDelay().toMillis()) {
+      return "❌ 最多只能定时 " + config.getMaxDelay().toDays() + " 天以内";
+    }
+    if (content.isBlank()) {
+      return "❌ 内容不能为空\n" + getUsage();
+    }
+    if (content.length() > config.getMaxContentLength()) {
+      return "❌ 内容不能超过 " + config.getMaxContentLength() + " 个字符";
+    }
+    if (scheduler.pendingCount(message.authorId()) >= config.getMaxPerUser()) {
+      return "❌ 你已有 " + config.getMaxPerUser() + " 条未发送的定时消息，请先用 /remind cancel 取消一些";
+    }
+    return null;
+  }
+
+  /**
+   * @param message 定时消息
+   * @return 到期时间的本地时间文本
+   */
+  protected String formatDueAt(ScheduledMessage message) {
+    return TIME_FORMAT.format(Instant.ofEpochMilli(message.getDueAt()).atZone(zone));
+  }
+}
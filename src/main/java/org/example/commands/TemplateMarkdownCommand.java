@@ -1,12 +1,13 @@
 package org.example.commands;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.Z_Utils.MarkdownMessage;
+import org.example.Z_Utils.MarkdownMessageUtils;
+import org.example.Z_Utils.MarkdownParam;
+import org.example.reply.MarkdownReply;
+import org.example.reply.Reply;
 import org.springframework.stereotype.Component;
 
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 /**
  * 模板 Markdown 指令基类
@@ -32,14 +33,14 @@ import java.util.Map;
  *   }
  * }
  * 
+ * 指令以 {@link MarkdownReply} 返回消息对象，在返回给 Node.js 时才序列化一次，不构建中间 Map
+ * 
  * @author QQ Robot Team
  * @since 2.0.0
  */
 @Component
 public abstract class TemplateMarkdownCommand extends BaseCommand {
 
-  private static final ObjectMapper objectMapper = new ObjectMapper();
-
   /**
    * 获取 Markdown 模板 ID
    * 子类应该实现此方法以返回模板 ID
@@ -56,7 +57,17 @@ public abstract class TemplateMarkdownCommand extends BaseCommand {
    * @return 参数列表
    * @throws Exception 如果生成参数时出错
    */
-  protected abstract List<Map<String, Object>> getMarkdownParams(String[] args) throws Exception;
+  protected abstract List<MarkdownParam> getMarkdownParams(String[] args) throws Exception;
+
+  /**
+   * 获取按钮模板 ID
+   * 子类返回非空值时，消息附带该按钮模板
+   * 
+   * @return 按钮模板 ID，默认不带按钮
+   */
+  protected String getKeyboardTemplateId() {
+    return null;
+  }
 
   /**
    * 构建模板参数项
@@ -65,19 +76,8 @@ public abstract class TemplateMarkdownCommand extends BaseCommand {
    * @param values 变量值数组
    * @return 参数项
    */
-  protected Map<String, Object> buildMarkdownParam(String key, String... values) {
-    Map<String, Object> param = new HashMap<>();
-    param.put("key", key);
-    
-    List<String> valueList = new ArrayList<>();
-    for (String value : values) {
-      if (value != null) {
-        valueList.add(value);
-      }
-    }
-    
-    param.put("values", valueList);
-    return param;
+  protected MarkdownParam buildMarkdownParam(String key, String... values) {
+    return MarkdownParam.of(key, values);
   }
 
   /**
@@ -87,28 +87,30 @@ public abstract class TemplateMarkdownCommand extends BaseCommand {
    * @return JSON 格式的消息对象字符串
    * @throws Exception 如果构建消息时出错
    */
-  protected String buildTemplateMarkdownMessage(List<Map<String, Object>> params) throws Exception {
+  protected String buildTemplateMarkdownMessage(List<MarkdownParam> params) throws Exception {
+    return buildTemplateMarkdownReply(params).toJson();
+  }
+
+  /**
+   * 构建模板 Markdown 回复
+   * 
+   * @param params 参数列表
+   * @return 回复
+   * @throws Exception 如果参数校验失败
+   */
+  protected MarkdownReply buildTemplateMarkdownReply(List<MarkdownParam> params) throws Exception {
     String templateId = getMarkdownTemplateId();
     
     if (templateId == null || templateId.trim().isEmpty()) {
       throw new IllegalArgumentException("Markdown 模板 ID 不能为空");
     }
     
-    if (params == null || params.isEmpty()) {
-      throw new IllegalArgumentException("Markdown 模板参数不能为空");
+    String error = MarkdownMessageUtils.validateParams(params);
+    if (error != null) {
+      throw new IllegalArgumentException("Markdown 模板" + error);
     }
 
-    // 构建 Markdown 对象
-    Map<String, Object> markdown = new HashMap<>();
-    markdown.put("custom_template_id", templateId);
-    markdown.put("params", params);
-
-    // 构建完整的消息体
-    Map<String, Object> messageBody = new HashMap<>();
-    messageBody.put("msg_type", 2);   // 2 表示 Markdown 消息类型
-    messageBody.put("markdown", markdown);
-
-    return objectMapper.writeValueAsString(messageBody);
+    return Reply.markdown(MarkdownMessage.template(templateId, params), getKeyboardTemplateId());
   }
 
   /**
@@ -120,7 +122,19 @@ public abstract class TemplateMarkdownCommand extends BaseCommand {
    */
   @Override
   public String execute(String[] args) throws Exception {
-    List<Map<String, Object>> params = getMarkdownParams(args);
-    return buildTemplateMarkdownMessage(params);
+    return executeReply(args).toJson();
+  }
+
+  /**
+   * 执行指令，返回消息对象
+   * 
+   * @param args 指令参数
+   * @return 模板 Markdown 回复
+   * @throws Exception 如果执行过程中出错
+   */
+  @Override
+  public MarkdownReply executeReply(String[] args) throws Exception {
+    List<MarkdownParam> params = getMarkdownParams(args);
+    return buildTemplateMarkdownReply(params);
   }
 }
@@ -0,0 +1,77 @@
+package org.example.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * 事件审计日志配置
+ * Node.js 转发的事件通知先进入有界队列，由单个写入线程批量写入 MySQL 或本地文件，不阻塞请求线程
+ *
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "qq.audit")
+public class AuditLogConfig {
+
+    /**
+     * 是否记录审计日志
+     */
+    private boolean enabled = true;
+
+    /**
+     * 写入目标：auto 有数据源时写数据库，否则写文件；jdbc 只写数据库；file 只写文件
+     */
+    private Sink sink = Sink.AUTO;
+
+    /**
+     * 队列容量，写入跟不上时按 overflow 策略丢弃
+     */
+    private int queueCapacity = 10_000;
+
+    /**
+     * 队列满时的处理策略
+     */
+    private Overflow overflow = Overflow.DROP_OLDEST;
+
+    /**
+     * overflow 为 sample 时，队列满后每 N 条新事件保留 1 条（替换最早的一条）
+     */
+    private int sampleRate = 10;
+
+    /**
+     * 单次写入的最大条数
+     */
+    private int batchSize = 500;
+
+    /**
+     * 队列未攒满一批时，最长等待多久写入一次
+     */
+    private Duration flushInterval = Duration.ofSeconds(1);
+
+    /**
+     * 文件写入目录，每天一个 audit-yyyy-MM-dd.jsonl 文件
+     */
+    private String directory = "data/audit";
+
+    public enum Sink {
+        AUTO, JDBC, FILE
+    }
+
+    public enum Overflow {
+        /**
+         * 丢弃最早的事件，保留最新的
+         */
+        DROP_OLDEST,
+        /**
+         * 按 sample-rate 抽样保留新事件，其余丢弃
+         */
+        SAMPLE
+    }
+}
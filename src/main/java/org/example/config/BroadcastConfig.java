@@ -0,0 +1,80 @@
+package org.example.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * 广播配置
+ * 一条公告发送到大量子频道时，限制同时发送数和广播自身的速率，给指令回复留出出站额度；
+ * 发送进度定期写入本地目录，重启后从断点继续
+ *
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+@Getter
+@Setter
+@ToString(exclude = "token")
+@Configuration
+@ConfigurationProperties(prefix = "qq.broadcast")
+public class BroadcastConfig {
+
+    /**
+     * 调用 /qq/broadcasts 时在 Authorization: Bearer 中携带的令牌；未配置时广播接口不可用
+     */
+    private String token;
+
+    /**
+     * 单个广播同时等待结果的最大发送数
+     */
+    private int concurrency = 8;
+
+    /**
+     * 所有广播合计每秒最多发送的消息数，应低于 qq.outbound.bot-rate-per-second
+     */
+    private double ratePerSecond = 10;
+
+    /**
+     * 广播速率允许的突发数
+     */
+    private int burst = 10;
+
+    /**
+     * 单个目标的最大尝试次数（含第一次）
+     */
+    private int maxAttempts = 5;
+
+    /**
+     * 第一次重试的基础等待时间，之后每次翻倍，实际等待时间在 [一半, 全部] 之间随机
+     */
+    private Duration retryBaseDelay = Duration.ofSeconds(1);
+
+    /**
+     * 重试等待时间上限
+     */
+    private Duration retryMaxDelay = Duration.ofMinutes(1);
+
+    /**
+     * 单个广播的最大目标数
+     */
+    private int maxTargets = 100_000;
+
+    /**
+     * 进度写入间隔，重启后最多重发这段时间内已发出但未记录的消息
+     */
+    private Duration checkpointInterval = Duration.ofSeconds(1);
+
+    /**
+     * 进度文件目录
+     */
+    private String directory = "data/broadcast";
+
+    /**
+     * 已结束的广播保留多久，之后从内存中移除并删除进度文件
+     */
+    private Duration retention = Duration.ofDays(7);
+}
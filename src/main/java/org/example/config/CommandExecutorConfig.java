@@ -0,0 +1,52 @@
+package org.example.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * 指令执行线程池配置
+ * 指令在独立的有界线程池中执行，不占用 Tomcat 请求线程
+ *
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "qq.command.executor")
+public class CommandExecutorConfig {
+
+    /**
+     * 核心线程数
+     */
+    private int coreSize = 4;
+
+    /**
+     * 最大线程数
+     */
+    private int maxSize = 16;
+
+    /**
+     * 等待队列容量，队列满时新指令直接返回繁忙提示
+     */
+    private int queueCapacity = 200;
+
+    /**
+     * 指令执行线程池
+     */
+    @Bean(name = "commandExecutor")
+    public ThreadPoolTaskExecutor commandExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(coreSize);
+        executor.setMaxPoolSize(maxSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("command-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        return executor;
+    }
+}
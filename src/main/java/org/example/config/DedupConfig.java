@@ -0,0 +1,49 @@
+package org.example.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * 重复消息过滤配置
+ * 网关断线重连（RESUME）补发和 Webhook 重试会把同一条消息投递多次，
+ * 在去重窗口内按消息ID只处理第一次
+ *
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "qq.dedup")
+public class DedupConfig {
+
+    /**
+     * 是否启用重复消息过滤
+     */
+    private boolean enabled = true;
+
+    /**
+     * 去重窗口，超过窗口再次投递的消息会被当作新消息处理
+     */
+    private Duration window = Duration.ofMinutes(10);
+
+    /**
+     * 窗口内最多记住的消息ID数，同时决定布隆过滤器的容量
+     */
+    private long maximumSize = 100_000;
+
+    /**
+     * 布隆过滤器的目标误判率，误判只会多一次精确查询，不会丢消息
+     */
+    private double bloomFalsePositiveRate = 0.01;
+
+    /**
+     * 处理结果保留时间。桥接请求失败（超时、连接断开）后 Node.js 会改走 HTTP 重试同一条消息，
+     * 重试在这段时间内到达时复用原请求的结果，不重复执行指令也不丢回复；应大于 Node.js 的桥接超时
+     */
+    private Duration retryResultTtl = Duration.ofMinutes(1);
+}
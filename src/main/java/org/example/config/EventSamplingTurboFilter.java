@@ -0,0 +1,78 @@
+package org.example.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 按事件类型采样的日志过滤器
+ * 消息热路径上的 DEBUG 日志以事件类型作为 Marker（如 GROUP_AT_MESSAGE_CREATE），
+ * 本过滤器对配置了采样率的事件类型每 N 条只放行 1 条，INFO 及以上级别不受影响
+ *
+ * 在 logback-spring.xml 中配置：
+ * &lt;turboFilter class="org.example.config.EventSamplingTurboFilter"&gt;
+ *   &lt;rates&gt;GROUP_AT_MESSAGE_CREATE=10,AT_MESSAGE_CREATE=10&lt;/rates&gt;
+ * &lt;/turboFilter&gt;
+ *
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+public class EventSamplingTurboFilter extends TurboFilter {
+
+    // 事件类型 -> 每 N 条放行 1 条
+    private final Map<String, Integer> everyN = new ConcurrentHashMap<>();
+
+    // 事件类型 -> 已经过的日志条数
+    private final Map<String, AtomicLong> counters = new ConcurrentHashMap<>();
+
+    /**
+     * 设置采样率，格式为 "事件类型=N,事件类型=N"
+     *
+     * @param rates 采样率配置
+     */
+    public void setRates(String rates) {
+        everyN.clear();
+        if (rates == null) {
+            return;
+        }
+        for (String item : rates.split(",")) {
+            int eq = item.indexOf('=');
+            if (eq <= 0) {
+                continue;
+            }
+            try {
+                int n = Integer.parseInt(item.substring(eq + 1).trim());
+                if (n > 1) {
+                    everyN.put(item.substring(0, eq).trim(), n);
+                }
+            } catch (NumberFormatException e) {
+                addWarn("忽略无效的采样率配置: " + item);
+            }
+        }
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format,
+                              Object[] params, Throwable t) {
+        // isDebugEnabled() 之类的探测调用没有 format，不计数
+        if (marker == null || level == null || format == null || level.isGreaterOrEqual(Level.INFO)) {
+            return FilterReply.NEUTRAL;
+        }
+        // 本来就会被级别过滤掉的日志不参与计数
+        if (!level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+            return FilterReply.NEUTRAL;
+        }
+        Integer n = everyN.get(marker.getName());
+        if (n == null) {
+            return FilterReply.NEUTRAL;
+        }
+        long count = counters.computeIfAbsent(marker.getName(), k -> new AtomicLong()).getAndIncrement();
+        return count % n == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+}
@@ -0,0 +1,86 @@
+package org.example.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * 指令防刷屏配置
+ * 同时按发送者和会话（群/子频道）限流，两级都有令牌才执行指令；
+ * 轻量指令和重量级指令各用一个令牌桶
+ *
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "qq.command.flood")
+public class FloodControlConfig {
+
+    /**
+     * 是否启用防刷屏限流
+     */
+    private boolean enabled = true;
+
+    /**
+     * 单个用户的限额
+     */
+    private Limits user = new Limits(1, 5, 0.1, 2);
+
+    /**
+     * 单个群或子频道的限额
+     */
+    private Limits conversation = new Limits(5, 20, 0.5, 5);
+
+    /**
+     * 空闲多久后丢弃限流状态，应长于令牌桶补满所需的时间
+     */
+    private Duration idleExpiry = Duration.ofMinutes(10);
+
+    /**
+     * 最多保留的限流状态数（用户与会话合计）
+     */
+    private long maximumSize = 100_000;
+
+    /**
+     * 一级限额：轻量指令和重量级指令的速率与突发上限
+     */
+    @Getter
+    @Setter
+    public static class Limits {
+
+        /**
+         * 轻量指令每秒补充的令牌数
+         */
+        private double lightRatePerSecond;
+
+        /**
+         * 轻量指令允许的突发次数
+         */
+        private int lightBurst;
+
+        /**
+         * 重量级指令每秒补充的令牌数
+         */
+        private double heavyRatePerSecond;
+
+        /**
+         * 重量级指令允许的突发次数
+         */
+        private int heavyBurst;
+
+        public Limits() {
+        }
+
+        public Limits(double lightRatePerSecond, int lightBurst, double heavyRatePerSecond, int heavyBurst) {
+            this.lightRatePerSecond = lightRatePerSecond;
+            this.lightBurst = lightBurst;
+            this.heavyRatePerSecond = heavyRatePerSecond;
+            this.heavyBurst = heavyBurst;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package org.example.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * 主机状态采样配置
+ * 后台线程按固定间隔采集主机和 JVM 状态，/debug ping 直接读取最近的采样
+ *
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "qq.debug.sampler")
+public class HostSamplerConfig {
+
+    /**
+     * 采样间隔
+     */
+    private Duration interval = Duration.ofSeconds(10);
+
+    /**
+     * 保留的历史时长，决定环形缓冲区的容量（history / interval）
+     */
+    private Duration history = Duration.ofMinutes(60);
+}
@@ -0,0 +1,49 @@
+package org.example.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * 生成图片存储配置
+ * 指令生成的图片按内容哈希存放，内存中保留最近使用的部分，超出容量的写入本地目录，
+ * 通过 /images/{hash}.png 对外提供给 QQ 拉取
+ *
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "qq.image")
+public class ImageStoreConfig {
+
+    /**
+     * 对外访问地址（QQ 服务器能访问到的本服务地址），例如 https://bot.example.com；
+     * 为空时无法生成图片消息
+     */
+    private String publicBaseUrl = "";
+
+    /**
+     * 内存中保存的图片总字节数上限
+     */
+    private long memoryMaxBytes = 64L * 1024 * 1024;
+
+    /**
+     * 图片保存时写入的目录，重启后从这里读取
+     */
+    private String directory = "data/images";
+
+    /**
+     * 本地目录中图片总字节数上限，超过后删除最久未写入的文件
+     */
+    private long diskMaxBytes = 1024L * 1024 * 1024;
+
+    /**
+     * 浏览器和 QQ 媒体服务的缓存时长；内容按哈希寻址，同一地址的内容永远不变
+     */
+    private Duration maxAge = Duration.ofDays(365);
+}
@@ -0,0 +1,113 @@
+package org.example.config;
+
+import io.netty.channel.ChannelOption;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+/**
+ * 出站消息配置
+ * 发送队列容量、频道/机器人两级限流参数、突发消息合并上限，
+ * 以及调用QQ开放平台时共享的连接池
+ *
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "qq.outbound")
+public class OutboundSenderConfig {
+
+    /**
+     * 发送队列容量（所有频道合计），队列满时直接返回失败
+     */
+    private int queueCapacity = 2000;
+
+    /**
+     * 单个频道每秒可发送的消息数
+     */
+    private double channelRatePerSecond = 5;
+
+    /**
+     * 单个频道允许的突发消息数
+     */
+    private int channelBurst = 5;
+
+    /**
+     * 整个机器人每秒可发送的消息数
+     */
+    private double botRatePerSecond = 20;
+
+    /**
+     * 整个机器人允许的突发消息数
+     */
+    private int botBurst = 20;
+
+    /**
+     * 合并同一频道排队中的文本消息时，单条最多合并的消息数
+     */
+    private int coalesceMaxMessages = 10;
+
+    /**
+     * 合并后消息内容的最大字符数
+     */
+    private int coalesceMaxChars = 2000;
+
+    /**
+     * 连接池最大连接数
+     */
+    private int maxConnections = 64;
+
+    /**
+     * 等待空闲连接的最大请求数
+     */
+    private int pendingAcquireMaxCount = 1000;
+
+    /**
+     * 等待空闲连接的超时时间
+     */
+    private Duration pendingAcquireTimeout = Duration.ofSeconds(5);
+
+    /**
+     * 空闲连接保留时间，需短于服务端的 keep-alive 超时
+     */
+    private Duration maxIdleTime = Duration.ofSeconds(30);
+
+    /**
+     * 建立连接超时时间
+     */
+    private Duration connectTimeout = Duration.ofSeconds(3);
+
+    /**
+     * 响应超时时间
+     */
+    private Duration responseTimeout = Duration.ofSeconds(10);
+
+    /**
+     * 调用QQ开放平台的共享 WebClient，所有出站请求复用同一个连接池
+     */
+    @Bean(name = "qqOpenApiWebClient")
+    public WebClient qqOpenApiWebClient(WebClient.Builder builder) {
+        ConnectionProvider provider = ConnectionProvider.builder("qq-openapi")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .maxIdleTime(maxIdleTime)
+                .evictInBackground(maxIdleTime)
+                .build();
+        HttpClient httpClient = HttpClient.create(provider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(responseTimeout)
+                .compress(true);
+        return builder.clientConnector(new ReactorClientHttpConnector(httpClient)).build();
+    }
+}
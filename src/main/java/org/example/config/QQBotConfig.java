@@ -7,6 +7,8 @@ import lombok.ToString;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+
 /**
  * QQ机器人配置类
  * 
@@ -61,6 +63,17 @@ public class QQBotConfig {
      */
     private String encryptKey;
 
+    /**
+     * Webhook 重放窗口：签名时间戳与本机时间相差超过该值的请求会被拒绝，
+     * 窗口内重复出现的签名同样被拒绝
+     */
+    private Duration webhookReplayWindow = Duration.ofMinutes(5);
+
+    /**
+     * 重放窗口内最多记住的签名数
+     */
+    private long webhookReplayCacheSize = 100_000;
+
     /**
      * 自定义setSandbox方法，用于根据环境自动切换API地址
      */
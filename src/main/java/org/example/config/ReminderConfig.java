@@ -0,0 +1,58 @@
+package org.example.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * 定时消息配置
+ * /remind、/schedule 创建的定时消息放在分层时间轮中，由一个线程按 tick 推进；
+ * 启用 JPA 时同时保存到数据库，时间轮只加载即将到期的一段时间内的消息
+ *
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "qq.reminder")
+public class ReminderConfig {
+
+    /**
+     * 时间轮的精度，定时消息最多晚一个 tick 发出
+     */
+    private Duration tick = Duration.ofSeconds(1);
+
+    /**
+     * 每层时间轮的槽数，必须是 2 的幂
+     */
+    private int wheelSize = 512;
+
+    /**
+     * 每次从数据库加载多长时间内到期的定时消息，更晚的只保存在数据库中
+     */
+    private Duration preloadWindow = Duration.ofMinutes(10);
+
+    /**
+     * 最长可以定时多久
+     */
+    private Duration maxDelay = Duration.ofDays(365);
+
+    /**
+     * 每个用户最多同时存在的定时消息数
+     */
+    private int maxPerUser = 20;
+
+    /**
+     * 定时消息内容的最大字符数
+     */
+    private int maxContentLength = 500;
+
+    /**
+     * 解析 /schedule 时间使用的时区
+     */
+    private String zone = "Asia/Shanghai";
+}
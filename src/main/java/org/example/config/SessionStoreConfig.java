@@ -0,0 +1,73 @@
+package org.example.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * 会话存储配置
+ * 多轮指令和 AI 对话按用户 openid 或群/子频道保存上下文，内存中保留活跃会话，
+ * 可选地异步批量写入 MySQL，重启或淘汰后再按需加载
+ *
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "qq.session")
+public class SessionStoreConfig {
+
+    /**
+     * 内存中最多保留的会话数，超出时按 W-TinyLFU 淘汰
+     */
+    private long maximumSize = 10_000;
+
+    /**
+     * 会话空闲多久后从内存移除
+     */
+    private Duration idleExpiry = Duration.ofMinutes(30);
+
+    /**
+     * 每个会话保留的最近对话轮数
+     */
+    private int maxTurns = 20;
+
+    /**
+     * MySQL 持久化
+     */
+    private Persistence persistence = new Persistence();
+
+    @Getter
+    @Setter
+    public static class Persistence {
+
+        /**
+         * 是否把会话写入 MySQL；关闭时会话只保存在内存中
+         */
+        private boolean enabled = false;
+
+        /**
+         * 两次批量写入的间隔，也是进程崩溃时最多丢失的修改时长
+         */
+        private Duration flushInterval = Duration.ofSeconds(1);
+
+        /**
+         * 单个 JDBC 批次的最大行数
+         */
+        private int batchSize = 200;
+
+        /**
+         * 写入失败时最多保留等待重试的会话数，超出的修改丢弃
+         */
+        private int maxPending = 50_000;
+
+        /**
+         * 数据库中的会话超过多久未更新后删除
+         */
+        private Duration retention = Duration.ofDays(30);
+    }
+}
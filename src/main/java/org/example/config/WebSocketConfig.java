@@ -0,0 +1,46 @@
+package org.example.config;
+
+import org.example.controller.NodeBridgeWebSocketHandler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+import org.springframework.web.socket.server.standard.ServletServerContainerFactoryBean;
+
+/**
+ * WebSocket配置类
+ * 注册 Node.js 服务使用的长连接桥接端点
+ *
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+@Configuration
+@EnableWebSocket
+public class WebSocketConfig implements WebSocketConfigurer {
+
+    /**
+     * 单帧最大长度，需能容纳带附件信息的网关事件
+     */
+    private static final int MAX_TEXT_MESSAGE_BUFFER_SIZE = 1024 * 1024;
+
+    @Autowired
+    private NodeBridgeWebSocketHandler nodeBridgeWebSocketHandler;
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(nodeBridgeWebSocketHandler, "/qq/bridge")
+                .setAllowedOrigins("*");
+    }
+
+    /**
+     * WebSocket 容器参数
+     */
+    @Bean
+    public ServletServerContainerFactoryBean createWebSocketContainer() {
+        ServletServerContainerFactoryBean container = new ServletServerContainerFactoryBean();
+        container.setMaxTextMessageBufferSize(MAX_TEXT_MESSAGE_BUFFER_SIZE);
+        return container;
+    }
+}
@@ -0,0 +1,124 @@
+package org.example.controller;
+
+import org.example.broadcast.BroadcastService;
+import org.example.broadcast.BroadcastStatus;
+import org.example.config.BroadcastConfig;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 广播控制器
+ * 创建广播后立即返回，发送在后台进行，通过 GET 查询进度、速率和预计剩余时间
+ *
+ * 所有接口都要求 Authorization: Bearer {qq.broadcast.token}：令牌不匹配时返回 401，
+ * 未配置令牌时返回 403
+ *
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+@RestController
+@RequestMapping("/qq/broadcasts")
+public class BroadcastController {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    @Autowired
+    private BroadcastService broadcastService;
+
+    @Autowired
+    private BroadcastConfig broadcastConfig;
+
+    /**
+     * 在每个接口之前校验令牌
+     *
+     * @param authorization Authorization 请求头
+     */
+    @ModelAttribute
+    public void authorize(@RequestHeader(value = "Authorization", required = false) String authorization) {
+        String token = broadcastConfig.getToken();
+        if (token == null || token.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "未配置 qq.broadcast.token，广播接口已禁用");
+        }
+        if (authorization == null || !authorization.startsWith(BEARER_PREFIX)
+                || !MessageDigest.isEqual(token.getBytes(StandardCharsets.UTF_8),
+                authorization.substring(BEARER_PREFIX.length()).getBytes(StandardCharsets.UTF_8))) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "广播令牌无效");
+        }
+    }
+
+    /**
+     * 创建广播
+     *
+     * @param request {"content": "...", "msgType": "text", "targets": ["子频道ID", ...]}
+     * @return 202 与初始进度
+     */
+    @PostMapping
+    public CompletableFuture<ResponseEntity<Object>> create(@RequestBody BroadcastRequest request) {
+        try {
+            return broadcastService.submit(request.content(), request.msgType(), request.targets())
+                    .thenApply(status -> ResponseEntity.status(HttpStatus.ACCEPTED).body(status));
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.completedFuture(
+                    ResponseEntity.badRequest().body(Map.of("error", e.getMessage())));
+        }
+    }
+
+    /**
+     * @return 所有广播的进度
+     */
+    @GetMapping
+    public CompletableFuture<List<BroadcastStatus>> list() {
+        return broadcastService.list();
+    }
+
+    /**
+     * @param id 广播ID
+     * @return 进度，不存在时 404
+     */
+    @GetMapping("/{id}")
+    public CompletableFuture<ResponseEntity<BroadcastStatus>> status(@PathVariable String id) {
+        return broadcastService.status(id).thenApply(BroadcastController::okOrNotFound);
+    }
+
+    /**
+     * 取消广播
+     *
+     * @param id 广播ID
+     * @return 取消后的进度，不存在时 404
+     */
+    @DeleteMapping("/{id}")
+    public CompletableFuture<ResponseEntity<BroadcastStatus>> cancel(@PathVariable String id) {
+        return broadcastService.cancel(id).thenApply(BroadcastController::okOrNotFound);
+    }
+
+    private static ResponseEntity<BroadcastStatus> okOrNotFound(BroadcastStatus status) {
+        return status == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(status);
+    }
+
+    /**
+     * 创建广播请求
+     *
+     * @param content 消息内容
+     * @param msgType 消息类型，缺省为 text
+     * @param targets 子频道ID列表
+     */
+    public record BroadcastRequest(String content, String msgType, List<String> targets) {
+    }
+}
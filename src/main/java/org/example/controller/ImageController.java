@@ -0,0 +1,68 @@
+package org.example.controller;
+
+import org.example.config.ImageStoreConfig;
+import org.example.service.ImageStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 生成图片访问控制器
+ * 供 QQ 媒体服务拉取指令生成的图片，地址由 {@link ImageStore#urlFor(String)} 生成
+ *
+ * 图片按内容哈希寻址，ETag 即哈希本身：If-None-Match 匹配时不读取图片直接返回 304，
+ * Cache-Control 声明 immutable，同一地址在有效期内无需再次验证
+ *
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+@RestController
+@RequestMapping("/images")
+public class ImageController {
+
+    @Autowired
+    private ImageStore imageStore;
+
+    @Autowired
+    private ImageStoreConfig config;
+
+    /**
+     * 获取图片
+     *
+     * @param hash        图片哈希
+     * @param ifNoneMatch 客户端缓存的 ETag
+     * @return PNG 图片
+     */
+    @GetMapping("/{hash}.png")
+    public ResponseEntity<byte[]> image(@PathVariable String hash,
+                                        @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        if (!ImageStore.isValidHash(hash)) {
+            return ResponseEntity.notFound().build();
+        }
+        String etag = "\"" + hash + "\"";
+        CacheControl cacheControl = CacheControl.maxAge(config.getMaxAge()).cachePublic().immutable();
+
+        // 内容与地址一一对应，ETag 匹配即可确定客户端缓存有效，即使图片已被清理
+        if (ifNoneMatch != null && ifNoneMatch.contains(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+        }
+
+        byte[] png = imageStore.get(hash);
+        if (png == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.IMAGE_PNG)
+                .contentLength(png.length)
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .body(png);
+    }
+}
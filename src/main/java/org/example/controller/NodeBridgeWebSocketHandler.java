@@ -0,0 +1,167 @@
+package org.example.controller;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.event.EventDecoder;
+import org.example.event.NodeEnvelope;
+import org.example.service.QQBotService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Node.js 长连接桥接处理器
+ * Node.js 服务通过一条常驻 WebSocket 连接转发网关事件，替代每个事件一次 HTTP POST
+ *
+ * 帧格式（均为 JSON 文本帧）：
+ * 请求：{"id": 1, "type": "process", "eventType": "AT_MESSAGE_CREATE", "data": {...}}
+ * 通知：{"type": "notify", "eventType": "READY", "data": {...}}
+ * 响应：{"id": 1, "result": {...}} 或 {"id": 1, "error": "..."}
+ *
+ * 同一连接上可以同时有多个请求在处理，响应按完成顺序返回，由 id 关联
+ *
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+@Component
+public class NodeBridgeWebSocketHandler extends TextWebSocketHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(NodeBridgeWebSocketHandler.class);
+
+    /**
+     * 单次发送的最长阻塞时间
+     */
+    private static final int SEND_TIME_LIMIT_MILLIS = 10_000;
+
+    /**
+     * 发送缓冲上限，超过后关闭连接，由 Node.js 端重连
+     */
+    private static final int SEND_BUFFER_SIZE_LIMIT = 4 * 1024 * 1024;
+
+    @Autowired
+    private QQBotService qqBotService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    // 会话ID -> 线程安全的会话包装，异步完成的响应可能在任意线程写回
+    private final Map<String, WebSocketSession> sessions = new ConcurrentHashMap<>();
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) {
+        sessions.put(session.getId(), new ConcurrentWebSocketSessionDecorator(
+                session, SEND_TIME_LIMIT_MILLIS, SEND_BUFFER_SIZE_LIMIT));
+        log.info("Node.js 桥接连接已建立: {}", session.getRemoteAddress());
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) {
+        NodeEnvelope frame;
+        try {
+            frame = EventDecoder.decodeEnvelope(message.getPayload());
+        } catch (Exception e) {
+            // 只拒绝这一帧，异常抛出会导致 Spring 关闭连接，其他在途请求全部失败
+            Object id = peekId(message.getPayload());
+            log.warn("桥接帧格式错误: id={}, {}", id, e.getMessage());
+            reply(session, id, null, "帧格式错误: " + e.getMessage());
+            return;
+        }
+        Object id = frame.id();
+        String eventType = frame.event().eventType();
+
+        if (frame.isNotify()) {
+            // 记录事件日志，不需要响应
+            qqBotService.logEvent(frame.event());
+            return;
+        }
+
+        if (!NodeEnvelope.TYPE_PROCESS.equals(frame.type())) {
+            reply(session, id, null, "不支持的帧类型: " + frame.type());
+            return;
+        }
+
+        try {
+            qqBotService.processEventAsync(frame.event()).whenComplete((result, error) -> {
+                if (error != null) {
+                    log.error("桥接处理消息失败: {}", eventType, error);
+                    reply(session, id, null, "处理消息失败: " + error.getMessage());
+                } else {
+                    reply(session, id, result, null);
+                }
+            });
+        } catch (Exception e) {
+            log.error("桥接处理消息失败: {}", eventType, e);
+            reply(session, id, null, "处理消息失败: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void handleTransportError(WebSocketSession session, Throwable exception) {
+        log.warn("桥接连接传输错误: {}", exception.getMessage());
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        sessions.remove(session.getId());
+        log.info("Node.js 桥接连接已关闭: {}", status);
+    }
+
+    /**
+     * 从无法解码的帧中尽量取出顶层 id，使 Node.js 端能立即结束对应请求而不是等到超时
+     *
+     * @return 帧 id，取不到时返回null
+     */
+    private Object peekId(String payload) {
+        try (JsonParser p = objectMapper.getFactory().createParser(payload)) {
+            if (p.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                JsonToken value = p.nextToken();
+                if ("id".equals(field)) {
+                    if (value == JsonToken.VALUE_NUMBER_INT) {
+                        return p.getNumberValue();
+                    }
+                    return value == JsonToken.VALUE_STRING ? p.getText() : null;
+                }
+                p.skipChildren();
+            }
+        } catch (Exception ignored) {
+            // id 之前的内容就已经无法解析
+        }
+        return null;
+    }
+
+    /**
+     * 向 Node.js 写回响应帧
+     */
+    private void reply(WebSocketSession session, Object id, Map<String, Object> result, String error) {
+        WebSocketSession target = sessions.get(session.getId());
+        if (target == null || !target.isOpen()) {
+            return;
+        }
+        try {
+            Map<String, Object> frame = new HashMap<>();
+            frame.put("id", id);
+            if (error != null) {
+                frame.put("error", error);
+            } else {
+                frame.put("result", result);
+            }
+            target.sendMessage(new TextMessage(objectMapper.writeValueAsString(frame)));
+        } catch (Exception e) {
+            log.error("写回桥接响应失败: id={}", id, e);
+        }
+    }
+}
@@ -1,10 +1,17 @@
 package org.example.controller;
 
+import org.example.event.EventDecoder;
+import org.example.event.NodeEnvelope;
 import org.example.service.QQBotService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
 
+import java.io.IOException;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -18,55 +25,141 @@ import java.util.Map;
 @RequestMapping("/qq")
 @CrossOrigin(origins = "*")
 public class NodeCommunicationController {
+
+    private static final Logger log = LoggerFactory.getLogger(NodeCommunicationController.class);
+    
+    /**
+     * 异步处理的兜底超时，需略短于 Node.js 端 25 秒的请求超时
+     */
+    private static final long PROCESS_TIMEOUT_MILLIS = 24_000L;
+
+    /**
+     * 单次批量请求允许的最大事件数
+     */
+    private static final int MAX_BATCH_SIZE = 200;
     
     @Autowired
     private QQBotService qqBotService;
     
     /**
      * 处理来自Node.js的消息处理请求
+     * 指令在指令线程池中异步执行，请求线程立即释放
      * 
-     * @param request 消息处理请求
+     * @param body 消息处理请求 {"eventType": ..., "data": {...}, "retry": 是否为桥接失败后的重试}，按需流式解码
      * @return 处理结果，包括是否需要回复和回复内容
      */
     @PostMapping("/process-message")
-    public ResponseEntity<Map<String, Object>> processMessage(@RequestBody Map<String, Object> request) {
+    public DeferredResult<ResponseEntity<Map<String, Object>>> processMessage(@RequestBody String body) {
+        DeferredResult<ResponseEntity<Map<String, Object>>> deferred =
+                new DeferredResult<>(PROCESS_TIMEOUT_MILLIS, ResponseEntity.ok(Map.of(
+                        "shouldReply", false,
+                        "replyContent", "",
+                        "status", "PROCESS_TIMEOUT")));
+        NodeEnvelope envelope;
+        try {
+            envelope = EventDecoder.decodeEnvelope(body);
+        } catch (IOException e) {
+            deferred.setResult(badRequest(e));
+            return deferred;
+        }
         try {
-            String eventType = (String) request.get("eventType");
-            Map<String, Object> data = (Map<String, Object>) request.get("data");
-            
             // 根据事件类型处理消息
-            Map<String, Object> result = qqBotService.processMessageFromNode(eventType, data);
-            
-            return ResponseEntity.ok(result);
+            qqBotService.processEventAsync(envelope.event(), envelope.retry()).whenComplete((result, error) -> {
+                if (error != null) {
+                    log.error("处理Node.js消息失败", error);
+                    deferred.setResult(processFailure(error));
+                } else {
+                    deferred.setResult(ResponseEntity.ok(result));
+                }
+            });
             
         } catch (Exception e) {
-            e.printStackTrace();
-            return ResponseEntity.status(500).body(Map.of(
-                "error", "处理消息失败: " + e.getMessage(),
-                "shouldReply", false
-            ));
+            log.error("处理Node.js消息失败", e);
+            deferred.setResult(processFailure(e));
+        }
+        return deferred;
+    }
+
+    private static ResponseEntity<Map<String, Object>> badRequest(IOException e) {
+        return ResponseEntity.badRequest().body(Map.of(
+            "error", "无法解析事件: " + e.getMessage(),
+            "shouldReply", false
+        ));
+    }
+
+    private static ResponseEntity<Map<String, Object>> processFailure(Throwable e) {
+        return ResponseEntity.status(500).body(Map.of(
+            "error", "处理消息失败: " + e.getMessage(),
+            "shouldReply", false
+        ));
+    }
+    
+    /**
+     * 批量处理来自Node.js的事件
+     * 一次请求携带多个 {eventType, data} 信封，并发处理后按输入顺序返回回复决策；
+     * 信封的 type 为 notify 时只记录日志，等同于 /qq/event-notification
+     * 
+     * @param body 事件信封数组
+     * @return 与输入顺序对应的处理结果数组
+     */
+    @PostMapping("/process-messages")
+    public DeferredResult<ResponseEntity<?>> processMessages(@RequestBody String body) {
+        DeferredResult<ResponseEntity<?>> deferred =
+                new DeferredResult<>(PROCESS_TIMEOUT_MILLIS, ResponseEntity.status(503).body(Map.of(
+                        "error", "批量处理超时",
+                        "shouldReply", false)));
+
+        List<NodeEnvelope> envelopes;
+        try {
+            envelopes = EventDecoder.decodeEnvelopes(body);
+        } catch (IOException e) {
+            deferred.setResult(badRequest(e));
+            return deferred;
+        }
+
+        if (envelopes.size() > MAX_BATCH_SIZE) {
+            deferred.setResult(ResponseEntity.badRequest().body(Map.of(
+                    "error", "单批事件数不能超过 " + MAX_BATCH_SIZE,
+                    "shouldReply", false)));
+            return deferred;
+        }
+
+        try {
+            qqBotService.processEnvelopesAsync(envelopes).whenComplete((results, error) -> {
+                if (error != null) {
+                    log.error("批量处理Node.js事件失败", error);
+                    deferred.setResult(processFailure(error));
+                } else {
+                    deferred.setResult(ResponseEntity.ok(results));
+                }
+            });
+        } catch (Exception e) {
+            log.error("批量处理Node.js事件失败", e);
+            deferred.setResult(processFailure(e));
         }
+        return deferred;
     }
     
     /**
      * 接收来自Node.js的事件通知
      * 
-     * @param request 事件通知请求
+     * @param body 事件通知请求
      * @return 处理结果
      */
     @PostMapping("/event-notification")
-    public ResponseEntity<String> eventNotification(@RequestBody Map<String, Object> request) {
+    public ResponseEntity<String> eventNotification(@RequestBody String body) {
         try {
-            String eventType = (String) request.get("eventType");
-            Map<String, Object> data = (Map<String, Object>) request.get("data");
+            NodeEnvelope envelope = EventDecoder.decodeEnvelope(body);
             
             // 记录事件日志
-            qqBotService.logEvent(eventType, data);
+            qqBotService.logEvent(envelope.event());
             
             return ResponseEntity.ok("Event received");
             
+        } catch (IOException e) {
+            return ResponseEntity.badRequest().body("Invalid event: " + e.getMessage());
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("处理Node.js事件通知失败", e);
             return ResponseEntity.status(500).body("Event processing failed");
         }
     }
@@ -1,11 +1,15 @@
 package org.example.controller;
 
 import org.example.service.QQBotService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * QQ机器人消息处理控制器
@@ -18,6 +22,8 @@ import java.util.Map;
 @RequestMapping("/qq")
 @CrossOrigin(origins = "*")
 public class QQBotController {
+
+    private static final Logger log = LoggerFactory.getLogger(QQBotController.class);
     
     @Autowired
     private QQBotService qqBotService;
@@ -53,12 +59,13 @@ public class QQBotController {
                 return ResponseEntity.status(401).body("Invalid signature");
             }
             
-            // 处理消息
+            // 处理消息；回调地址验证（op 13）的响应是 JSON
             String result = qqBotService.handleMessage(payload);
-            return ResponseEntity.ok(result);
+            MediaType contentType = result.startsWith("{") ? MediaType.APPLICATION_JSON : MediaType.TEXT_PLAIN;
+            return ResponseEntity.ok().contentType(contentType).body(result);
             
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("处理Webhook回调失败", e);
             return ResponseEntity.status(500).body("Internal server error: " + e.getMessage());
         }
     }
@@ -70,27 +77,20 @@ public class QQBotController {
      * @return 发送结果
      */
     @PostMapping("/send-message")
-    public ResponseEntity<Map<String, Object>> sendMessage(@RequestBody Map<String, Object> request) {
-        try {
-            String channelId = (String) request.get("channelId");
-            String content = (String) request.get("content");
-            String msgType = (String) request.getOrDefault("msgType", "text");
-            
-            if (channelId == null || content == null) {
-                return ResponseEntity.badRequest().body(Map.of(
-                    "error", "Missing required parameters: channelId, content"
-                ));
-            }
-            
-            Map<String, Object> result = qqBotService.sendMessage(channelId, content, msgType);
-            return ResponseEntity.ok(result);
-            
-        } catch (Exception e) {
-            e.printStackTrace();
-            return ResponseEntity.status(500).body(Map.of(
-                "error", "Failed to send message: " + e.getMessage()
-            ));
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> sendMessage(@RequestBody Map<String, Object> request) {
+        String channelId = (String) request.get("channelId");
+        String content = (String) request.get("content");
+        String msgType = (String) request.getOrDefault("msgType", "text");
+
+        if (channelId == null || content == null) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(Map.of(
+                "error", "Missing required parameters: channelId, content"
+            )));
         }
+
+        // 发送在出站队列中异步完成，不占用请求线程
+        return qqBotService.sendMessageAsync(channelId, content, msgType)
+            .thenApply(ResponseEntity::ok);
     }
     
     /**
@@ -102,7 +102,7 @@ public class QQBotController {
             Map<String, Object> botInfo = qqBotService.getBotInfo();
             return ResponseEntity.ok(botInfo);
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("获取机器人信息失败", e);
             return ResponseEntity.status(500).body(Map.of(
                 "error", "Failed to get bot info: " + e.getMessage()
             ));
@@ -118,7 +118,7 @@ public class QQBotController {
             Map<String, Object> guilds = qqBotService.getGuilds();
             return ResponseEntity.ok(guilds);
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("获取频道列表失败", e);
             return ResponseEntity.status(500).body(Map.of(
                 "error", "Failed to get guilds: " + e.getMessage()
             ));
@@ -134,7 +134,7 @@ public class QQBotController {
             Map<String, Object> channels = qqBotService.getChannels(guildId);
             return ResponseEntity.ok(channels);
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("获取子频道列表失败", e);
             return ResponseEntity.status(500).body(Map.of(
                 "error", "Failed to get channels: " + e.getMessage()
             ));
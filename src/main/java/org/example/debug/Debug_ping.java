@@ -1,24 +1,32 @@
 package org.example.debug;
 
 
-import oshi.SystemInfo;
-import oshi.hardware.GlobalMemory;
-import oshi.hardware.HardwareAbstractionLayer;
-
 import java.lang.management.ManagementFactory;
 import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
 
 /*
  * 监控服务和主机状态。返回运行时间,主机内存,内存占用
+ * 数据来自 HostMetricsSampler 的后台采样，不在请求中创建 OSHI 对象
  */
 
 public class Debug_ping {
 
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final HostMetricsSampler sampler;
+
+    public Debug_ping(HostMetricsSampler sampler) {
+        this.sampler = sampler;
+    }
+
     public String UsePing() {
         LocalDateTime now = LocalDateTime.now();
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
         // 获取JVM启动到现在的运行毫秒数
         long uptimeMillis = ManagementFactory.getRuntimeMXBean().getUptime();
@@ -31,41 +39,91 @@ public class Debug_ping {
 
         String uptimeStr = String.format("%d天 %d小时 %d分钟 %d秒", days, hours, minutes, seconds);
 
-        // 使用 OSHI 获取主机物理内存（总内存和可用内存）
+        HostSample sample = sampler.latest();
+
         String memoryLine;
-        try {
-            SystemInfo si = new SystemInfo();
-            HardwareAbstractionLayer hal = si.getHardware();
-            GlobalMemory mem = hal.getMemory();
-            long totalMem = mem.getTotal();
-            long availMem = mem.getAvailable();
-            long usedMem = totalMem - availMem;
-
-            String totalStr = humanReadableBytes(totalMem);
-            String usedStr = humanReadableBytes(usedMem);
-            double percent = totalMem > 0 ? (usedMem * 100.0 / totalMem) : 0.0;
-
-            memoryLine = String.format("💾 主机内存：%s / %s (%.2f%%)", usedStr, totalStr, percent);
-        } catch (Throwable t) {
+        if (sample.hostMemoryLoad() >= 0) {
+            memoryLine = String.format("💾 主机内存：%s / %s (%.2f%%)", humanReadableBytes(sample.hostMemoryUsed()),
+                    humanReadableBytes(sample.hostMemoryTotal()), sample.hostMemoryLoad() * 100);
+        } else {
             // 如果 OSHI 在极端环境不可用，则退回到 JVM 内存信息
-            Runtime rt = Runtime.getRuntime();
-            long totalMem = rt.totalMemory();
-            long freeMem = rt.freeMemory();
-            long usedMem = totalMem - freeMem;
-            String totalStr = humanReadableBytes(totalMem);
-            String usedStr = humanReadableBytes(usedMem);
-            double percent = totalMem > 0 ? (usedMem * 100.0 / totalMem) : 0.0;
-            memoryLine = String.format("💾 JVM 内存（降级）：%s / %s (%.2f%%)", usedStr, totalStr, percent);
+            memoryLine = String.format("💾 JVM 内存（降级）：%s / %s", humanReadableBytes(sample.heapUsed()),
+                    humanReadableBytes(sample.heapMax()));
         }
 
-        return "🕐 当前服务器时间：" + now.format(formatter) + "\n" +
+        return "🕐 当前服务器时间：" + now.format(FORMATTER) + "\n" +
                 "📍 时区：UTC+8 (北京时间)" + "\n" +
                 "⏱️ 服务器已运行：" + uptimeStr + "\n" +
                 memoryLine + "\n" +
-                "📊 内存使用: " + (Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory()) / 1024 / 1024 + " MB";
+                "🖥️ CPU：主机 " + percent(sample.systemCpuLoad()) + "，本进程 " + percent(sample.processCpuLoad()) + "\n" +
+                "📊 内存使用: " + sample.heapUsed() / 1024 / 1024 + " MB / " + humanReadableBytes(sample.heapMax()) + "\n" +
+                "♻️ GC：" + sample.gcCount() + " 次，累计 " + sample.gcTimeMillis() + " ms" + "\n" +
+                "🧵 线程数：" + sample.threadCount() + "\n" +
+                "🕒 采样时间：" + format(sample.timestampMillis());
+    }
+
+    /**
+     * 最近 N 分钟的最小/平均/最大值
+     *
+     * @param minutes 统计的分钟数
+     */
+    public String UsePing(int minutes) {
+        List<HostSample> samples = sampler.samplesSince(System.currentTimeMillis() - minutes * 60_000L);
+        if (samples.isEmpty()) {
+            return "📭 最近 " + minutes + " 分钟还没有采样数据";
+        }
+        HostSample first = samples.get(0);
+        HostSample last = samples.get(samples.size() - 1);
+
+        return "📈 最近 " + minutes + " 分钟 最小 / 平均 / 最大\n" +
+                "（" + samples.size() + " 次采样，" + format(first.timestampMillis()) + " 起）\n" +
+                "🖥️ 主机CPU：" + stats(samples, HostSample::systemCpuLoad, true) + "\n" +
+                "⚙️ 进程CPU：" + stats(samples, HostSample::processCpuLoad, true) + "\n" +
+                "💾 主机内存：" + stats(samples, HostSample::hostMemoryLoad, true) + "\n" +
+                "📊 JVM堆：" + stats(samples, s -> s.heapUsed() / 1024.0 / 1024.0, false) + " MB\n" +
+                "🧵 线程数：" + stats(samples, HostSample::threadCount, false) + "\n" +
+                "♻️ GC：" + (last.gcCount() - first.gcCount()) + " 次，共 "
+                + (last.gcTimeMillis() - first.gcTimeMillis()) + " ms";
+    }
+
+    /**
+     * 计算一个指标的最小/平均/最大值，忽略无法获取（负数）的采样
+     */
+    private static String stats(List<HostSample> samples, ToDoubleFunction<HostSample> metric, boolean ratio) {
+        double min = Double.MAX_VALUE;
+        double max = -Double.MAX_VALUE;
+        double sum = 0;
+        int count = 0;
+        for (HostSample sample : samples) {
+            double value = metric.applyAsDouble(sample);
+            if (value < 0) {
+                continue;
+            }
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+            sum += value;
+            count++;
+        }
+        if (count == 0) {
+            return "不可用";
+        }
+        double avg = sum / count;
+        if (ratio) {
+            return String.format("%.1f%% / %.1f%% / %.1f%%", min * 100, avg * 100, max * 100);
+        }
+        return String.format("%.0f / %.1f / %.0f", min, avg, max);
+    }
+
+    private static String percent(double ratio) {
+        return ratio < 0 ? "不可用" : String.format("%.1f%%", ratio * 100);
+    }
+
+    private static String format(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault()).format(FORMATTER);
     }
 
     private String humanReadableBytes(long bytes) {
+        if (bytes < 0) return "不可用";
         if (bytes < 1024) return bytes + " B";
         double kb = bytes / 1024.0;
         if (kb < 1024) return String.format("%.2f KB", kb);
@@ -76,6 +134,3 @@ public class Debug_ping {
     }
 
 }
-
-
-
@@ -0,0 +1,175 @@
+package org.example.debug;
+
+import org.example.config.HostSamplerConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import oshi.SystemInfo;
+import oshi.hardware.GlobalMemory;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryUsage;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 主机状态采样器
+ * OSHI 和 MXBean 只在启动时获取一次，后台线程按固定间隔采样写入环形缓冲区：
+ * 读取最近一次采样是 O(1)，统计最近 N 分钟只遍历缓冲区
+ *
+ * 缓冲区只有采样线程写入；读取方从最新一条往前读，
+ * 并跳过下一次写入会覆盖的槽位，不需要加锁
+ *
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+@Component
+public class HostMetricsSampler {
+
+    private static final Logger log = LoggerFactory.getLogger(HostMetricsSampler.class);
+
+    private final HostSamplerConfig config;
+
+    private final HostSample[] ring;
+
+    // 已写入的采样总数，写入槽位为 written % ring.length
+    private volatile long written;
+
+    private volatile HostSample latest;
+
+    private final MemoryMXBean memoryBean = ManagementFactory.getMemoryMXBean();
+    private final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+    private final List<GarbageCollectorMXBean> gcBeans = ManagementFactory.getGarbageCollectorMXBeans();
+    private final com.sun.management.OperatingSystemMXBean osBean = operatingSystemBean();
+
+    // OSHI 不可用时为 null，主机内存记为 -1
+    private final GlobalMemory hostMemory = hostMemory();
+
+    private ScheduledExecutorService scheduler;
+
+    public HostMetricsSampler(HostSamplerConfig config) {
+        this.config = config;
+        long capacity = config.getHistory().toMillis() / Math.max(1, config.getInterval().toMillis());
+        this.ring = new HostSample[(int) Math.max(2, Math.min(capacity + 1, 100_000))];
+    }
+
+    @PostConstruct
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "host-metrics-sampler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = config.getInterval().toMillis();
+        scheduler.scheduleAtFixedRate(this::sampleSafely, 0, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * @return 最近一次采样；采样线程尚未运行时当场采样一次
+     */
+    public HostSample latest() {
+        HostSample sample = latest;
+        return sample != null ? sample : sample();
+    }
+
+    /**
+     * @return 环形缓冲区实际能覆盖的历史时长
+     */
+    public Duration history() {
+        return config.getInterval().multipliedBy(ring.length - 1);
+    }
+
+    /**
+     * 返回指定时间之后的采样，按时间从旧到新排列
+     *
+     * @param sinceMillis 起始时间（含）
+     * @return 采样列表，最多为缓冲区容量减一条
+     */
+    public List<HostSample> samplesSince(long sinceMillis) {
+        long end = written;
+        long start = Math.max(0, end - ring.length + 1);
+        List<HostSample> samples = new ArrayList<>();
+        for (long i = end - 1; i >= start; i--) {
+            HostSample sample = ring[(int) (i % ring.length)];
+            if (sample == null || sample.timestampMillis() < sinceMillis) {
+                break;
+            }
+            samples.add(sample);
+        }
+        Collections.reverse(samples);
+        return samples;
+    }
+
+    private void sampleSafely() {
+        try {
+            HostSample sample = sample();
+            long index = written;
+            ring[(int) (index % ring.length)] = sample;
+            latest = sample;
+            written = index + 1;
+        } catch (Throwable t) {
+            // 异常不能抛出，否则定时任务会被取消
+            log.warn("主机状态采样失败", t);
+        }
+    }
+
+    private HostSample sample() {
+        long memTotal = -1;
+        long memUsed = -1;
+        if (hostMemory != null) {
+            memTotal = hostMemory.getTotal();
+            memUsed = memTotal - hostMemory.getAvailable();
+        }
+
+        double systemCpu = -1;
+        double processCpu = -1;
+        if (osBean != null) {
+            systemCpu = osBean.getCpuLoad();
+            processCpu = osBean.getProcessCpuLoad();
+        }
+
+        MemoryUsage heap = memoryBean.getHeapMemoryUsage();
+
+        long gcCount = 0;
+        long gcTime = 0;
+        for (GarbageCollectorMXBean gc : gcBeans) {
+            gcCount += Math.max(0, gc.getCollectionCount());
+            gcTime += Math.max(0, gc.getCollectionTime());
+        }
+
+        return new HostSample(System.currentTimeMillis(), memTotal, memUsed, systemCpu, processCpu,
+                heap.getUsed(), heap.getMax(), gcCount, gcTime, threadBean.getThreadCount());
+    }
+
+    private static GlobalMemory hostMemory() {
+        try {
+            return new SystemInfo().getHardware().getMemory();
+        } catch (Throwable t) {
+            // OSHI 在极端环境（缺少本地库等）不可用时只采集 JVM 指标
+            log.warn("OSHI 不可用，主机内存将不再采集: {}", t.toString());
+            return null;
+        }
+    }
+
+    private static com.sun.management.OperatingSystemMXBean operatingSystemBean() {
+        java.lang.management.OperatingSystemMXBean bean = ManagementFactory.getOperatingSystemMXBean();
+        return bean instanceof com.sun.management.OperatingSystemMXBean os ? os : null;
+    }
+}
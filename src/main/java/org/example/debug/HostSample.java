@@ -0,0 +1,30 @@
+package org.example.debug;
+
+/**
+ * 一次主机与 JVM 状态采样
+ * 无法获取的指标记为 -1
+ *
+ * @param timestampMillis 采样时间
+ * @param hostMemoryTotal 主机物理内存总量（字节）
+ * @param hostMemoryUsed  主机已用物理内存（字节）
+ * @param systemCpuLoad   主机 CPU 使用率（0~1）
+ * @param processCpuLoad  本进程 CPU 使用率（0~1）
+ * @param heapUsed        JVM 堆已用（字节）
+ * @param heapMax         JVM 堆上限（字节）
+ * @param gcCount         启动以来的 GC 次数
+ * @param gcTimeMillis    启动以来的 GC 累计耗时
+ * @param threadCount     JVM 活动线程数
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+public record HostSample(long timestampMillis, long hostMemoryTotal, long hostMemoryUsed,
+                         double systemCpuLoad, double processCpuLoad, long heapUsed, long heapMax,
+                         long gcCount, long gcTimeMillis, int threadCount) {
+
+    /**
+     * @return 主机内存使用率（0~1），无法获取时为 -1
+     */
+    public double hostMemoryLoad() {
+        return hostMemoryTotal > 0 && hostMemoryUsed >= 0 ? (double) hostMemoryUsed / hostMemoryTotal : -1;
+    }
+}
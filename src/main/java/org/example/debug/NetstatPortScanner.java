@@ -0,0 +1,158 @@
+package org.example.debug;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntPredicate;
+
+/**
+ * 基于 netstat -ano 和 tasklist 的端口扫描（Windows）
+ * 在无法读取 /proc 的系统上作为后备；进程名和内存通过一次 tasklist 调用获取全部进程，
+ * 不再按 PID 逐个启动子进程
+ *
+ * 与 {@link ProcNetPortScanner} 相同，保留所有状态的套接字，只按本地端口过滤
+ *
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+public class NetstatPortScanner implements PortScanner {
+
+    @Override
+    public String name() {
+        return "netstat";
+    }
+
+    @Override
+    public PortScan scan(IntPredicate portFilter) throws IOException {
+        long start = System.nanoTime();
+
+        // 执行 netstat -ano 获取所有连接/监听信息
+        List<String[]> sockets;
+        Process netstat = Runtime.getRuntime().exec("netstat -ano");
+        // 使用平台默认编码（某些 Windows 环境可能是 CP936/GBK）
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(netstat.getInputStream(), Charset.defaultCharset()))) {
+            sockets = readSockets(reader, portFilter);
+        }
+
+        Map<Integer, String[]> processes = sockets.isEmpty() ? Map.of() : listProcesses();
+
+        List<PortBinding> bindings = new ArrayList<>(sockets.size());
+        for (String[] socket : sockets) {
+            int pid;
+            try {
+                pid = Integer.parseInt(socket[2]);
+            } catch (NumberFormatException e) {
+                pid = -1;
+            }
+            String[] process = processes.get(pid);
+            String name = process != null ? process[0] : PortBinding.UNKNOWN_PROCESS;
+            long rss = process != null ? Long.parseLong(process[1]) : -1;
+            bindings.add(new PortBinding(socket[0], Integer.parseInt(socket[1]), pid, name, rss));
+        }
+        return new PortScan(name(), bindings, System.nanoTime() - start);
+    }
+
+    /**
+     * 解析 netstat -ano 的输出，保留所有状态的 TCP 行（LISTENING、ESTABLISHED、TIME_WAIT 等）和所有 UDP 行
+     *
+     * @param reader     netstat 输出
+     * @param portFilter 只保留满足条件的本地端口
+     * @return [协议, 本地端口, PID]，按行顺序
+     */
+    static List<String[]> readSockets(BufferedReader reader, IntPredicate portFilter) throws IOException {
+        List<String[]> sockets = new ArrayList<>();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            line = line.trim();
+            // 仅处理以 TCP 或 UDP 开头的行
+            if (!(line.startsWith("TCP") || line.startsWith("UDP"))) continue;
+
+            String[] tokens = line.split("\\s+");
+            if (tokens.length < 2) continue;
+
+            int port = extractPort(tokens[1]);
+            if (port < 0 || !portFilter.test(port)) continue;
+
+            // PID 通常位于行尾
+            sockets.add(new String[]{tokens[0], String.valueOf(port), tokens[tokens.length - 1]});
+        }
+        return sockets;
+    }
+
+    /**
+     * 一次 tasklist 获取所有进程（CSV 输出："Image Name","PID","Session Name","Session#","Mem Usage"）
+     *
+     * @return PID -> [进程名, 内存字节数]
+     */
+    private static Map<Integer, String[]> listProcesses() throws IOException {
+        Map<Integer, String[]> processes = new HashMap<>();
+        Process tasklist = Runtime.getRuntime().exec(new String[]{"cmd.exe", "/c", "tasklist /FO CSV /NH"});
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(tasklist.getInputStream(), Charset.defaultCharset()))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                List<String> fields = parseCsv(line.trim());
+                if (fields.size() < 5) continue;
+                try {
+                    int pid = Integer.parseInt(fields.get(1));
+                    processes.put(pid, new String[]{
+                            fields.get(0).trim(), String.valueOf(parseMemoryKb(fields.get(fields.size() - 1)) * 1024)});
+                } catch (NumberFormatException ignored) {
+                }
+            }
+        }
+        return processes;
+    }
+
+    // 从本地地址字符串中提取端口号，失败返回 -1
+    private static int extractPort(String localAddress) {
+        // localAddress 示例：127.0.0.1:80、0.0.0.0:443、[::]:1234（IPv6 - 取最后一个冒号后的部分）
+        int idx = localAddress.lastIndexOf(':');
+        if (idx < 0) return -1;
+        String portStr = localAddress.substring(idx + 1);
+        // 某些条目可能显示 '*'，跳过它们
+        if (portStr.equals("*")) return -1;
+        try {
+            return Integer.parseInt(portStr);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    // 解析内存列，例如 "12,345 K" -> 12345
+    private static long parseMemoryKb(String memField) {
+        String digits = memField.replaceAll("[^0-9]", "");
+        return digits.isEmpty() ? 0L : Long.parseLong(digits);
+    }
+
+    // 逐个提取引号内字段
+    private static List<String> parseCsv(String csvLine) {
+        List<String> fields = new ArrayList<>();
+        int idx = 0;
+        while (idx < csvLine.length()) {
+            if (csvLine.charAt(idx) == '"') {
+                int next = csvLine.indexOf('"', idx + 1);
+                if (next < 0) break;
+                fields.add(csvLine.substring(idx + 1, next));
+                idx = next + 1;
+                // 跳过逗号
+                if (idx < csvLine.length() && csvLine.charAt(idx) == ',') idx++;
+            } else {
+                int next = csvLine.indexOf(',', idx);
+                if (next < 0) {
+                    fields.add(csvLine.substring(idx).trim());
+                    break;
+                }
+                fields.add(csvLine.substring(idx, next).trim());
+                idx = next + 1;
+            }
+        }
+        return fields;
+    }
+}
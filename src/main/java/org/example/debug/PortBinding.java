@@ -0,0 +1,17 @@
+package org.example.debug;
+
+/**
+ * 一个本地端口上的套接字及其所属进程
+ *
+ * @param protocol    协议：TCP 或 UDP（IPv4 与 IPv6 合并显示，与 netstat 一致）
+ * @param port        本地端口
+ * @param pid         所属进程ID，无法确定时为 -1
+ * @param processName 进程名，无法确定时为 "(unknown)"
+ * @param rssBytes    进程常驻内存（字节），无法确定时为 -1
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+public record PortBinding(String protocol, int port, int pid, String processName, long rssBytes) {
+
+    public static final String UNKNOWN_PROCESS = "(unknown)";
+}
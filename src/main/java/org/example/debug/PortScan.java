@@ -0,0 +1,74 @@
+package org.example.debug;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * 一次端口扫描的结果
+ *
+ * @param engine        扫描方式，如 /proc、netstat
+ * @param bindings      扫描到的端口绑定
+ * @param durationNanos 扫描耗时
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+public record PortScan(String engine, List<PortBinding> bindings, long durationNanos) {
+
+    /**
+     * 按 协议 + 端口 汇总，先按协议再按端口排序
+     *
+     * @return 每个端口一行，进程按 PID 排序、同名进程只出现一次
+     */
+    public List<PortUsage> byPort() {
+        List<PortBinding> sorted = new ArrayList<>(bindings);
+        sorted.sort(Comparator.comparing(PortBinding::protocol)
+                .thenComparingInt(PortBinding::port)
+                .thenComparingInt(PortBinding::pid));
+
+        Map<String, List<PortBinding>> groups = new LinkedHashMap<>();
+        for (PortBinding binding : sorted) {
+            groups.computeIfAbsent(binding.protocol() + ":" + binding.port(), k -> new ArrayList<>()).add(binding);
+        }
+
+        List<PortUsage> usages = new ArrayList<>(groups.size());
+        for (List<PortBinding> group : groups.values()) {
+            Set<Integer> pids = new TreeSet<>();
+            Set<String> names = new LinkedHashSet<>();
+            long rss = 0;
+            Set<Integer> counted = new HashSet<>();
+            for (PortBinding binding : group) {
+                if (binding.pid() >= 0) {
+                    pids.add(binding.pid());
+                }
+                names.add(binding.processName());
+                // 同一进程的多个套接字只计一次内存
+                if (binding.rssBytes() > 0 && (binding.pid() < 0 || counted.add(binding.pid()))) {
+                    rss += binding.rssBytes();
+                }
+            }
+            PortBinding first = group.get(0);
+            usages.add(new PortUsage(first.protocol(), first.port(),
+                    List.copyOf(pids), List.copyOf(names), rss));
+        }
+        return usages;
+    }
+
+    /**
+     * 单个端口的汇总
+     *
+     * @param protocol 协议
+     * @param port     端口
+     * @param pids     占用该端口的进程ID
+     * @param names    进程名（去重，保持 PID 顺序）
+     * @param rssBytes 这些进程的常驻内存合计
+     */
+    public record PortUsage(String protocol, int port, List<Integer> pids, List<String> names, long rssBytes) {
+    }
+}
@@ -0,0 +1,45 @@
+package org.example.debug;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.function.IntPredicate;
+
+/**
+ * 端口扫描引擎
+ * Linux 直接读取 /proc，一次扫描不启动子进程；其它系统退回 netstat + tasklist
+ *
+ * 两种引擎返回相同范围的套接字：所有 UDP 套接字和所有状态的 TCP 套接字（LISTEN、ESTABLISHED、
+ * TIME_WAIT 等，与 netstat -ano 的输出一致），只按本地端口过滤
+ *
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+public interface PortScanner {
+
+    /**
+     * @return 扫描方式名称，显示在结果中
+     */
+    String name();
+
+    /**
+     * 扫描本机端口占用，不按连接状态过滤
+     *
+     * @param portFilter 只返回满足条件的本地端口
+     * @return 扫描结果
+     * @throws IOException 读取系统信息失败
+     */
+    PortScan scan(IntPredicate portFilter) throws IOException;
+
+    /**
+     * 按当前操作系统选择扫描引擎：能读取 /proc/net/tcp 时使用 /proc，否则使用 netstat
+     *
+     * @return 扫描引擎
+     */
+    static PortScanner forCurrentOs() {
+        String os = System.getProperty("os.name", "").toLowerCase(Locale.ROOT);
+        if (os.contains("linux") && ProcNetPortScanner.isAvailable()) {
+            return new ProcNetPortScanner();
+        }
+        return new NetstatPortScanner();
+    }
+}
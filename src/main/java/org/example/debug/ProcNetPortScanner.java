@@ -0,0 +1,224 @@
+package org.example.debug;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntPredicate;
+
+/**
+ * 基于 /proc 的端口扫描（Linux）
+ * 一次扫描完成，不启动任何子进程：
+ * 1. 解析 /proc/net/tcp、tcp6、udp、udp6，得到 本地端口 -> 套接字 inode
+ * 2. 遍历 /proc/[pid]/fd 的符号链接 socket:[inode]，得到 inode -> PID，所有 inode 找到后提前结束
+ * 3. 从 /proc/[pid]/status 读取进程名（Name）和常驻内存（VmRSS）
+ *
+ * 与 netstat -ano 相同，TCP 统计所有状态的套接字（LISTEN、ESTABLISHED、TIME_WAIT 等），
+ * 只按本地端口过滤；没有权限读取的进程（其它用户的进程）和已不属于任何进程的连接（inode 为 0，
+ * 例如 TIME_WAIT）PID 记为未知
+ *
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+public class ProcNetPortScanner implements PortScanner {
+
+    private static final Path PROC = Paths.get("/proc");
+
+    private static final String SOCKET_LINK_PREFIX = "socket:[";
+
+    private static final String[][] TABLES = {
+            {"net/tcp", "TCP"}, {"net/tcp6", "TCP"}, {"net/udp", "UDP"}, {"net/udp6", "UDP"}};
+
+    static boolean isAvailable() {
+        return Files.isReadable(PROC.resolve("net/tcp"));
+    }
+
+    @Override
+    public String name() {
+        return "/proc";
+    }
+
+    @Override
+    public PortScan scan(IntPredicate portFilter) throws IOException {
+        long start = System.nanoTime();
+
+        List<Socket> sockets = new ArrayList<>();
+        for (String[] table : TABLES) {
+            Path path = PROC.resolve(table[0]);
+            if (!Files.isReadable(path)) {
+                // 内核未启用 IPv6 时没有 tcp6/udp6
+                continue;
+            }
+            try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.US_ASCII)) {
+                sockets.addAll(readTable(reader, table[1], portFilter));
+            }
+        }
+
+        Set<Long> inodes = new HashSet<>();
+        for (Socket socket : sockets) {
+            if (socket.inode() != 0) {
+                inodes.add(socket.inode());
+            }
+        }
+        Map<Long, Integer> inodeToPid = resolveOwners(inodes);
+
+        Map<Integer, ProcessStatus> statuses = new HashMap<>();
+        List<PortBinding> bindings = new ArrayList<>(sockets.size());
+        for (Socket socket : sockets) {
+            Integer pid = inodeToPid.get(socket.inode());
+            if (pid == null) {
+                bindings.add(new PortBinding(socket.protocol, socket.port, -1, PortBinding.UNKNOWN_PROCESS, -1));
+                continue;
+            }
+            ProcessStatus status = statuses.computeIfAbsent(pid, ProcNetPortScanner::readStatus);
+            bindings.add(new PortBinding(socket.protocol, socket.port, pid, status.name, status.rssBytes));
+        }
+        return new PortScan(name(), bindings, System.nanoTime() - start);
+    }
+
+    /**
+     * 解析一张 /proc/net 套接字表，保留所有状态的套接字
+     * 行格式：sl local_address rem_address st tx_queue:rx_queue tr:tm->when retrnsmt uid timeout inode ...
+     * local_address 为 十六进制地址:十六进制端口
+     *
+     * @param reader     表内容，第一行为表头
+     * @param protocol   协议名：TCP 或 UDP
+     * @param portFilter 只保留满足条件的本地端口
+     * @return 表中的套接字，按行顺序
+     */
+    static List<Socket> readTable(BufferedReader reader, String protocol, IntPredicate portFilter)
+            throws IOException {
+        List<Socket> sockets = new ArrayList<>();
+        reader.readLine(); // 表头
+        String line;
+        while ((line = reader.readLine()) != null) {
+            String[] fields = line.trim().split("\\s+");
+            if (fields.length < 10) {
+                continue;
+            }
+            String local = fields[1];
+            int colon = local.lastIndexOf(':');
+            if (colon < 0) {
+                continue;
+            }
+            int port;
+            long inode;
+            try {
+                port = Integer.parseInt(local.substring(colon + 1), 16);
+                inode = Long.parseLong(fields[9]);
+            } catch (NumberFormatException e) {
+                continue;
+            }
+            if (portFilter.test(port)) {
+                sockets.add(new Socket(protocol, port, inode));
+            }
+        }
+        return sockets;
+    }
+
+    /**
+     * 遍历所有进程的文件描述符，找到每个 inode 所属的进程
+     */
+    private static Map<Long, Integer> resolveOwners(Set<Long> inodes) throws IOException {
+        Map<Long, Integer> owners = new HashMap<>();
+        if (inodes.isEmpty()) {
+            return owners;
+        }
+        try (DirectoryStream<Path> processes = Files.newDirectoryStream(PROC, ProcNetPortScanner::isPidDirectory)) {
+            for (Path process : processes) {
+                int pid = Integer.parseInt(process.getFileName().toString());
+                try (DirectoryStream<Path> fds = Files.newDirectoryStream(process.resolve("fd"))) {
+                    for (Path fd : fds) {
+                        long inode = socketInode(fd);
+                        if (inode > 0 && inodes.contains(inode)) {
+                            owners.putIfAbsent(inode, pid);
+                        }
+                    }
+                } catch (IOException | SecurityException e) {
+                    // 进程已退出或没有权限，跳过
+                    continue;
+                }
+                if (owners.size() == inodes.size()) {
+                    break;
+                }
+            }
+        }
+        return owners;
+    }
+
+    private static boolean isPidDirectory(Path path) {
+        String name = path.getFileName().toString();
+        for (int i = 0; i < name.length(); i++) {
+            if (!Character.isDigit(name.charAt(i))) {
+                return false;
+            }
+        }
+        return !name.isEmpty();
+    }
+
+    /**
+     * @return 符号链接 socket:[inode] 中的 inode，不是套接字时返回 -1
+     */
+    private static long socketInode(Path fd) {
+        String target;
+        try {
+            target = Files.readSymbolicLink(fd).toString();
+        } catch (IOException | UnsupportedOperationException | SecurityException e) {
+            return -1;
+        }
+        if (!target.startsWith(SOCKET_LINK_PREFIX) || !target.endsWith("]")) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(target.substring(SOCKET_LINK_PREFIX.length(), target.length() - 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * 读取 /proc/[pid]/status 中的 Name 和 VmRSS（单位 kB）
+     */
+    private static ProcessStatus readStatus(int pid) {
+        String name = PortBinding.UNKNOWN_PROCESS;
+        long rss = -1;
+        try (BufferedReader reader = Files.newBufferedReader(PROC.resolve(pid + "/status"), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith("Name:")) {
+                    name = line.substring(5).trim();
+                } else if (line.startsWith("VmRSS:")) {
+                    String value = line.substring(6).trim();
+                    int space = value.indexOf(' ');
+                    rss = Long.parseLong(space > 0 ? value.substring(0, space) : value) * 1024;
+                    break;
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // 进程已退出，保留已读到的信息
+        }
+        return new ProcessStatus(name, rss);
+    }
+
+    /**
+     * /proc/net 表中的一个套接字
+     *
+     * @param protocol 协议
+     * @param port     本地端口
+     * @param inode    套接字 inode，不属于任何进程时为 0
+     */
+    record Socket(String protocol, int port, long inode) {
+    }
+
+    private record ProcessStatus(String name, long rssBytes) {
+    }
+}
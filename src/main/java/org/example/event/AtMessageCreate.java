@@ -0,0 +1,33 @@
+package org.example.event;
+
+/**
+ * 频道@机器人消息（AT_MESSAGE_CREATE）
+ *
+ * @param id        消息ID
+ * @param content   消息内容
+ * @param channelId 子频道ID
+ * @param guildId   频道ID
+ * @param authorId  发送者用户ID
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+public record AtMessageCreate(String id, String content, String channelId, String guildId, String authorId)
+        implements MessageEvent {
+
+    public static final String TYPE = "AT_MESSAGE_CREATE";
+
+    @Override
+    public String eventType() {
+        return TYPE;
+    }
+
+    @Override
+    public String senderId() {
+        return authorId;
+    }
+
+    @Override
+    public String conversationId() {
+        return channelId;
+    }
+}
@@ -0,0 +1,17 @@
+package org.example.event;
+
+/**
+ * 机器人事件
+ * 由 {@link EventDecoder} 从 Webhook 请求体或 Node.js 转发的事件中解码，只保留机器人用到的字段
+ *
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+public sealed interface BotEvent
+        permits MessageEvent, MessageCreate, Ready, CallbackValidation, UnknownEvent {
+
+    /**
+     * @return 事件类型，如 GROUP_AT_MESSAGE_CREATE
+     */
+    String eventType();
+}
@@ -0,0 +1,30 @@
+package org.example.event;
+
+/**
+ * 单聊消息（C2C_MESSAGE_CREATE）
+ *
+ * @param id         消息ID
+ * @param content    消息内容
+ * @param userOpenid 发送者 openid
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+public record C2CMessageCreate(String id, String content, String userOpenid) implements MessageEvent {
+
+    public static final String TYPE = "C2C_MESSAGE_CREATE";
+
+    @Override
+    public String eventType() {
+        return TYPE;
+    }
+
+    @Override
+    public String senderId() {
+        return userOpenid;
+    }
+
+    @Override
+    public String conversationId() {
+        return null;
+    }
+}
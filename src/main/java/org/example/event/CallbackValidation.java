@@ -0,0 +1,19 @@
+package org.example.event;
+
+/**
+ * Webhook 回调地址验证（op 13），没有事件类型字段
+ *
+ * @param plainToken 平台下发的 plain_token
+ * @param eventTs    平台下发的 event_ts
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+public record CallbackValidation(String plainToken, String eventTs) implements BotEvent {
+
+    public static final String TYPE = "CALLBACK_VALIDATION";
+
+    @Override
+    public String eventType() {
+        return TYPE;
+    }
+}
@@ -0,0 +1,376 @@
+package org.example.event;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 事件解码器
+ * 用 Jackson 流式解析直接把 JSON 解码为 {@link BotEvent}：只读取机器人用到的字段，
+ * 其余字段（附件、成员信息等）用 skipChildren 跳过，不构建中间 Map
+ *
+ * 如果事件数据出现在事件类型之前，数据部分会先缓存为 token 序列再解码
+ *
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+public final class EventDecoder {
+
+    /**
+     * Webhook 回调地址验证的操作码
+     */
+    public static final int OP_CALLBACK_VALIDATION = 13;
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private EventDecoder() {
+    }
+
+    /**
+     * 解码 Webhook 请求体 {"op": 0, "t": "...", "d": {...}}
+     *
+     * @param payload 请求体
+     * @return 事件；op 13 返回 {@link CallbackValidation}
+     * @throws IOException JSON 格式错误
+     */
+    public static BotEvent decodeWebhook(String payload) throws IOException {
+        try (JsonParser p = JSON_FACTORY.createParser(payload)) {
+            p.nextToken();
+            expectStartObject(p);
+            int op = -1;
+            String type = null;
+            BotEvent event = null;
+            TokenBuffer pendingData = null;
+
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                p.nextToken();
+                switch (field) {
+                    case "op":
+                        op = p.getValueAsInt(-1);
+                        break;
+                    case "t":
+                        type = p.getValueAsString();
+                        break;
+                    case "d":
+                        if (op >= 0 && (op == OP_CALLBACK_VALIDATION || type != null)) {
+                            event = decodeData(op == OP_CALLBACK_VALIDATION ? CallbackValidation.TYPE : type, p);
+                        } else {
+                            pendingData = bufferValue(p);
+                        }
+                        break;
+                    default:
+                        p.skipChildren();
+                        break;
+                }
+            }
+
+            String eventType = op == OP_CALLBACK_VALIDATION ? CallbackValidation.TYPE : type;
+            if (event == null && pendingData != null) {
+                try (JsonParser buffered = pendingData.asParser()) {
+                    buffered.nextToken();
+                    event = decodeData(eventType, buffered);
+                }
+            }
+            return event != null ? event : new UnknownEvent(eventType);
+        }
+    }
+
+    /**
+     * 解码单个 Node.js 事件信封
+     *
+     * @param json 信封 JSON
+     * @return 信封
+     * @throws IOException JSON 格式错误
+     */
+    public static NodeEnvelope decodeEnvelope(String json) throws IOException {
+        try (JsonParser p = JSON_FACTORY.createParser(json)) {
+            p.nextToken();
+            return readEnvelope(p);
+        }
+    }
+
+    /**
+     * 解码 Node.js 事件信封数组
+     *
+     * @param json 信封数组 JSON
+     * @return 信封列表，顺序与输入一致
+     * @throws IOException JSON 格式错误
+     */
+    public static List<NodeEnvelope> decodeEnvelopes(String json) throws IOException {
+        try (JsonParser p = JSON_FACTORY.createParser(json)) {
+            if (p.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException("事件信封列表必须是 JSON 数组");
+            }
+            List<NodeEnvelope> envelopes = new ArrayList<>();
+            while (p.nextToken() != JsonToken.END_ARRAY) {
+                envelopes.add(readEnvelope(p));
+            }
+            return envelopes;
+        }
+    }
+
+    /**
+     * 把已经解析为 Map 的事件数据转换为事件，供仍以 Map 传参的调用方使用
+     *
+     * @param eventType 事件类型
+     * @param data      事件数据
+     * @return 事件
+     */
+    @SuppressWarnings("unchecked")
+    public static BotEvent fromMap(String eventType, Map<String, Object> data) {
+        if (eventType == null || data == null) {
+            return new UnknownEvent(eventType);
+        }
+        Map<String, Object> author = data.get("author") instanceof Map
+                ? (Map<String, Object>) data.get("author") : Map.of();
+        switch (eventType) {
+            case AtMessageCreate.TYPE:
+                return new AtMessageCreate(str(data, "id"), str(data, "content"),
+                        str(data, "channel_id"), str(data, "guild_id"), str(author, "id"));
+            case GroupAtMessageCreate.TYPE:
+                return new GroupAtMessageCreate(str(data, "id"), str(data, "content"),
+                        str(data, "group_openid"), str(author, "member_openid"));
+            case C2CMessageCreate.TYPE:
+                return new C2CMessageCreate(str(data, "id"), str(data, "content"), str(author, "user_openid"));
+            case DirectMessageCreate.TYPE:
+                return new DirectMessageCreate(str(data, "id"), str(data, "content"),
+                        str(data, "channel_id"), str(data, "guild_id"), str(author, "id"));
+            case MessageCreate.TYPE:
+                return new MessageCreate(str(data, "id"), str(data, "content"),
+                        str(data, "channel_id"), str(data, "guild_id"), str(author, "id"));
+            case Ready.TYPE:
+                Map<String, Object> user = data.get("user") instanceof Map
+                        ? (Map<String, Object>) data.get("user") : Map.of();
+                return new Ready(str(data, "session_id"), str(user, "id"), str(user, "username"));
+            default:
+                return new UnknownEvent(eventType);
+        }
+    }
+
+    private static NodeEnvelope readEnvelope(JsonParser p) throws IOException {
+        expectStartObject(p);
+        Object id = null;
+        String type = NodeEnvelope.TYPE_PROCESS;
+        String eventType = null;
+        boolean retry = false;
+        BotEvent event = null;
+        TokenBuffer pendingData = null;
+
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            JsonToken token = p.nextToken();
+            switch (field) {
+                case "id":
+                    id = token == JsonToken.VALUE_NUMBER_INT ? p.getNumberValue() : p.getValueAsString();
+                    break;
+                case "type":
+                    type = p.getValueAsString(NodeEnvelope.TYPE_PROCESS);
+                    break;
+                case "eventType":
+                    eventType = p.getValueAsString();
+                    break;
+                case "retry":
+                    retry = p.getValueAsBoolean();
+                    break;
+                case "data":
+                    if (eventType != null) {
+                        event = decodeData(eventType, p);
+                    } else {
+                        pendingData = bufferValue(p);
+                    }
+                    break;
+                default:
+                    p.skipChildren();
+                    break;
+            }
+        }
+
+        if (event == null && pendingData != null) {
+            try (JsonParser buffered = pendingData.asParser()) {
+                buffered.nextToken();
+                event = decodeData(eventType, buffered);
+            }
+        }
+        return new NodeEnvelope(id, type, event != null ? event : new UnknownEvent(eventType), retry);
+    }
+
+    /**
+     * 从当前的 START_OBJECT 开始解码事件数据，结束时停在对应的 END_OBJECT
+     */
+    private static BotEvent decodeData(String eventType, JsonParser p) throws IOException {
+        if (p.currentToken() != JsonToken.START_OBJECT) {
+            p.skipChildren();
+            return null;
+        }
+        if (!isKnown(eventType)) {
+            p.skipChildren();
+            return new UnknownEvent(eventType);
+        }
+
+        Fields f = new Fields();
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            switch (field) {
+                case "id":
+                    f.id = text(p);
+                    break;
+                case "content":
+                    f.content = text(p);
+                    break;
+                case "channel_id":
+                    f.channelId = text(p);
+                    break;
+                case "guild_id":
+                    f.guildId = text(p);
+                    break;
+                case "group_openid":
+                    f.groupOpenid = text(p);
+                    break;
+                case "session_id":
+                    f.sessionId = text(p);
+                    break;
+                case "plain_token":
+                    f.plainToken = text(p);
+                    break;
+                case "event_ts":
+                    f.eventTs = text(p);
+                    break;
+                case "author":
+                case "user":
+                    readUser(p, f);
+                    break;
+                default:
+                    p.skipChildren();
+                    break;
+            }
+        }
+
+        switch (eventType) {
+            case AtMessageCreate.TYPE:
+                return new AtMessageCreate(f.id, f.content, f.channelId, f.guildId, f.userId);
+            case GroupAtMessageCreate.TYPE:
+                return new GroupAtMessageCreate(f.id, f.content, f.groupOpenid, f.memberOpenid);
+            case C2CMessageCreate.TYPE:
+                return new C2CMessageCreate(f.id, f.content, f.userOpenid);
+            case DirectMessageCreate.TYPE:
+                return new DirectMessageCreate(f.id, f.content, f.channelId, f.guildId, f.userId);
+            case MessageCreate.TYPE:
+                return new MessageCreate(f.id, f.content, f.channelId, f.guildId, f.userId);
+            case Ready.TYPE:
+                return new Ready(f.sessionId, f.userId, f.username);
+            default:
+                return new CallbackValidation(f.plainToken, f.eventTs);
+        }
+    }
+
+    /**
+     * 把从当前 token 开始的整个值缓存为 token 序列，结束时停在值的最后一个 token
+     * 解码不经过 ObjectMapper，没有 DeserializationContext 可传
+     */
+    private static TokenBuffer bufferValue(JsonParser p) throws IOException {
+        TokenBuffer buffer = new TokenBuffer(p, null);
+        buffer.copyCurrentStructure(p);
+        return buffer;
+    }
+
+    /**
+     * 读取 author / user 对象中的用户标识
+     */
+    private static void readUser(JsonParser p, Fields f) throws IOException {
+        if (p.currentToken() != JsonToken.START_OBJECT) {
+            p.skipChildren();
+            return;
+        }
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            switch (field) {
+                case "id":
+                    f.userId = text(p);
+                    break;
+                case "username":
+                    f.username = text(p);
+                    break;
+                case "user_openid":
+                    f.userOpenid = text(p);
+                    break;
+                case "member_openid":
+                    f.memberOpenid = text(p);
+                    break;
+                default:
+                    p.skipChildren();
+                    break;
+            }
+        }
+    }
+
+    private static boolean isKnown(String eventType) {
+        if (eventType == null) {
+            return false;
+        }
+        switch (eventType) {
+            case AtMessageCreate.TYPE:
+            case GroupAtMessageCreate.TYPE:
+            case C2CMessageCreate.TYPE:
+            case DirectMessageCreate.TYPE:
+            case MessageCreate.TYPE:
+            case Ready.TYPE:
+            case CallbackValidation.TYPE:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * 读取标量字段，遇到对象或数组时跳过并返回 null
+     */
+    private static String text(JsonParser p) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.VALUE_STRING) {
+            return p.getText();
+        }
+        if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+            p.skipChildren();
+            return null;
+        }
+        return p.getValueAsString();
+    }
+
+    private static void expectStartObject(JsonParser p) throws IOException {
+        if (p.currentToken() != JsonToken.START_OBJECT) {
+            throw new IOException("事件必须是 JSON 对象");
+        }
+    }
+
+    private static String str(Map<String, Object> map, String key) {
+        Object value = map.get(key);
+        return value == null ? null : value.toString();
+    }
+
+    /**
+     * 解码过程中的字段暂存
+     */
+    private static final class Fields {
+        private String id;
+        private String content;
+        private String channelId;
+        private String guildId;
+        private String groupOpenid;
+        private String sessionId;
+        private String plainToken;
+        private String eventTs;
+        private String userId;
+        private String username;
+        private String userOpenid;
+        private String memberOpenid;
+    }
+}
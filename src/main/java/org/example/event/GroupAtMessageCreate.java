@@ -0,0 +1,32 @@
+package org.example.event;
+
+/**
+ * 群聊@机器人消息（GROUP_AT_MESSAGE_CREATE）
+ *
+ * @param id           消息ID
+ * @param content      消息内容
+ * @param groupOpenid  群 openid
+ * @param memberOpenid 发送者在群内的 openid
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+public record GroupAtMessageCreate(String id, String content, String groupOpenid, String memberOpenid)
+        implements MessageEvent {
+
+    public static final String TYPE = "GROUP_AT_MESSAGE_CREATE";
+
+    @Override
+    public String eventType() {
+        return TYPE;
+    }
+
+    @Override
+    public String senderId() {
+        return memberOpenid;
+    }
+
+    @Override
+    public String conversationId() {
+        return groupOpenid;
+    }
+}
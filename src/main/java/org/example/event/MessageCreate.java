@@ -0,0 +1,24 @@
+package org.example.event;
+
+/**
+ * 频道普通消息（MESSAGE_CREATE，仅私域机器人会收到）
+ * 机器人不对普通消息执行指令，只记录日志和审计，因此不属于 {@link MessageEvent}
+ *
+ * @param id        消息ID
+ * @param content   消息内容
+ * @param channelId 子频道ID
+ * @param guildId   频道ID
+ * @param authorId  发送者用户ID
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+public record MessageCreate(String id, String content, String channelId, String guildId, String authorId)
+        implements BotEvent {
+
+    public static final String TYPE = "MESSAGE_CREATE";
+
+    @Override
+    public String eventType() {
+        return TYPE;
+    }
+}
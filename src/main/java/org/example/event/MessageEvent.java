@@ -0,0 +1,31 @@
+package org.example.event;
+
+/**
+ * 用户消息事件，都带有平台分配的消息ID和消息内容
+ *
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+public sealed interface MessageEvent extends BotEvent
+        permits AtMessageCreate, GroupAtMessageCreate, C2CMessageCreate, DirectMessageCreate {
+
+    /**
+     * @return 消息ID，网关重连或 Webhook 重试时同一条消息的ID不变
+     */
+    String id();
+
+    /**
+     * @return 消息内容
+     */
+    String content();
+
+    /**
+     * @return 发送者标识：频道消息为用户ID，群聊和单聊为 openid
+     */
+    String senderId();
+
+    /**
+     * @return 会话标识：群 openid 或子频道ID；单聊没有会话，返回 null
+     */
+    String conversationId();
+}
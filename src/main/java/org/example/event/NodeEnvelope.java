@@ -0,0 +1,26 @@
+package org.example.event;
+
+/**
+ * Node.js 转发的事件信封
+ * HTTP 格式：{"eventType": ..., "data": {...}, "timestamp": ..., "retry": true}
+ * 桥接/批量格式：{"id": 1, "type": "process"|"notify", "eventType": ..., "data": {...}}
+ *
+ * @param id    桥接请求ID，HTTP 请求中为 null
+ * @param type  process 或 notify，缺省为 process
+ * @param event 解码后的事件
+ * @param retry 是否为桥接请求失败后改走 HTTP 的重试，缺省为 false
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+public record NodeEnvelope(Object id, String type, BotEvent event, boolean retry) {
+
+    public static final String TYPE_PROCESS = "process";
+    public static final String TYPE_NOTIFY = "notify";
+
+    /**
+     * @return 是否只需要记录日志
+     */
+    public boolean isNotify() {
+        return TYPE_NOTIFY.equals(type);
+    }
+}
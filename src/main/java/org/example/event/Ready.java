@@ -0,0 +1,20 @@
+package org.example.event;
+
+/**
+ * 连接就绪事件（READY）
+ *
+ * @param sessionId 会话ID
+ * @param userId    机器人用户ID
+ * @param username  机器人名称
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+public record Ready(String sessionId, String userId, String username) implements BotEvent {
+
+    public static final String TYPE = "READY";
+
+    @Override
+    public String eventType() {
+        return TYPE;
+    }
+}
@@ -0,0 +1,11 @@
+package org.example.event;
+
+/**
+ * 机器人不处理的事件，只保留事件类型
+ *
+ * @param eventType 事件类型，可能为 null
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+public record UnknownEvent(String eventType) implements BotEvent {
+}
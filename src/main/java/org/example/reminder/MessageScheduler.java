@@ -0,0 +1,324 @@
+package org.example.reminder;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.example.config.ReminderConfig;
+import org.example.service.QQBotService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 定时消息调度器
+ * 所有定时消息共用一个 {@link TimingWheel}，由 reminder-wheel 线程每个 tick 推进一次，
+ * 不为每条消息创建调度任务；到期的消息通过 {@link QQBotService#sendMessageAsync} 进入出站队列
+ *
+ * 启用 JPA 时：
+ * 1. 新消息先保存到数据库，只有在已加载时间段内到期的才放入时间轮
+ * 2. reminder-io 线程每隔半个 preload-window 按 ID 分页加载下一个时间段内到期的消息，
+ *    启动时第一次加载同时取回停机期间错过的消息并立即发送
+ * 3. 发送后删除数据库中的记录；删除完成前消息 ID 留在已发送集合中，加载线程跳过这些消息；
+ *    发送与删除之间进程退出时，重启后会再发送一次
+ * 没有数据源时只保存在内存中，重启后丢失
+ *
+ * 指标：qq.reminder.pending 已加载等待发送的消息数，qq.reminder.fired{result} 已发送的消息数
+ *
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+@Service
+public class MessageScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(MessageScheduler.class);
+
+    private static final String MSG_TYPE = "text";
+
+    private static final int PAGE_SIZE = 1000;
+
+    private final ReminderConfig config;
+    private final QQBotService qqBotService;
+
+    // 没有数据源时为 null
+    private final ScheduledMessageRepository repository;
+
+    // 只由 reminder-wheel 线程访问
+    private final TimingWheel<ScheduledMessage> wheel;
+
+    // 其它线程添加的定时器，下一个 tick 放入时间轮
+    private final Queue<TimingWheel.Timeout<ScheduledMessage>> incoming = new ConcurrentLinkedQueue<>();
+
+    // 已加载、尚未发送的定时器，按消息 ID 去重和取消
+    private final Map<Long, TimingWheel.Timeout<ScheduledMessage>> active = new ConcurrentHashMap<>();
+
+    // 已发送、数据库记录尚未删除的消息 ID，加载线程不再放入时间轮
+    private final Set<Long> fired = ConcurrentHashMap.newKeySet();
+
+    // 没有数据源时分配消息 ID
+    private final AtomicLong localIds = new AtomicLong();
+
+    // 在此之前到期的消息由加载线程负责放入时间轮；新消息到期更早时由创建方直接放入
+    private volatile long loadingUntil;
+
+    // 只由 reminder-io 线程访问
+    private long loadedUntil;
+
+    private final ScheduledExecutorService wheelThread;
+    private final ScheduledExecutorService ioThread;
+
+    private final Counter sent;
+    private final Counter failed;
+
+    public MessageScheduler(ReminderConfig config, @Lazy QQBotService qqBotService,
+                            ObjectProvider<ScheduledMessageRepository> repository, MeterRegistry registry) {
+        this.config = config;
+        this.qqBotService = qqBotService;
+        this.repository = repository.getIfAvailable();
+        long tickMillis = config.getTick().toMillis();
+        this.wheel = new TimingWheel<>(tickMillis, config.getWheelSize(), System.currentTimeMillis());
+        this.loadingUntil = this.repository == null ? Long.MAX_VALUE : 0;
+
+        Gauge.builder("qq.reminder.pending", active, Map::size)
+                .description("已加载等待发送的定时消息数")
+                .register(registry);
+        this.sent = firedCounter(registry, "success");
+        this.failed = firedCounter(registry, "failure");
+
+        this.wheelThread = Executors.newSingleThreadScheduledExecutor(r -> daemon(r, "reminder-wheel"));
+        this.wheelThread.scheduleAtFixedRate(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+        this.ioThread = Executors.newSingleThreadScheduledExecutor(r -> daemon(r, "reminder-io"));
+        if (this.repository != null) {
+            long reloadMillis = Math.max(tickMillis, config.getPreloadWindow().toMillis() / 2);
+            this.ioThread.scheduleWithFixedDelay(this::loadNextWindow, 0, reloadMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * 创建定时消息
+     *
+     * @param channelId 发送到的子频道ID
+     * @param creatorId 创建者用户ID
+     * @param content   发送的内容
+     * @param dueAt     到期时间戳（毫秒）
+     * @return 已保存的定时消息
+     */
+    public ScheduledMessage schedule(String channelId, String creatorId, String content, long dueAt) {
+        ScheduledMessage message = new ScheduledMessage(channelId, creatorId, content, dueAt);
+        if (repository != null) {
+            message = repository.save(message);
+        } else {
+            message.setId(localIds.incrementAndGet());
+        }
+        // 先保存再读取 loadingUntil：读到旧值时，加载线程随后的查询一定能看到这条消息
+        if (dueAt < loadingUntil) {
+            enqueue(message);
+        }
+        return message;
+    }
+
+    /**
+     * 取消定时消息
+     *
+     * @param id        消息ID
+     * @param creatorId 创建者用户ID，只能取消自己创建的消息
+     * @return 是否已取消；已经发送的消息返回 false
+     */
+    public boolean cancel(long id, String creatorId) {
+        if (fired.contains(id)) {
+            // 已发送，数据库记录由发送后的删除清理
+            return false;
+        }
+        boolean cancelled = false;
+        TimingWheel.Timeout<ScheduledMessage> timeout = active.get(id);
+        if (timeout != null && timeout.task().getCreatorId().equals(creatorId) && active.remove(id, timeout)) {
+            timeout.cancel();
+            cancelled = true;
+        }
+        if (!cancelled && fired.contains(id)) {
+            // 检查之后刚好到期发送：fire 先记入已发送集合再移出 active
+            return false;
+        }
+        if (repository != null) {
+            ScheduledMessage stored = repository.findById(id).orElse(null);
+            if (stored != null && stored.getCreatorId().equals(creatorId)) {
+                repository.deleteById(id);
+                cancelled = true;
+            }
+        }
+        return cancelled;
+    }
+
+    /**
+     * @param creatorId 创建者用户ID
+     * @return 该用户最早到期的 10 条定时消息
+     */
+    public List<ScheduledMessage> list(String creatorId) {
+        if (repository != null) {
+            return repository.findTop10ByCreatorIdOrderByDueAtAsc(creatorId);
+        }
+        return active.values().stream()
+                .map(TimingWheel.Timeout::task)
+                .filter(message -> message.getCreatorId().equals(creatorId))
+                .sorted(Comparator.comparingLong(ScheduledMessage::getDueAt))
+                .limit(10)
+                .toList();
+    }
+
+    /**
+     * @param creatorId 创建者用户ID
+     * @return 该用户尚未发送的定时消息数
+     */
+    public long pendingCount(String creatorId) {
+        if (repository != null) {
+            return repository.countByCreatorId(creatorId);
+        }
+        return active.values().stream()
+                .filter(timeout -> timeout.task().getCreatorId().equals(creatorId))
+                .count();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        wheelThread.shutdownNow();
+        ioThread.shutdown();
+        try {
+            ioThread.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void enqueue(ScheduledMessage message) {
+        long id = message.getId();
+        if (fired.contains(id)) {
+            return;
+        }
+        TimingWheel.Timeout<ScheduledMessage> timeout = new TimingWheel.Timeout<>(message, message.getDueAt());
+        if (active.putIfAbsent(id, timeout) != null) {
+            return;
+        }
+        // fire 先记入已发送集合再移出 active：放入成功后再检查一次，不会与刚发送的消息重复
+        if (fired.contains(id)) {
+            active.remove(id, timeout);
+            return;
+        }
+        incoming.add(timeout);
+    }
+
+    /**
+     * reminder-wheel 线程：放入新定时器后推进到当前时间
+     */
+    private void tick() {
+        try {
+            TimingWheel.Timeout<ScheduledMessage> timeout;
+            while ((timeout = incoming.poll()) != null) {
+                if (!timeout.isCancelled() && !wheel.add(timeout)) {
+                    fire(timeout);
+                }
+            }
+            wheel.advanceTo(System.currentTimeMillis(), this::fire);
+        } catch (RuntimeException e) {
+            // 异常会终止周期任务，记录后继续
+            log.error("推进定时消息时间轮失败", e);
+        }
+    }
+
+    private void fire(TimingWheel.Timeout<ScheduledMessage> timeout) {
+        ScheduledMessage message = timeout.task();
+        if (repository != null) {
+            fired.add(message.getId());
+        }
+        if (!active.remove(message.getId(), timeout)) {
+            // 已被取消
+            fired.remove(message.getId());
+            return;
+        }
+        qqBotService.sendMessageAsync(message.getChannelId(), message.getContent(), MSG_TYPE)
+                .whenComplete((result, error) -> {
+                    if (error == null && Boolean.TRUE.equals(result.get("success"))) {
+                        sent.increment();
+                    } else {
+                        failed.increment();
+                        log.warn("定时消息发送失败: id={}, channelId={}", message.getId(), message.getChannelId());
+                    }
+                    if (repository != null) {
+                        ioThread.execute(() -> delete(message.getId()));
+                    }
+                });
+    }
+
+    /**
+     * reminder-io 线程：加载 [loadedUntil, now + preload-window) 内到期的消息
+     */
+    private void loadNextWindow() {
+        long until = System.currentTimeMillis() + config.getPreloadWindow().toMillis();
+        if (until <= loadedUntil) {
+            return;
+        }
+        // 先公布新的边界再查询，之后创建的消息由创建方放入时间轮
+        loadingUntil = until;
+        try {
+            int loaded = 0;
+            long afterId = 0;
+            List<ScheduledMessage> page;
+            do {
+                page = repository.findByDueAtGreaterThanEqualAndDueAtLessThanAndIdGreaterThanOrderByIdAsc(
+                        loadedUntil, until, afterId, Pageable.ofSize(PAGE_SIZE));
+                for (ScheduledMessage message : page) {
+                    enqueue(message);
+                    afterId = message.getId();
+                }
+                loaded += page.size();
+            } while (page.size() == PAGE_SIZE);
+            loadedUntil = until;
+            if (loaded > 0) {
+                log.info("已加载 {} 条定时消息", loaded);
+            }
+        } catch (RuntimeException e) {
+            // 下次加载从同一边界重试，已加载的消息按 ID 去重
+            log.warn("加载定时消息失败: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * reminder-io 线程：删除已发送的消息，与加载在同一线程，删除完成后加载线程不会再读到这条记录
+     * 删除失败时保留在已发送集合中，本进程内不再发送
+     */
+    private void delete(long id) {
+        try {
+            repository.deleteById(id);
+            fired.remove(id);
+        } catch (RuntimeException e) {
+            log.warn("删除已发送的定时消息失败: id={}, error={}", id, e.getMessage());
+        }
+    }
+
+    private static Thread daemon(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    private static Counter firedCounter(MeterRegistry registry, String result) {
+        return Counter.builder("qq.reminder.fired")
+                .description("已发送的定时消息数")
+                .tag("result", result)
+                .register(registry);
+    }
+}
@@ -0,0 +1,71 @@
+package org.example.reminder;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 定时消息
+ * 到期时发送到子频道；启用 JPA 时保存在 scheduled_message 表，发送后删除
+ *
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "scheduled_message", indexes = {
+        @Index(name = "idx_scheduled_message_due_at", columnList = "dueAt"),
+        @Index(name = "idx_scheduled_message_creator_id", columnList = "creatorId")})
+public class ScheduledMessage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * 发送到的子频道ID
+     */
+    @Column(nullable = false, length = 64)
+    private String channelId;
+
+    /**
+     * 创建者用户ID
+     */
+    @Column(nullable = false, length = 128)
+    private String creatorId;
+
+    /**
+     * 发送的内容
+     */
+    @Column(nullable = false, length = 2000)
+    private String content;
+
+    /**
+     * 到期时间戳（毫秒）
+     */
+    @Column(nullable = false)
+    private long dueAt;
+
+    /**
+     * 创建时间戳（毫秒）
+     */
+    @Column(nullable = false)
+    private long createdAt;
+
+    public ScheduledMessage(String channelId, String creatorId, String content, long dueAt) {
+        this.channelId = channelId;
+        this.creatorId = creatorId;
+        this.content = content;
+        this.dueAt = dueAt;
+        this.createdAt = System.currentTimeMillis();
+    }
+}
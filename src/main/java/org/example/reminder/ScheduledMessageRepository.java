@@ -0,0 +1,39 @@
+package org.example.reminder;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+/**
+ * 定时消息仓库
+ *
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+public interface ScheduledMessageRepository extends JpaRepository<ScheduledMessage, Long> {
+
+    /**
+     * 按 ID 分页加载一个时间段内到期的定时消息；以上一页最后的 ID 作为起点，加载期间有消息被删除也不会漏读
+     *
+     * @param from     到期时间下限（包含）
+     * @param to       到期时间上限（不包含）
+     * @param afterId  上一页最后的 ID
+     * @param pageable 每页条数
+     * @return 按 ID 升序排列的定时消息
+     */
+    List<ScheduledMessage> findByDueAtGreaterThanEqualAndDueAtLessThanAndIdGreaterThanOrderByIdAsc(
+            long from, long to, long afterId, Pageable pageable);
+
+    /**
+     * @param creatorId 创建者用户ID
+     * @return 该用户尚未发送的定时消息数
+     */
+    long countByCreatorId(String creatorId);
+
+    /**
+     * @param creatorId 创建者用户ID
+     * @return 该用户最早到期的 10 条定时消息
+     */
+    List<ScheduledMessage> findTop10ByCreatorIdOrderByDueAtAsc(String creatorId);
+}
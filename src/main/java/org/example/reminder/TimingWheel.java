@@ -0,0 +1,210 @@
+package org.example.reminder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 分层哈希时间轮
+ * 到期时间换算成 tick 序号后按位分组：第 L 层使用第 L 组位作为槽下标，
+ * 定时器放在与当前 tick 最高不同位组所在的层；当前 tick 进入该槽时再把槽内定时器下放到低层，
+ * 在第 0 层的槽被推进到时到期
+ *
+ * 添加和推进都是 O(1) 摊还，与定时器总数无关；每层 wheelSize 个槽，层按需创建，
+ * 1 秒精度、512 槽时三层即可覆盖约 4 年
+ *
+ * 非线程安全，由调用方在单个线程中使用
+ *
+ * @param <T> 定时任务类型
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+public final class TimingWheel<T> {
+
+    /**
+     * 时间轮中的定时器
+     *
+     * @param <T> 定时任务类型
+     */
+    public static final class Timeout<T> {
+
+        private final T task;
+        private final long deadlineMillis;
+        private long tick;
+        private volatile boolean cancelled;
+
+        public Timeout(T task, long deadlineMillis) {
+            this.task = task;
+            this.deadlineMillis = deadlineMillis;
+        }
+
+        public T task() {
+            return task;
+        }
+
+        public long deadlineMillis() {
+            return deadlineMillis;
+        }
+
+        /**
+         * 取消定时器，可以在任意线程调用；已取消的定时器在所在槽被处理时丢弃
+         */
+        public void cancel() {
+            cancelled = true;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+
+    private final long tickMillis;
+    private final int bits;
+    private final int mask;
+
+    // levels.get(L)[slot]，空槽为 null
+    private final List<List<Timeout<T>>[]> levels = new ArrayList<>();
+
+    private long currentTick;
+    private int size;
+
+    /**
+     * @param tickMillis  精度（毫秒）
+     * @param wheelSize   每层槽数，必须是 2 的幂
+     * @param startMillis 起始时间
+     */
+    public TimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("tick 必须大于 0");
+        }
+        if (wheelSize < 2 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("时间轮槽数必须是 2 的幂: " + wheelSize);
+        }
+        this.tickMillis = tickMillis;
+        this.bits = Integer.numberOfTrailingZeros(wheelSize);
+        this.mask = wheelSize - 1;
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    /**
+     * 添加定时器
+     *
+     * @param timeout 定时器
+     * @return false 表示已经到期，没有放入时间轮，由调用方立即执行
+     */
+    public boolean add(Timeout<T> timeout) {
+        // 向上取整：到期时间落在 tick 中间时在下一个 tick 执行，不会提前
+        timeout.tick = Math.floorDiv(timeout.deadlineMillis + tickMillis - 1, tickMillis);
+        if (!place(timeout)) {
+            return false;
+        }
+        size++;
+        return true;
+    }
+
+    /**
+     * 推进到指定时间，依次处理经过的每个 tick
+     *
+     * @param nowMillis 当前时间
+     * @param expired   到期且未取消的定时器
+     */
+    public void advanceTo(long nowMillis, Consumer<Timeout<T>> expired) {
+        long target = Math.floorDiv(nowMillis, tickMillis);
+        while (currentTick < target) {
+            if (size == 0) {
+                // 没有定时器时直接跳到目标 tick，长时间停顿后不必逐个 tick 空转
+                currentTick = target;
+                return;
+            }
+            currentTick++;
+            // 先从高层下放，下放时恰好到期的定时器在本 tick 执行
+            for (int level = levels.size() - 1; level > 0; level--) {
+                long lowerBits = currentTick & ((1L << (bits * level)) - 1);
+                if (lowerBits == 0) {
+                    cascade(level, expired);
+                }
+            }
+            List<Timeout<T>> bucket = take(0, (int) (currentTick & mask));
+            if (bucket != null) {
+                for (Timeout<T> timeout : bucket) {
+                    size--;
+                    if (!timeout.cancelled) {
+                        expired.accept(timeout);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @return 时间轮中的定时器数（包括已取消但尚未丢弃的）
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return 已推进到的时间（毫秒）
+     */
+    public long currentTimeMillis() {
+        return currentTick * tickMillis;
+    }
+
+    private void cascade(int level, Consumer<Timeout<T>> expired) {
+        List<Timeout<T>> bucket = take(level, (int) ((currentTick >>> (bits * level)) & mask));
+        if (bucket == null) {
+            return;
+        }
+        for (Timeout<T> timeout : bucket) {
+            if (timeout.cancelled) {
+                size--;
+            } else if (!place(timeout)) {
+                size--;
+                expired.accept(timeout);
+            }
+        }
+    }
+
+    /**
+     * @return false 表示已到期
+     */
+    private boolean place(Timeout<T> timeout) {
+        long tick = timeout.tick;
+        if (tick <= currentTick) {
+            return false;
+        }
+        // 与当前 tick 最高的不同位所在的组就是层号
+        int highestBit = 63 - Long.numberOfLeadingZeros(tick ^ currentTick);
+        int level = highestBit / bits;
+        int slot = (int) ((tick >>> (bits * level)) & mask);
+        slots(level)[slot] = append(slots(level)[slot], timeout);
+        return true;
+    }
+
+    private List<Timeout<T>>[] slots(int level) {
+        while (levels.size() <= level) {
+            @SuppressWarnings("unchecked")
+            List<Timeout<T>>[] slots = new List[mask + 1];
+            levels.add(slots);
+        }
+        return levels.get(level);
+    }
+
+    private List<Timeout<T>> take(int level, int slot) {
+        if (level >= levels.size()) {
+            return null;
+        }
+        List<Timeout<T>>[] slots = levels.get(level);
+        List<Timeout<T>> bucket = slots[slot];
+        slots[slot] = null;
+        return bucket;
+    }
+
+    private static <T> List<Timeout<T>> append(List<Timeout<T>> bucket, Timeout<T> timeout) {
+        if (bucket == null) {
+            bucket = new ArrayList<>(4);
+        }
+        bucket.add(timeout);
+        return bucket;
+    }
+}
@@ -0,0 +1,34 @@
+package org.example.reply;
+
+import java.util.List;
+
+/**
+ * Ark 模板消息回复
+ *
+ * @param templateId Ark 模板 ID
+ * @param kv         模板参数
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+public record ArkReply(int templateId, List<Kv> kv) implements Reply {
+
+    public static final int MSG_TYPE = 3;
+
+    public ArkReply {
+        kv = kv == null ? List.of() : List.copyOf(kv);
+    }
+
+    @Override
+    public int msgType() {
+        return MSG_TYPE;
+    }
+
+    /**
+     * Ark 模板参数
+     *
+     * @param key   参数名
+     * @param value 参数值
+     */
+    public record Kv(String key, String value) {
+    }
+}
@@ -0,0 +1,20 @@
+package org.example.reply;
+
+/**
+ * 图片回复
+ * 频道消息直接使用图片地址；群聊和私聊由 Node.js 先上传为富媒体再以 msg_type 7 发送
+ *
+ * @param url     图片地址
+ * @param content 随图片发送的文本，可为 null
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+public record ImageReply(String url, String content) implements Reply {
+
+    public static final int MSG_TYPE = 0;
+
+    @Override
+    public int msgType() {
+        return MSG_TYPE;
+    }
+}
@@ -0,0 +1,21 @@
+package org.example.reply;
+
+import org.example.Z_Utils.MarkdownMessage;
+
+/**
+ * 模板 Markdown 回复，可附带按钮
+ *
+ * @param message    模板 Markdown 消息
+ * @param keyboardId 按钮模板 ID，为 null 时不带按钮
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+public record MarkdownReply(MarkdownMessage message, String keyboardId) implements Reply {
+
+    public static final int MSG_TYPE = 2;
+
+    @Override
+    public int msgType() {
+        return MSG_TYPE;
+    }
+}
@@ -0,0 +1,87 @@
+package org.example.reply;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import org.example.Z_Utils.MarkdownMessage;
+
+import java.util.List;
+
+/**
+ * 指令回复
+ * 回复以结构化对象在 CommandService、回复缓存和控制器之间传递，只在返回给 Node.js 时序列化一次，
+ * 序列化结果即 QQ 开放平台发消息接口的消息体（不含 msg_id 等会话字段）：
+ *
+ * 文本：       {"msg_type": 0, "content": "..."}
+ * 模板Markdown：{"msg_type": 2, "markdown": {...}, "keyboard": {"id": "..."}}
+ * 图片：       {"msg_type": 0, "content": "...", "image": "https://..."}
+ * Ark：        {"msg_type": 3, "ark": {"template_id": 23, "kv": [...]}}
+ *
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+@JsonSerialize(using = ReplySerializer.class)
+public sealed interface Reply permits TextReply, MarkdownReply, ImageReply, ArkReply {
+
+    /**
+     * @return QQ 消息类型 msg_type
+     */
+    int msgType();
+
+    /**
+     * @return 是否没有可发送的内容
+     */
+    default boolean isEmpty() {
+        return false;
+    }
+
+    /**
+     * 序列化为 JSON 消息体
+     *
+     * @return JSON 字符串
+     */
+    default String toJson() {
+        return ReplySerializer.toJson(this);
+    }
+
+    /**
+     * @param content 文本内容
+     * @return 文本回复
+     */
+    static TextReply text(String content) {
+        return new TextReply(content);
+    }
+
+    /**
+     * @param message 模板 Markdown 消息
+     * @return 模板 Markdown 回复
+     */
+    static MarkdownReply markdown(MarkdownMessage message) {
+        return new MarkdownReply(message, null);
+    }
+
+    /**
+     * @param message    模板 Markdown 消息
+     * @param keyboardId 按钮模板 ID
+     * @return 带按钮的模板 Markdown 回复
+     */
+    static MarkdownReply markdown(MarkdownMessage message, String keyboardId) {
+        return new MarkdownReply(message, keyboardId);
+    }
+
+    /**
+     * @param url     图片地址
+     * @param content 随图片发送的文本，可为 null
+     * @return 图片回复
+     */
+    static ImageReply image(String url, String content) {
+        return new ImageReply(url, content);
+    }
+
+    /**
+     * @param templateId Ark 模板 ID
+     * @param kv         模板参数
+     * @return Ark 回复
+     */
+    static ArkReply ark(int templateId, List<ArkReply.Kv> kv) {
+        return new ArkReply(templateId, kv);
+    }
+}
@@ -0,0 +1,119 @@
+package org.example.reply;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.example.Z_Utils.MarkdownMessageWriter;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+
+/**
+ * {@link Reply} 的 Jackson 序列化器
+ * 回复放在 Spring MVC 的响应体或桥接帧中时由这里直接写出，不先转成字符串或 Map；
+ * 模板 Markdown 部分复用 {@link MarkdownMessageWriter}
+ *
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+public class ReplySerializer extends StdSerializer<Reply> {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private static final SerializableString MSG_TYPE = new SerializedString("msg_type");
+    private static final SerializableString CONTENT = new SerializedString("content");
+    private static final SerializableString MARKDOWN = new SerializedString("markdown");
+    private static final SerializableString KEYBOARD = new SerializedString("keyboard");
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString IMAGE = new SerializedString("image");
+    private static final SerializableString ARK = new SerializedString("ark");
+    private static final SerializableString TEMPLATE_ID = new SerializedString("template_id");
+    private static final SerializableString KV = new SerializedString("kv");
+    private static final SerializableString KEY = new SerializedString("key");
+    private static final SerializableString VALUE = new SerializedString("value");
+
+    public ReplySerializer() {
+        super(Reply.class);
+    }
+
+    @Override
+    public void serialize(Reply reply, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        write(reply, generator);
+    }
+
+    /**
+     * 序列化为 JSON 字符串
+     * 不带按钮的模板 Markdown 回复走 {@link MarkdownMessageWriter#write} 的预编码路径
+     *
+     * @param reply 回复
+     * @return JSON 字符串
+     */
+    static String toJson(Reply reply) {
+        if (reply instanceof MarkdownReply markdown && markdown.keyboardId() == null) {
+            return MarkdownMessageWriter.write(markdown.message());
+        }
+        StringWriter out = new StringWriter(128);
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(out)) {
+            write(reply, generator);
+        } catch (IOException e) {
+            // 写入内存不会发生 I/O 错误
+            throw new UncheckedIOException(e);
+        }
+        return out.toString();
+    }
+
+    private static void write(Reply reply, JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        generator.writeFieldName(MSG_TYPE);
+        generator.writeNumber(reply.msgType());
+
+        if (reply instanceof TextReply text) {
+            writeString(generator, CONTENT, text.content());
+        } else if (reply instanceof MarkdownReply markdown) {
+            writeString(generator, CONTENT, markdown.message().content());
+            generator.writeFieldName(MARKDOWN);
+            MarkdownMessageWriter.writeMarkdownObject(markdown.message(), generator);
+            if (markdown.keyboardId() != null) {
+                generator.writeFieldName(KEYBOARD);
+                generator.writeStartObject();
+                generator.writeFieldName(ID);
+                generator.writeString(markdown.keyboardId());
+                generator.writeEndObject();
+            }
+        } else if (reply instanceof ImageReply image) {
+            writeString(generator, CONTENT, image.content());
+            writeString(generator, IMAGE, image.url());
+        } else if (reply instanceof ArkReply ark) {
+            generator.writeFieldName(ARK);
+            generator.writeStartObject();
+            generator.writeFieldName(TEMPLATE_ID);
+            generator.writeNumber(ark.templateId());
+            generator.writeFieldName(KV);
+            generator.writeStartArray();
+            for (ArkReply.Kv kv : ark.kv()) {
+                generator.writeStartObject();
+                writeString(generator, KEY, kv.key());
+                writeString(generator, VALUE, kv.value());
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+
+        generator.writeEndObject();
+    }
+
+    /**
+     * 写出字符串字段，值为 null 时省略
+     */
+    private static void writeString(JsonGenerator generator, SerializableString field, String value) throws IOException {
+        if (value != null) {
+            generator.writeFieldName(field);
+            generator.writeString(value);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package org.example.reply;
+
+/**
+ * 文本回复
+ *
+ * @param content 文本内容
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+public record TextReply(String content) implements Reply {
+
+    public static final int MSG_TYPE = 0;
+
+    @Override
+    public int msgType() {
+        return MSG_TYPE;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return content == null || content.isEmpty();
+    }
+}
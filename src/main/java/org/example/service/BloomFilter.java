@@ -0,0 +1,92 @@
+package org.example.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 无锁布隆过滤器
+ * 位数组为 AtomicLongArray，置位是一次原子的按位或（CAS），不需要加锁；
+ * 只支持添加和查询，过期由调用方整体替换过滤器实现
+ *
+ * 哈希值由 {@link #hash(CharSequence)} 计算一次，再用双重哈希派生 k 个位置
+ *
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+public final class BloomFilter {
+
+    private final AtomicLongArray bits;
+
+    private final long bitCount;
+
+    private final int hashCount;
+
+    /**
+     * @param expectedInsertions 预计插入的元素数
+     * @param falsePositiveRate  插入 expectedInsertions 个元素后的目标误判率
+     */
+    public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions < 1 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("布隆过滤器容量必须为正数，误判率必须在 (0, 1) 之间");
+        }
+        // m = -n·ln(p) / (ln2)²，k = m/n·ln2
+        long bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.min(Integer.MAX_VALUE - 8, (bits + 63) >>> 6);
+        this.bits = new AtomicLongArray(words);
+        this.bitCount = (long) words << 6;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+    }
+
+    /**
+     * 计算元素的 64 位哈希（逐字符 FNV-1a 后做一次 murmur3 fmix64 混合），不分配内存
+     *
+     * @param value 元素
+     * @return 哈希值
+     */
+    public static long hash(CharSequence value) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * @param hash {@link #hash(CharSequence)} 的结果
+     * @return 是否可能已经添加过；false 表示一定没有添加过
+     */
+    public boolean mightContain(long hash) {
+        long combined = hash;
+        long step = (hash >>> 32) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long index = (combined & Long.MAX_VALUE) % bitCount;
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+            combined += step;
+        }
+        return true;
+    }
+
+    /**
+     * @param hash {@link #hash(CharSequence)} 的结果
+     */
+    public void put(long hash) {
+        long combined = hash;
+        long step = (hash >>> 32) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long index = (combined & Long.MAX_VALUE) % bitCount;
+            int word = (int) (index >>> 6);
+            long mask = 1L << index;
+            if ((bits.get(word) & mask) == 0) {
+                bits.getAndAccumulate(word, mask, (current, bit) -> current | bit);
+            }
+            combined += step;
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package org.example.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 机器人运行指标
+ * 按指令名、事件类型和出站接口记录耗时、错误次数和处理中的请求数，
+ * 通过 /actuator/prometheus 暴露
+ *
+ * 指标：
+ * qq.command.latency{command, outcome}   指令耗时
+ * qq.command.errors{command, outcome}    指令失败/超时/被拒绝次数
+ * qq.command.inflight                    正在执行的指令数
+ * qq.event.latency{event_type, outcome}  事件处理耗时
+ * qq.event.errors{event_type}            事件处理失败次数
+ * qq.event.inflight                      正在处理的事件数
+ * qq.outbound.latency{api, outcome}      调用QQ开放平台接口的耗时
+ * qq.outbound.errors{api}                调用失败次数
+ * qq.outbound.inflight                   正在进行的出站调用数
+ *
+ * 直方图分桶在 application.yml 的 management.metrics.distribution 中配置
+ *
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+@Component
+public class BotMetrics {
+
+    /**
+     * 指令执行结果
+     */
+    public enum Outcome {
+        SUCCESS(false),
+        CACHED(false),
+        UNKNOWN(false),
+        THROTTLED(false),
+        ERROR(true),
+        TIMEOUT(true),
+        REJECTED(true);
+
+        private final String tag;
+        private final boolean failure;
+
+        Outcome(boolean failure) {
+            this.tag = name().toLowerCase(Locale.ROOT);
+            this.failure = failure;
+        }
+    }
+
+    // 未知指令统一记为该名称，避免用户输入撑爆标签基数
+    private static final String UNKNOWN_COMMAND = "unknown";
+
+    // 事件类型同样只接受已知取值，其它记为 other
+    private static final Set<String> KNOWN_EVENT_TYPES = Set.of(
+            "READY", "AT_MESSAGE_CREATE", "MESSAGE_CREATE", "GROUP_AT_MESSAGE_CREATE",
+            "C2C_MESSAGE_CREATE", "DIRECT_MESSAGE_CREATE");
+
+    private final MeterRegistry registry;
+
+    private final AtomicInteger commandsInFlight = new AtomicInteger();
+    private final AtomicInteger eventsInFlight = new AtomicInteger();
+    private final AtomicInteger outboundInFlight = new AtomicInteger();
+
+    // 指令名 -> 按 Outcome 序号索引的计时器，热路径上不重复构建 Meter.Id
+    private final Map<String, Timer[]> commandTimers = new ConcurrentHashMap<>();
+    private final Map<String, Counter[]> commandErrors = new ConcurrentHashMap<>();
+
+    public BotMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        Gauge.builder("qq.command.inflight", commandsInFlight, AtomicInteger::get)
+                .description("正在执行的指令数")
+                .register(registry);
+        Gauge.builder("qq.event.inflight", eventsInFlight, AtomicInteger::get)
+                .description("正在处理的事件数")
+                .register(registry);
+        Gauge.builder("qq.outbound.inflight", outboundInFlight, AtomicInteger::get)
+                .description("正在进行的出站调用数")
+                .register(registry);
+    }
+
+    /**
+     * 开始记录一次指令执行，必须且只能调用一次 {@link Sample#stop}
+     *
+     * @param command 指令名，未知指令传 null
+     * @return 计时样本
+     */
+    public Sample startCommand(String command) {
+        commandsInFlight.incrementAndGet();
+        return new Sample(command == null ? UNKNOWN_COMMAND : command, System.nanoTime());
+    }
+
+    /**
+     * 开始记录一次事件处理
+     *
+     * @return 开始时间，传给 {@link #stopEvent}
+     */
+    public long startEvent() {
+        eventsInFlight.incrementAndGet();
+        return System.nanoTime();
+    }
+
+    /**
+     * 结束一次事件处理
+     *
+     * @param eventType  事件类型
+     * @param startNanos {@link #startEvent} 的返回值
+     * @param failed     是否失败
+     */
+    public void stopEvent(String eventType, long startNanos, boolean failed) {
+        eventsInFlight.decrementAndGet();
+        String tag = eventType != null && KNOWN_EVENT_TYPES.contains(eventType) ? eventType : "other";
+        Timer.builder("qq.event.latency")
+                .description("事件处理耗时")
+                .tag("event_type", tag)
+                .tag("outcome", failed ? "error" : "success")
+                .register(registry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        if (failed) {
+            registry.counter("qq.event.errors", "event_type", tag).increment();
+        }
+    }
+
+    /**
+     * 开始一次出站调用
+     *
+     * @return 开始时间，传给 {@link #stopOutbound}
+     */
+    public long startOutbound() {
+        outboundInFlight.incrementAndGet();
+        return System.nanoTime();
+    }
+
+    /**
+     * 结束一次出站调用
+     *
+     * @param api        接口名，如 send_message
+     * @param startNanos {@link #startOutbound} 的返回值
+     * @param failed     是否失败
+     */
+    public void stopOutbound(String api, long startNanos, boolean failed) {
+        outboundInFlight.decrementAndGet();
+        Timer.builder("qq.outbound.latency")
+                .description("调用QQ开放平台接口的耗时")
+                .tag("api", api)
+                .tag("outcome", failed ? "error" : "success")
+                .register(registry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        if (failed) {
+            registry.counter("qq.outbound.errors", "api", api).increment();
+        }
+    }
+
+    private Timer commandTimer(String command, Outcome outcome) {
+        Timer[] timers = commandTimers.computeIfAbsent(command, k -> new Timer[Outcome.values().length]);
+        Timer timer = timers[outcome.ordinal()];
+        if (timer == null) {
+            // 并发时可能重复 register，注册表会返回同一个计时器
+            timer = Timer.builder("qq.command.latency")
+                    .description("指令耗时")
+                    .tag("command", command)
+                    .tag("outcome", outcome.tag)
+                    .register(registry);
+            timers[outcome.ordinal()] = timer;
+        }
+        return timer;
+    }
+
+    private Counter commandErrorCounter(String command, Outcome outcome) {
+        Counter[] counters = commandErrors.computeIfAbsent(command, k -> new Counter[Outcome.values().length]);
+        Counter counter = counters[outcome.ordinal()];
+        if (counter == null) {
+            counter = Counter.builder("qq.command.errors")
+                    .description("指令失败、超时或被拒绝的次数")
+                    .tag("command", command)
+                    .tag("outcome", outcome.tag)
+                    .register(registry);
+            counters[outcome.ordinal()] = counter;
+        }
+        return counter;
+    }
+
+    /**
+     * 一次指令执行的计时样本
+     */
+    public final class Sample {
+        private final String command;
+        private final long startNanos;
+
+        private Sample(String command, long startNanos) {
+            this.command = command;
+            this.startNanos = startNanos;
+        }
+
+        /**
+         * 结束计时并按结果记录
+         *
+         * @param outcome 执行结果
+         */
+        public void stop(Outcome outcome) {
+            commandsInFlight.decrementAndGet();
+            commandTimer(command, outcome).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+            if (outcome.failure) {
+                commandErrorCounter(command, outcome).increment();
+            }
+        }
+    }
+}
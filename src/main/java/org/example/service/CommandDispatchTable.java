@@ -0,0 +1,168 @@
+package org.example.service;
+
+import org.example.commands.Command;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 指令分发表
+ * 启动时由 {@link CommandRegistry} 一次性构建的开放寻址哈希表，指令名和别名都作为键
+ * 查找直接在原始消息的字符区间上进行，大小写不敏感，不需要先截取或转换为小写
+ *
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+public final class CommandDispatchTable {
+
+    private final String[] keys;
+    private final Command[] values;
+    private final int mask;
+    private final int maxKeyLength;
+    private final List<Command> commands;
+
+    private CommandDispatchTable(String[] keys, Command[] values, int maxKeyLength, List<Command> commands) {
+        this.keys = keys;
+        this.values = values;
+        this.mask = keys.length - 1;
+        this.maxKeyLength = maxKeyLength;
+        this.commands = commands;
+    }
+
+    /**
+     * 根据指令列表构建分发表
+     *
+     * @param commands 所有指令
+     * @return 分发表
+     * @throws IllegalStateException 如果指令名或别名重复
+     */
+    public static CommandDispatchTable build(List<? extends Command> commands) {
+        List<String> names = new ArrayList<>();
+        List<Command> owners = new ArrayList<>();
+        for (Command command : commands) {
+            names.add(command.getName());
+            owners.add(command);
+            for (String alias : command.getAliases()) {
+                names.add(alias);
+                owners.add(command);
+            }
+        }
+
+        // 负载因子不超过 0.5，保证探测链很短
+        int capacity = 2;
+        while (capacity < names.size() * 2) {
+            capacity <<= 1;
+        }
+        String[] keys = new String[capacity];
+        Command[] values = new Command[capacity];
+        int mask = capacity - 1;
+        int maxKeyLength = 0;
+
+        for (int n = 0; n < names.size(); n++) {
+            String key = foldAll(names.get(n));
+            Command owner = owners.get(n);
+            int slot = hash(key, 0, key.length()) & mask;
+            while (keys[slot] != null) {
+                if (keys[slot].equals(key)) {
+                    throw new IllegalStateException("指令名称冲突: /" + key + " 同时被 "
+                            + values[slot].getClass().getSimpleName() + " 和 "
+                            + owner.getClass().getSimpleName() + " 注册");
+                }
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            values[slot] = owner;
+            maxKeyLength = Math.max(maxKeyLength, key.length());
+        }
+
+        return new CommandDispatchTable(keys, values, maxKeyLength,
+                Collections.unmodifiableList(new ArrayList<>(commands)));
+    }
+
+    /**
+     * 查找解析结果对应的指令
+     *
+     * @param parsed 解析后的指令
+     * @return 指令，未找到返回null
+     */
+    public Command lookup(ParsedCommand parsed) {
+        return lookup(parsed.source(), parsed.nameStart(), parsed.nameEnd());
+    }
+
+    /**
+     * 按名称或别名查找指令
+     *
+     * @param name 指令名称（不包含"/"前缀）
+     * @return 指令，未找到返回null
+     */
+    public Command lookup(String name) {
+        return name == null ? null : lookup(name, 0, name.length());
+    }
+
+    /**
+     * 在字符区间 [start, end) 上查找指令
+     *
+     * @param source 字符序列
+     * @param start  起始位置
+     * @param end    结束位置（不含）
+     * @return 指令，未找到返回null
+     */
+    public Command lookup(CharSequence source, int start, int end) {
+        int length = end - start;
+        if (length <= 0 || length > maxKeyLength) {
+            return null;
+        }
+        int slot = hash(source, start, end) & mask;
+        String key;
+        while ((key = keys[slot]) != null) {
+            if (regionMatches(key, source, start, length)) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    /**
+     * @return 注册顺序的指令列表（不含重复）
+     */
+    public List<Command> commands() {
+        return commands;
+    }
+
+    private static boolean regionMatches(String key, CharSequence source, int start, int length) {
+        if (key.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (key.charAt(i) != fold(source.charAt(start + i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int hash(CharSequence source, int start, int end) {
+        int h = 0;
+        for (int i = start; i < end; i++) {
+            h = 31 * h + fold(source.charAt(i));
+        }
+        return h ^ (h >>> 16);
+    }
+
+    private static String foldAll(String name) {
+        char[] chars = new char[name.length()];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = fold(name.charAt(i));
+        }
+        return new String(chars);
+    }
+
+    private static char fold(char c) {
+        if (c < 0x80) {
+            return (c >= 'A' && c <= 'Z') ? (char) (c + ('a' - 'A')) : c;
+        }
+        return Character.toLowerCase(c);
+    }
+}
@@ -0,0 +1,112 @@
+package org.example.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.commands.CommandCost;
+import org.example.config.FloodControlConfig;
+import org.example.config.FloodControlConfig.Limits;
+import org.example.event.MessageEvent;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+
+/**
+ * 指令防刷屏限流
+ * 指令执行前先按发送者、再按会话（群/子频道）各取一个令牌，任一级没有令牌时拒绝执行；
+ * 被发送者一级拒绝的指令不消耗会话令牌，被会话一级拒绝的指令归还已取得的发送者令牌
+ *
+ * 每个发送者/会话持有轻量和重量级两个 {@link TokenBucket}，取令牌是一次 CAS；
+ * 限流状态存放在 Caffeine 中，命中时无锁读取，空闲超过 idle-expiry 后丢弃
+ * （此时令牌桶早已补满，丢弃不会放宽限流）
+ *
+ * 指标：
+ * qq.command.throttled{scope, cost}  被限流的指令数，scope 为 user 或 conversation
+ *
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+@Component
+public class CommandFloodGuard {
+
+    private static final String USER_PREFIX = "u:";
+    private static final String CONVERSATION_PREFIX = "c:";
+
+    private final FloodControlConfig config;
+
+    // 带前缀的发送者/会话标识 -> 按 CommandCost 序号索引的令牌桶
+    private final Cache<String, TokenBucket[]> buckets;
+
+    // [scope][cost]
+    private final Counter[][] throttled = new Counter[2][CommandCost.values().length];
+
+    public CommandFloodGuard(FloodControlConfig config, MeterRegistry registry) {
+        this.config = config;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(config.getMaximumSize())
+                .expireAfterAccess(config.getIdleExpiry())
+                .build();
+        String[] scopes = {"user", "conversation"};
+        for (int scope = 0; scope < scopes.length; scope++) {
+            for (CommandCost cost : CommandCost.values()) {
+                throttled[scope][cost.ordinal()] = Counter.builder("qq.command.throttled")
+                        .description("被防刷屏限流拒绝的指令数")
+                        .tag("scope", scopes[scope])
+                        .tag("cost", cost.name().toLowerCase(Locale.ROOT))
+                        .register(registry);
+            }
+        }
+    }
+
+    /**
+     * 尝试为一次指令执行取得令牌
+     *
+     * @param event 触发指令的消息，为 null 时不限流
+     * @param cost  指令开销等级
+     * @return 0 表示放行；否则为建议等待的纳秒数
+     */
+    public long tryAdmit(MessageEvent event, CommandCost cost) {
+        if (!config.isEnabled() || event == null) {
+            return 0;
+        }
+        long now = System.nanoTime();
+
+        // 会话令牌只在发送者放行之后才消耗：一个已超限的人反复刷指令不会耗尽群里其他人的额度。
+        // 会话已无令牌时先行拒绝（只查看不消耗），避免群被刷屏时再扣掉每个人自己的令牌
+        String conversationId = event.conversationId();
+        TokenBucket conversationBucket = conversationId == null ? null
+                : bucket(CONVERSATION_PREFIX, conversationId, config.getConversation(), cost);
+        if (conversationBucket != null) {
+            long wait = conversationBucket.nanosUntilAvailable(now);
+            if (wait > 0) {
+                throttled[1][cost.ordinal()].increment();
+                return wait;
+            }
+        }
+
+        String senderId = event.senderId();
+        TokenBucket userBucket = senderId == null ? null : bucket(USER_PREFIX, senderId, config.getUser(), cost);
+        if (userBucket != null && !userBucket.tryAcquire(now)) {
+            throttled[0][cost.ordinal()].increment();
+            return Math.max(1, userBucket.nanosUntilAvailable(now));
+        }
+
+        // 并发时会话令牌可能已被别人取走，此时指令没有执行，归还发送者令牌
+        if (conversationBucket != null && !conversationBucket.tryAcquire(now)) {
+            if (userBucket != null) {
+                userBucket.release();
+            }
+            throttled[1][cost.ordinal()].increment();
+            return Math.max(1, conversationBucket.nanosUntilAvailable(now));
+        }
+        return 0;
+    }
+
+    private TokenBucket bucket(String prefix, String id, Limits limits, CommandCost cost) {
+        TokenBucket[] pair = buckets.get(prefix + id, key -> new TokenBucket[]{
+                new TokenBucket(limits.getLightRatePerSecond(), limits.getLightBurst()),
+                new TokenBucket(limits.getHeavyRatePerSecond(), limits.getHeavyBurst())});
+        return pair[cost.ordinal()];
+    }
+}
@@ -2,8 +2,11 @@ package org.example.service;
 
 import org.example.commands.Command;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationEventPublisherAware;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -17,16 +20,80 @@ import java.util.function.Function;
  * @since 2.0.0
  */
 @Component
-public class CommandRegistry {
+public class CommandRegistry implements ApplicationEventPublisherAware {
 
   private final List<Command> commands;
 
+  private volatile CommandDispatchTable dispatchTable;
+
+  private volatile HelpCatalogue helpCatalogue;
+
+  private ApplicationEventPublisher eventPublisher;
+
   /**
    * 构造函数，Spring会自动注入所有实现了Command接口的类
+   * 分发表和帮助目录在这里一次性构建，之后每条消息只做查表
    */
   @Autowired
   public CommandRegistry(List<Command> commands) {
-    this.commands = commands;
+    this.commands = new ArrayList<>(commands);
+    rebuild();
+  }
+
+  @Override
+  public void setApplicationEventPublisher(ApplicationEventPublisher eventPublisher) {
+    this.eventPublisher = eventPublisher;
+  }
+
+  /**
+   * 获取预编译的指令分发表
+   * 
+   * @return 指令分发表
+   */
+  public CommandDispatchTable getDispatchTable() {
+    return dispatchTable;
+  }
+
+  /**
+   * 获取预渲染的帮助目录
+   * 
+   * @return 帮助目录
+   */
+  public HelpCatalogue getHelpCatalogue() {
+    return helpCatalogue;
+  }
+
+  /**
+   * 运行时注册新指令，分发表和帮助目录会重新构建
+   * 
+   * @param command 指令
+   * @throws IllegalStateException 如果指令名或别名与已有指令冲突
+   */
+  public synchronized void register(Command command) {
+    commands.add(command);
+    try {
+      rebuild();
+    } catch (IllegalStateException e) {
+      commands.remove(command);
+      throw e;
+    }
+    publishChange();
+  }
+
+  /**
+   * 运行时移除指令，分发表和帮助目录会重新构建
+   * 
+   * @param name 指令名称
+   * @return 是否移除成功
+   */
+  public synchronized boolean unregister(String name) {
+    Command command = dispatchTable.lookup(name);
+    if (command == null || !commands.remove(command)) {
+      return false;
+    }
+    rebuild();
+    publishChange();
+    return true;
   }
 
   /**
@@ -38,7 +105,7 @@ public class CommandRegistry {
   public Map<String, Function<String[], String>> getAllCommands() {
     Map<String, Function<String[], String>> commandMap = new HashMap<>();
 
-    for (Command command : commands) {
+    for (Command command : dispatchTable.commands()) {
       commandMap.put(command.getName(), args -> {
         try {
           return command.execute(args);
@@ -50,4 +117,16 @@ public class CommandRegistry {
 
     return commandMap;
   }
-}
\ No newline at end of file
+
+  private void rebuild() {
+    CommandDispatchTable table = CommandDispatchTable.build(commands);
+    this.helpCatalogue = HelpCatalogue.render(table);
+    this.dispatchTable = table;
+  }
+
+  private void publishChange() {
+    if (eventPublisher != null) {
+      eventPublisher.publishEvent(new CommandRegistryChangedEvent(this));
+    }
+  }
+}
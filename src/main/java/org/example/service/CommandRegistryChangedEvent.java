@@ -0,0 +1,22 @@
+package org.example.service;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * 指令集合变化事件
+ * 运行时注册或移除指令后发布，依赖指令集合的缓存应在收到后失效
+ *
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+public class CommandRegistryChangedEvent extends ApplicationEvent {
+
+    public CommandRegistryChangedEvent(CommandRegistry source) {
+        super(source);
+    }
+
+    @Override
+    public CommandRegistry getSource() {
+        return (CommandRegistry) super.getSource();
+    }
+}
@@ -0,0 +1,140 @@
+package org.example.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.example.commands.CachePolicy;
+import org.example.commands.Command;
+import org.example.reply.Reply;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * 指令回复缓存
+ * 按指令声明的 {@link CachePolicy} 缓存回复，容量有界（W-TinyLFU 淘汰），
+ * 每条记录按各自策略过期，并记录命中/未命中统计（以 cache=command-reply 暴露为指标）
+ *
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+@Component
+public class CommandReplyCache implements MeterBinder {
+
+    // 缓存键中分隔指令名与参数的字符，不会出现在分词后的参数中
+    private static final char KEY_SEPARATOR = ' ';
+
+    private final Cache<String, CachedReply> cache;
+
+    public CommandReplyCache(@Value("${qq.command.cache.maximum-size:1000}") long maximumSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new PolicyExpiry())
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * 查询缓存的回复
+     *
+     * @param command 指令
+     * @param parsed  解析后的指令
+     * @return 缓存的回复，未命中或指令不可缓存时返回null
+     */
+    public Reply get(Command command, ParsedCommand parsed) {
+        CachePolicy policy = command.getCachePolicy();
+        if (!policy.isEnabled()) {
+            return null;
+        }
+        CachedReply cached = cache.getIfPresent(key(command, parsed, policy));
+        return cached == null ? null : cached.reply;
+    }
+
+    /**
+     * 按指令的缓存策略保存回复
+     *
+     * @param command 指令
+     * @param parsed  解析后的指令
+     * @param reply   回复内容
+     */
+    public void put(Command command, ParsedCommand parsed, Reply reply) {
+        CachePolicy policy = command.getCachePolicy();
+        if (!policy.isEnabled() || reply == null) {
+            return;
+        }
+        long ttlNanos = policy.getTtl() == null ? Long.MAX_VALUE : policy.getTtl().toNanos();
+        cache.put(key(command, parsed, policy), new CachedReply(reply, ttlNanos));
+    }
+
+    /**
+     * 清空所有缓存，在指令集合发生变化时调用
+     */
+    @EventListener(CommandRegistryChangedEvent.class)
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "command-reply");
+    }
+
+    /**
+     * @return 命中/未命中等统计信息
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * @return 当前缓存条数（近似值）
+     */
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    private static String key(Command command, ParsedCommand parsed, CachePolicy policy) {
+        if (!policy.isKeyedByArgs() || parsed.argCount() == 0) {
+            return command.getName();
+        }
+        StringBuilder key = new StringBuilder(command.getName());
+        for (int i = 0; i < parsed.argCount(); i++) {
+            key.append(KEY_SEPARATOR).append(parsed.arg(i));
+        }
+        return key.toString();
+    }
+
+    private static final class CachedReply {
+        private final Reply reply;
+        private final long ttlNanos;
+
+        private CachedReply(Reply reply, long ttlNanos) {
+            this.reply = reply;
+            this.ttlNanos = ttlNanos;
+        }
+    }
+
+    /**
+     * 每条记录使用写入时指令声明的存活时间
+     */
+    private static final class PolicyExpiry implements Expiry<String, CachedReply> {
+        @Override
+        public long expireAfterCreate(String key, CachedReply value, long currentTime) {
+            return value.ttlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CachedReply value, long currentTime, long currentDuration) {
+            return value.ttlNanos;
+        }
+
+        @Override
+        public long expireAfterRead(String key, CachedReply value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
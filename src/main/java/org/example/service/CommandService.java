@@ -1,16 +1,26 @@
 package org.example.service;
 
+import org.example.commands.Command;
+import org.example.commands.CommandCost;
+import org.example.event.MessageEvent;
+import org.example.reply.Reply;
+import org.example.service.BotMetrics.Outcome;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 
-import java.util.Arrays;
-import java.util.Map;
-import java.util.function.Function;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 指令处理服务
  * 解析和执行用户在群聊中发送的指令
+ * 回复以 {@link Reply} 对象返回，由控制器在响应 Node.js 时统一序列化
  * 
  * @author QQ Robot Team
  * @since 1.1.0
@@ -18,86 +28,221 @@ import java.util.function.Function;
 @Service
 public class CommandService {
 
+    private static final Logger log = LoggerFactory.getLogger(CommandService.class);
+
     private final QQBotService qqBotService;
 
-    // 存储指令及其对应的处理器
-    private final Map<String, Function<String[], String>> commandHandlers;
+    // 指令注册器，持有预编译的指令分发表（指令名和别名）
+    private final CommandRegistry commandRegistry;
+
+    // 异步执行指令的线程池
+    private final Executor commandExecutor;
+
+    // 可缓存指令的回复缓存
+    private final CommandReplyCache replyCache;
+
+    // 按指令名记录耗时和错误
+    private final BotMetrics metrics;
+
+    // 按发送者和会话限流
+    private final CommandFloodGuard floodGuard;
 
     /**
      * 构造函数，通过CommandRegistry初始化所有指令
      */
     @Autowired
-    public CommandService(@Lazy QQBotService qqBotService, CommandRegistry commandRegistry) {
+    public CommandService(@Lazy QQBotService qqBotService, CommandRegistry commandRegistry,
+                          @Qualifier("commandExecutor") Executor commandExecutor,
+                          CommandReplyCache replyCache, BotMetrics metrics, CommandFloodGuard floodGuard) {
         this.qqBotService = qqBotService;
-        this.commandHandlers = commandRegistry.getAllCommands();
+        this.commandRegistry = commandRegistry;
+        this.commandExecutor = commandExecutor;
+        this.replyCache = replyCache;
+        this.metrics = metrics;
+        this.floodGuard = floodGuard;
     }
 
     /**
      * 处理指令并返回回复内容（用于Node.js服务）
      * 
      * @param content 消息内容
-     * @return 如果是指令，返回回复内容；否则返回null
+     * @return 如果是指令，返回回复；否则返回null
      */
-    public String processCommand(String content) {
-        System.out.println("[CommandService] 处理消息: " + content);
-
-        if (content == null || content.trim().isEmpty()) {
-            return null;
-        }
-
-        // 移除@机器人的前缀，只保留指令部分
-        String cleanContent = content.trim();
-
-        // 如果消息包含@，尝试提取@后面的内容
-        if (cleanContent.contains("@")) {
-            // 查找最后一个@符号后的内容
-            int lastAtIndex = cleanContent.lastIndexOf("@");
-            if (lastAtIndex != -1) {
-                // 找到@符号后的下一个空格，提取指令部分
-                String afterAt = cleanContent.substring(lastAtIndex);
-                int spaceIndex = afterAt.indexOf(" ");
-                if (spaceIndex != -1) {
-                    cleanContent = afterAt.substring(spaceIndex + 1).trim();
-                } else {
-                    // 如果@后面没有空格，说明没有指令
-                    return null;
-                }
-            }
-        }
+    public Reply processCommand(String content) {
+        return processCommand(content, null);
+    }
 
-        System.out.println("[CommandService] 清理后的消息: " + cleanContent);
+    /**
+     * 处理消息中的指令，按消息的发送者和会话限流
+     * 
+     * @param message 消息事件
+     * @return 如果是指令，返回回复；否则返回null
+     */
+    public Reply processCommand(MessageEvent message) {
+        return processCommand(message.content(), message);
+    }
 
-        // 指令必须以 "/" 开头
-        if (!cleanContent.startsWith("/")) {
+    private Reply processCommand(String content, MessageEvent message) {
+        // 单次扫描完成@前缀剥离和分词，非指令消息在这里直接返回
+        ParsedCommand parsed = CommandTokenizer.tokenize(content);
+        if (parsed == null) {
             return null;
         }
 
-        // 解析指令和参数
-        String[] parts = cleanContent.substring(1).split("\\s+");
-        String command = parts[0].toLowerCase();
-        String[] args = Arrays.copyOfRange(parts, 1, parts.length);
-
-        System.out.println("[CommandService] 解析到指令: " + command + ", 参数: " + Arrays.toString(args));
-
         // 查找指令处理器
-        Function<String[], String> handler = commandHandlers.get(command);
+        Command command = commandRegistry.getDispatchTable().lookup(parsed);
+        BotMetrics.Sample sample = metrics.startCommand(command == null ? null : command.getName());
 
-        if (handler != null) {
+        if (command != null) {
+            // 命中缓存时跳过执行
+            Reply cached = replyCache.get(command, parsed);
+            Reply throttledReply = admit(message, cached != null ? CommandCost.LIGHT : command.getCost(parsed.args()), sample);
+            if (throttledReply != null) {
+                return throttledReply;
+            }
+            if (cached != null) {
+                sample.stop(Outcome.CACHED);
+                return cached;
+            }
             try {
                 // 执行指令并获取回复内容
-                String reply = handler.apply(args);
-                System.out.println("指令 '" + command + "' 已执行，回复: " + reply);
+                Reply reply = command.executeReply(parsed.args(), message);
+                replyCache.put(command, parsed, reply);
+                sample.stop(Outcome.SUCCESS);
+                log.debug("指令 '{}' 已执行", parsed.name());
                 return reply;
             } catch (Exception e) {
-                e.printStackTrace();
-                return "执行指令 '" + command + "' 时发生错误。";
+                sample.stop(Outcome.ERROR);
+                log.error("执行指令 '{}' 失败", parsed.name(), e);
+                return errorReply(parsed);
             }
         } else {
+            Reply throttledReply = admit(message, CommandCost.LIGHT, sample);
+            if (throttledReply != null) {
+                return throttledReply;
+            }
             // 如果指令未找到，返回提示信息
-            return "未知的指令: " + command + "\n发送 /help 查看所有可用指令。";
+            sample.stop(Outcome.UNKNOWN);
+            return unknownCommandReply(parsed);
         }
     }
 
+    /**
+     * 异步处理指令（用于Node.js服务）
+     * 解析和查表在调用线程完成，指令本身在指令线程池中执行，
+     * 超过指令声明的超时时间后返回其兜底回复
+     * 
+     * @param content 消息内容
+     * @return 回复；如果不是指令，结果为null
+     */
+    public CompletableFuture<Reply> processCommandAsync(String content) {
+        return processCommandAsync(content, null);
+    }
+
+    /**
+     * 异步处理消息中的指令，按消息的发送者和会话限流
+     * 被限流时立即返回提示，不占用指令线程池
+     * 
+     * @param message 消息事件
+     * @return 回复；如果不是指令，结果为null
+     */
+    public CompletableFuture<Reply> processCommandAsync(MessageEvent message) {
+        return processCommandAsync(message.content(), message);
+    }
+
+    private CompletableFuture<Reply> processCommandAsync(String content, MessageEvent message) {
+        ParsedCommand parsed = CommandTokenizer.tokenize(content);
+        if (parsed == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        Command command = commandRegistry.getDispatchTable().lookup(parsed);
+        BotMetrics.Sample sample = metrics.startCommand(command == null ? null : command.getName());
+        if (command == null) {
+            Reply throttledReply = admit(message, CommandCost.LIGHT, sample);
+            if (throttledReply != null) {
+                return CompletableFuture.completedFuture(throttledReply);
+            }
+            sample.stop(Outcome.UNKNOWN);
+            return CompletableFuture.completedFuture(unknownCommandReply(parsed));
+        }
+
+        // 命中缓存时直接返回，不占用指令线程池；缓存回复按轻量指令限流
+        Reply cached = replyCache.get(command, parsed);
+        Reply throttledReply = admit(message, cached != null ? CommandCost.LIGHT : command.getCost(parsed.args()), sample);
+        if (throttledReply != null) {
+            return CompletableFuture.completedFuture(throttledReply);
+        }
+        if (cached != null) {
+            sample.stop(Outcome.CACHED);
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        CompletableFuture<Reply> execution;
+        try {
+            execution = command.executeAsync(parsed.args(), message, commandExecutor);
+        } catch (RejectedExecutionException e) {
+            sample.stop(Outcome.REJECTED);
+            return CompletableFuture.completedFuture(Reply.text("🚦 机器人正忙，请稍后再试"));
+        }
+
+        // 结果和计数结论一起在 handle 中产生，超时时由 completeOnTimeout 给出兜底结果，
+        // 之后在同一个回调里结束计时，不需要跨线程共享可变状态
+        return execution
+                .handle((reply, error) -> {
+                    if (error != null) {
+                        if (execution.isCancelled()) {
+                            // 超时后被取消，结果已由 completeOnTimeout 给出
+                            return null;
+                        }
+                        log.error("执行指令 '{}' 失败", parsed.name(), error);
+                        return new Completion(errorReply(parsed), Outcome.ERROR);
+                    }
+                    replyCache.put(command, parsed, reply);
+                    log.debug("指令 '{}' 已执行", parsed.name());
+                    return new Completion(reply, Outcome.SUCCESS);
+                })
+                .completeOnTimeout(new Completion(Reply.text(command.getTimeoutReply()), Outcome.TIMEOUT),
+                        command.getTimeout(parsed.args()).toMillis(), TimeUnit.MILLISECONDS)
+                .thenApply(completion -> {
+                    if (completion.outcome() == Outcome.TIMEOUT) {
+                        // 中断仍在执行的指令，释放指令线程
+                        execution.cancel(true);
+                    }
+                    sample.stop(completion.outcome());
+                    return completion.reply();
+                });
+    }
+
+    /**
+     * 异步执行的结果及其计时结论
+     */
+    private record Completion(Reply reply, Outcome outcome) {
+    }
+
+    /**
+     * 防刷屏检查
+     * 
+     * @return 被限流时返回提示并结束计时样本；放行时返回null
+     */
+    private Reply admit(MessageEvent message, CommandCost cost, BotMetrics.Sample sample) {
+        long waitNanos = floodGuard.tryAdmit(message, cost);
+        if (waitNanos == 0) {
+            return null;
+        }
+        sample.stop(Outcome.THROTTLED);
+        long seconds = (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+        return Reply.text("🐢 操作太频繁了，请 " + seconds + " 秒后再试");
+    }
+
+    private static Reply errorReply(ParsedCommand parsed) {
+        return Reply.text("执行指令 '" + parsed.name() + "' 时发生错误。");
+    }
+
+    private static Reply unknownCommandReply(ParsedCommand parsed) {
+        return Reply.text("未知的指令: " + parsed.name() + "\n发送 /help 查看所有可用指令。");
+    }
+
     /**
      * 处理收到的消息，检查是否为指令（保留原方法用于向后兼容）
      * 现在只返回回复文本，不直接调用API
@@ -108,9 +253,9 @@ public class CommandService {
      */
     @Deprecated
     public boolean handleCommand(String content, String channelId) {
-        System.out.println("[CommandService] [DEPRECATED] 调用了handleCommand，应改用processCommand");
+        log.warn("[DEPRECATED] 调用了handleCommand，应改用processCommand");
         // 直接调用新的processCommand方法，忽略channelId
-        String reply = processCommand(content);
+        Reply reply = processCommand(content);
         return reply != null && !reply.isEmpty();
     }
 }
\ No newline at end of file
@@ -0,0 +1,118 @@
+package org.example.service;
+
+/**
+ * 指令分词器
+ * 对原始消息只做一次线性扫描，不使用正则，也不生成中间字符串
+ *
+ * 解析规则与旧版 processCommand 保持一致：
+ * 1. 去掉首尾空白
+ * 2. 若包含 "@"，取最后一个 "@" 之后第一个空格后的内容；没有空格则不是指令
+ * 3. 指令必须以 "/" 开头，指令名与参数之间以空白分隔
+ *
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+public final class CommandTokenizer {
+
+    private static final int INITIAL_ARG_SLOTS = 8;
+
+    private CommandTokenizer() {
+    }
+
+    /**
+     * 解析消息内容
+     *
+     * @param content 消息内容
+     * @return 如果是指令，返回解析结果；否则返回null
+     */
+    public static ParsedCommand tokenize(String content) {
+        if (content == null) {
+            return null;
+        }
+
+        int start = 0;
+        int end = content.length();
+        while (start < end && content.charAt(start) <= ' ') {
+            start++;
+        }
+        if (start == end) {
+            return null;
+        }
+
+        // 大多数普通聊天既不以"/"开头也不含"@"，首字符比较加一次 indexOf 即可拒绝
+        int firstAtIndex = content.indexOf('@', start);
+        if (firstAtIndex < 0 && content.charAt(start) != '/') {
+            return null;
+        }
+        return tokenize(content, start, end, firstAtIndex);
+    }
+
+    /**
+     * 完整解析路径，与快速拒绝分开以便 JIT 内联上面的短方法
+     */
+    private static ParsedCommand tokenize(String content, int start, int end, int firstAtIndex) {
+        while (content.charAt(end - 1) <= ' ') {
+            end--;
+        }
+
+        // 移除@机器人的前缀，只保留指令部分
+        if (firstAtIndex >= 0) {
+            int lastAtIndex = content.lastIndexOf('@');
+            int spaceIndex = content.indexOf(' ', lastAtIndex);
+            if (spaceIndex < 0 || spaceIndex >= end) {
+                // 如果@后面没有空格，说明没有指令
+                return null;
+            }
+            start = spaceIndex + 1;
+            while (start < end && content.charAt(start) <= ' ') {
+                start++;
+            }
+        }
+
+        // 指令必须以 "/" 开头，普通聊天在这里就被拒绝
+        if (start >= end || content.charAt(start) != '/') {
+            return null;
+        }
+
+        int nameStart = start + 1;
+        int i = nameStart;
+        while (i < end && !isSeparator(content.charAt(i))) {
+            i++;
+        }
+        int nameEnd = i;
+
+        int[] bounds = null;
+        int argCount = 0;
+        while (i < end) {
+            while (i < end && isSeparator(content.charAt(i))) {
+                i++;
+            }
+            if (i >= end) {
+                break;
+            }
+            int argStart = i;
+            while (i < end && !isSeparator(content.charAt(i))) {
+                i++;
+            }
+            if (bounds == null) {
+                bounds = new int[INITIAL_ARG_SLOTS];
+            } else if (argCount * 2 == bounds.length) {
+                int[] grown = new int[bounds.length * 2];
+                System.arraycopy(bounds, 0, grown, 0, bounds.length);
+                bounds = grown;
+            }
+            bounds[argCount * 2] = argStart;
+            bounds[argCount * 2 + 1] = i;
+            argCount++;
+        }
+
+        return new ParsedCommand(content, nameStart, nameEnd, bounds, argCount);
+    }
+
+    /**
+     * 与正则 \s 相同的空白字符集合
+     */
+    static boolean isSeparator(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+}
@@ -0,0 +1,145 @@
+package org.example.service;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 会话上下文
+ * 保存最近若干轮对话和指令的临时状态（例如多轮指令进行到哪一步），由 {@link SessionStore} 创建和持久化
+ *
+ * 方法都是同步的，同一会话的并发消息依次修改；每次修改都会通知存储在下一次批量写入时保存
+ *
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+public final class ConversationSession {
+
+    /**
+     * 一轮对话
+     *
+     * @param role      角色，例如 user、assistant
+     * @param content   内容
+     * @param atMillis  时间戳（毫秒）
+     */
+    public record Turn(String role, String content, long atMillis) {
+    }
+
+    /**
+     * 持久化用的不可变快照
+     *
+     * @param turns            最近的对话，从旧到新
+     * @param attributes       临时状态
+     * @param lastActiveMillis 最后一次修改的时间戳（毫秒）
+     */
+    public record Snapshot(List<Turn> turns, Map<String, String> attributes, long lastActiveMillis) {
+
+        public Snapshot {
+            turns = turns == null ? List.of() : List.copyOf(turns);
+            attributes = attributes == null ? Map.of() : Map.copyOf(attributes);
+        }
+    }
+
+    private final String key;
+    private final int maxTurns;
+    private final ArrayDeque<Turn> turns;
+    private final Map<String, String> attributes;
+    private long lastActiveMillis;
+
+    // 修改后通知存储，由 SessionStore 在放入缓存前设置
+    private Runnable onChange = () -> {
+    };
+
+    ConversationSession(String key, int maxTurns, Snapshot snapshot) {
+        this.key = key;
+        this.maxTurns = Math.max(1, maxTurns);
+        this.turns = new ArrayDeque<>(Math.min(this.maxTurns, 16));
+        this.attributes = new HashMap<>(snapshot.attributes());
+        List<Turn> restored = snapshot.turns();
+        for (int i = Math.max(0, restored.size() - this.maxTurns); i < restored.size(); i++) {
+            turns.addLast(restored.get(i));
+        }
+        this.lastActiveMillis = snapshot.lastActiveMillis();
+    }
+
+    /**
+     * @return 会话键，见 {@link SessionStore#userKey}、{@link SessionStore#conversationKey}
+     */
+    public String key() {
+        return key;
+    }
+
+    /**
+     * 追加一轮对话，超过 max-turns 时丢弃最早的一轮
+     *
+     * @param role    角色
+     * @param content 内容
+     */
+    public synchronized void addTurn(String role, String content) {
+        if (turns.size() >= maxTurns) {
+            turns.removeFirst();
+        }
+        long now = System.currentTimeMillis();
+        turns.addLast(new Turn(role, content, now));
+        touch(now);
+    }
+
+    /**
+     * @return 最近的对话，从旧到新
+     */
+    public synchronized List<Turn> turns() {
+        return List.copyOf(turns);
+    }
+
+    /**
+     * 清空对话记录，保留临时状态
+     */
+    public synchronized void clearTurns() {
+        if (!turns.isEmpty()) {
+            turns.clear();
+            touch(System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * @param name 状态名
+     * @return 状态值，不存在时返回 null
+     */
+    public synchronized String attribute(String name) {
+        return attributes.get(name);
+    }
+
+    /**
+     * 设置临时状态
+     *
+     * @param name  状态名
+     * @param value 状态值，为 null 时移除
+     */
+    public synchronized void setAttribute(String name, String value) {
+        String previous = value == null ? attributes.remove(name) : attributes.put(name, value);
+        if (previous == null ? value != null : !previous.equals(value)) {
+            touch(System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * @return 最后一次修改的时间戳（毫秒），新会话为 0
+     */
+    public synchronized long lastActiveMillis() {
+        return lastActiveMillis;
+    }
+
+    synchronized Snapshot snapshot() {
+        return new Snapshot(List.copyOf(turns), attributes, lastActiveMillis);
+    }
+
+    void onChange(Runnable onChange) {
+        this.onChange = onChange;
+    }
+
+    private void touch(long now) {
+        lastActiveMillis = now;
+        onChange.run();
+    }
+}
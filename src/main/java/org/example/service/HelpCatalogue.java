@@ -0,0 +1,182 @@
+package org.example.service;
+
+import org.example.commands.Command;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 预渲染的帮助目录
+ * 在指令集合确定时一次性生成总览分页、分类页和每个指令的详情，
+ * /help 只做查表，不再每次拼接字符串
+ *
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+public final class HelpCatalogue {
+
+    /**
+     * 每页最多显示的指令数，避免单条消息过长被 QQ 接口拒绝
+     */
+    static final int COMMANDS_PER_PAGE = 12;
+
+    private static final String HEADER = "🤖 QQ机器人指令帮助\n\n";
+    private static final String FOOTER = "\n💡 使用 /help [指令名] 查看详细用法"
+            + "\n💡 在群聊中需要@机器人";
+
+    private final CommandDispatchTable dispatchTable;
+    private final List<String> pages;
+    private final Map<String, String> categoryPages;
+    private final Map<Command, String> details;
+
+    private HelpCatalogue(CommandDispatchTable dispatchTable, List<String> pages,
+                          Map<String, String> categoryPages, Map<Command, String> details) {
+        this.dispatchTable = dispatchTable;
+        this.pages = pages;
+        this.categoryPages = categoryPages;
+        this.details = details;
+    }
+
+    /**
+     * 根据分发表渲染帮助目录
+     *
+     * @param dispatchTable 指令分发表
+     * @return 帮助目录
+     */
+    public static HelpCatalogue render(CommandDispatchTable dispatchTable) {
+        // 分类 -> 指令，保持注册顺序
+        Map<String, List<Command>> byCategory = new LinkedHashMap<>();
+        Map<Command, String> details = new IdentityHashMap<>();
+        for (Command command : dispatchTable.commands()) {
+            details.put(command, renderDetail(command));
+            if (command.isListedInHelp()) {
+                byCategory.computeIfAbsent(command.getCategory(), k -> new ArrayList<>()).add(command);
+            }
+        }
+
+        List<String> pages = renderPages(byCategory);
+
+        Map<String, String> categoryPages = new HashMap<>();
+        for (Map.Entry<String, List<Command>> entry : byCategory.entrySet()) {
+            StringBuilder sb = new StringBuilder(HEADER);
+            appendCategory(sb, entry.getKey(), entry.getValue());
+            sb.append(FOOTER);
+            categoryPages.put(entry.getKey().toLowerCase(), sb.toString());
+        }
+
+        return new HelpCatalogue(dispatchTable, Collections.unmodifiableList(pages),
+                categoryPages, details);
+    }
+
+    /**
+     * @return 总页数
+     */
+    public int pageCount() {
+        return pages.size();
+    }
+
+    /**
+     * 获取总览页
+     *
+     * @param page 页码，从 1 开始
+     * @return 该页内容，页码越界时返回提示
+     */
+    public String page(int page) {
+        if (page < 1 || page > pages.size()) {
+            return "❌ 页码超出范围，共 " + pages.size() + " 页";
+        }
+        return pages.get(page - 1);
+    }
+
+    /**
+     * 获取指令或分类的帮助
+     *
+     * @param name 指令名、别名或分类名
+     * @return 帮助内容，未找到返回null
+     */
+    public String lookup(String name) {
+        Command command = dispatchTable.lookup(name);
+        if (command != null) {
+            return details.get(command);
+        }
+        return categoryPages.get(name.toLowerCase());
+    }
+
+    private static List<String> renderPages(Map<String, List<Command>> byCategory) {
+        // 先按每页上限切分，分类可能跨页
+        List<List<Map.Entry<String, Command>>> chunks = new ArrayList<>();
+        List<Map.Entry<String, Command>> current = new ArrayList<>();
+        for (Map.Entry<String, List<Command>> entry : byCategory.entrySet()) {
+            for (Command command : entry.getValue()) {
+                if (current.size() == COMMANDS_PER_PAGE) {
+                    chunks.add(current);
+                    current = new ArrayList<>();
+                }
+                current.add(Map.entry(entry.getKey(), command));
+            }
+        }
+        chunks.add(current);
+
+        List<String> pages = new ArrayList<>(chunks.size());
+        for (int i = 0; i < chunks.size(); i++) {
+            StringBuilder sb = new StringBuilder(HEADER);
+            String category = null;
+            List<Command> group = new ArrayList<>();
+            for (Map.Entry<String, Command> item : chunks.get(i)) {
+                if (!item.getKey().equals(category)) {
+                    if (category != null) {
+                        appendCategory(sb, category, group);
+                        sb.append('\n');
+                        group.clear();
+                    }
+                    category = item.getKey();
+                }
+                group.add(item.getValue());
+            }
+            if (category != null) {
+                appendCategory(sb, category, group);
+            }
+            if (chunks.size() > 1) {
+                sb.append("\n📄 第 ").append(i + 1).append('/').append(chunks.size())
+                        .append(" 页，发送 /help [页码] 翻页");
+            }
+            sb.append(FOOTER);
+            pages.add(sb.toString());
+        }
+        return pages;
+    }
+
+    private static void appendCategory(StringBuilder sb, String category, List<Command> commands) {
+        sb.append("【").append(category).append("】\n");
+        for (Command command : commands) {
+            sb.append("• /").append(command.getName())
+                    .append(" - ").append(command.getDescription())
+                    .append("\n");
+        }
+    }
+
+    private static String renderDetail(Command command) {
+        StringBuilder sb = new StringBuilder("📖 指令详情\n\n");
+        sb.append("指令：/").append(command.getName()).append("\n");
+        List<String> aliases = command.getAliases();
+        if (!aliases.isEmpty()) {
+            sb.append("别名：");
+            for (int i = 0; i < aliases.size(); i++) {
+                if (i > 0) {
+                    sb.append(", ");
+                }
+                sb.append('/').append(aliases.get(i));
+            }
+            sb.append("\n");
+        }
+        sb.append("分类：").append(command.getCategory()).append("\n");
+        sb.append("描述：").append(command.getDescription()).append("\n\n");
+        sb.append(command.getUsage());
+        return sb.toString();
+    }
+}
@@ -0,0 +1,287 @@
+package org.example.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.example.config.ImageStoreConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * 生成图片存储
+ * 图片按内容的 SHA-256 寻址：相同内容只存一份，同一地址的内容永远不变，可以被 QQ 媒体服务和浏览器长期缓存
+ *
+ * 两级存储：
+ * 1. 内存：按总字节数限制容量（Caffeine 按权重淘汰）
+ * 2. 本地目录：保存时同步写入 {hash}.png，重启后已经发给 QQ 的地址仍然有效；读取时再放回内存；
+ *    目录总大小超过上限时删除最久未写入的文件，被删除但仍在内存中的图片在淘汰时重新写入
+ *
+ * 渲染结果还可以按数据键记住对应的哈希（{@link #putRendered}），数据不变时不再重复渲染
+ *
+ * 指标：cache=generated-image 的缓存统计，qq.image.disk.bytes 本地目录占用字节数
+ *
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+@Component
+public class ImageStore implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageStore.class);
+
+    private static final Pattern HASH_PATTERN = Pattern.compile("[0-9a-f]{64}");
+
+    private static final String EXTENSION = ".png";
+
+    /**
+     * 数据键 -> 图片哈希 的最多条数
+     */
+    private static final long RENDERED_KEYS = 1000;
+
+    private final ImageStoreConfig config;
+
+    private final Path directory;
+
+    // 图片哈希 -> PNG 数据
+    private final Cache<String, byte[]> memory;
+
+    // 数据键 -> 图片哈希
+    private final Cache<String, String> rendered;
+
+    private final AtomicLong diskBytes = new AtomicLong();
+
+    public ImageStore(ImageStoreConfig config) {
+        this.config = config;
+        this.directory = Paths.get(config.getDirectory()).toAbsolutePath();
+        this.memory = Caffeine.newBuilder()
+                .maximumWeight(config.getMemoryMaxBytes())
+                .weigher((String hash, byte[] data) -> data.length)
+                // 淘汰监听在移除操作内同步执行，写盘完成前其它线程读不到"两处都没有"的状态
+                .evictionListener((String hash, byte[] data, RemovalCause cause) -> writeFile(hash, data))
+                .recordStats()
+                .build();
+        this.rendered = Caffeine.newBuilder()
+                .maximumSize(RENDERED_KEYS)
+                .build();
+        this.diskBytes.set(directorySize());
+    }
+
+    /**
+     * 保存 PNG 图片
+     *
+     * @param png PNG 数据
+     * @return 图片哈希
+     */
+    public String put(byte[] png) {
+        String hash = hash(png);
+        memory.asMap().putIfAbsent(hash, png);
+        // 地址发出后随时可能被拉取，不能只留在内存中：进程重启后仍要能从本地目录读到
+        writeFile(hash, png);
+        return hash;
+    }
+
+    /**
+     * 按数据键保存渲染结果，同一数据键对应的图片仍存在时不调用渲染
+     *
+     * @param sourceKey 能唯一确定图片内容的数据键，例如表格内容
+     * @param renderer  渲染函数
+     * @return 图片哈希
+     */
+    public String putRendered(String sourceKey, Supplier<byte[]> renderer) {
+        String known = rendered.getIfPresent(sourceKey);
+        if (known != null && contains(known)) {
+            return known;
+        }
+        String hash = put(renderer.get());
+        rendered.put(sourceKey, hash);
+        return hash;
+    }
+
+    /**
+     * 读取图片
+     *
+     * @param hash 图片哈希
+     * @return PNG 数据，不存在时返回 null
+     */
+    public byte[] get(String hash) {
+        if (!isValidHash(hash)) {
+            return null;
+        }
+        byte[] data = memory.getIfPresent(hash);
+        if (data != null) {
+            return data;
+        }
+        try {
+            data = Files.readAllBytes(file(hash));
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        // 放回内存；再次被淘汰时文件已存在，不会重复写盘
+        memory.asMap().putIfAbsent(hash, data);
+        return data;
+    }
+
+    /**
+     * @param hash 图片哈希
+     * @return 图片是否仍在内存或本地目录中
+     */
+    public boolean contains(String hash) {
+        return memory.getIfPresent(hash) != null || Files.exists(file(hash));
+    }
+
+    /**
+     * 生成 QQ 可以拉取的图片地址
+     *
+     * @param hash 图片哈希
+     * @return 图片地址
+     * @throws IllegalStateException 未配置对外访问地址
+     */
+    public String urlFor(String hash) {
+        String base = config.getPublicBaseUrl();
+        if (base == null || base.isBlank()) {
+            throw new IllegalStateException("未配置 qq.image.public-base-url，无法生成图片地址");
+        }
+        base = base.trim();
+        if (base.endsWith("/")) {
+            base = base.substring(0, base.length() - 1);
+        }
+        return base + "/images/" + hash + EXTENSION;
+    }
+
+    /**
+     * @param hash 待校验的字符串
+     * @return 是否为合法的图片哈希（64 位小写十六进制）
+     */
+    public static boolean isValidHash(String hash) {
+        return hash != null && HASH_PATTERN.matcher(hash).matches();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, memory, "generated-image");
+        Gauge.builder("qq.image.disk.bytes", diskBytes, AtomicLong::get)
+                .description("本地目录中生成图片的总字节数")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    private static String hash(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            // 所有 JVM 都必须支持 SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Path file(String hash) {
+        return directory.resolve(hash + EXTENSION);
+    }
+
+    /**
+     * 把图片写入本地目录，文件已存在时跳过；先写临时文件再原子重命名，读取方不会看到写了一半的文件
+     */
+    private void writeFile(String hash, byte[] data) {
+        Path target = file(hash);
+        if (Files.exists(target)) {
+            return;
+        }
+        try {
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, hash, ".tmp");
+            try {
+                Files.write(temp, data);
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            // 写盘失败只会让这张图片失效，由指令重新生成
+            log.warn("生成图片写入本地目录失败: {}", e.getMessage());
+            return;
+        }
+        if (diskBytes.addAndGet(data.length) > config.getDiskMaxBytes()) {
+            trimDirectory();
+        }
+    }
+
+    /**
+     * 删除最久未写入的文件，直到目录总大小降到上限的 90%
+     */
+    private synchronized void trimDirectory() {
+        if (diskBytes.get() <= config.getDiskMaxBytes()) {
+            return;
+        }
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + EXTENSION)) {
+            stream.forEach(files::add);
+        } catch (IOException e) {
+            log.warn("清理生成图片目录失败: {}", e.getMessage());
+            return;
+        }
+        files.sort(Comparator.comparingLong(ImageStore::lastModified));
+
+        long target = config.getDiskMaxBytes() / 10 * 9;
+        for (Path path : files) {
+            if (diskBytes.get() <= target) {
+                break;
+            }
+            try {
+                long size = Files.size(path);
+                if (Files.deleteIfExists(path)) {
+                    diskBytes.addAndGet(-size);
+                }
+            } catch (IOException e) {
+                // 文件已被删除或无权限，跳过
+            }
+        }
+    }
+
+    private long directorySize() {
+        if (!Files.isDirectory(directory)) {
+            return 0;
+        }
+        long total = 0;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + EXTENSION)) {
+            for (Path path : stream) {
+                total += Files.size(path);
+            }
+        } catch (IOException e) {
+            log.warn("读取生成图片目录失败: {}", e.getMessage());
+        }
+        return total;
+    }
+
+    private static long lastModified(Path path) {
+        try {
+            return Files.readAttributes(path, BasicFileAttributes.class).lastModifiedTime().toMillis();
+        } catch (IOException e) {
+            return Long.MIN_VALUE;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package org.example.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 会话的 MySQL 读写
+ * 会话内容以 JSON 存放在 conversation_session 表，一个会话一行；
+ * 写入使用 INSERT ... ON DUPLICATE KEY UPDATE 批处理，配合连接串中的 rewriteBatchedStatements=true
+ * 由驱动合并为多值 INSERT，一个批次只需一次网络往返
+ *
+ * 表不是 JPA 实体，由 {@link #createTableIfMissing()} 建表
+ *
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+public class JdbcSessionRepository {
+
+    private static final String CREATE_TABLE = """
+            CREATE TABLE IF NOT EXISTS conversation_session (
+                session_key VARCHAR(191) NOT NULL PRIMARY KEY,
+                payload MEDIUMTEXT NOT NULL,
+                updated_at DATETIME(3) NOT NULL,
+                KEY idx_conversation_session_updated_at (updated_at)
+            ) DEFAULT CHARSET = utf8mb4""";
+
+    private static final String SELECT = "SELECT payload FROM conversation_session WHERE session_key = ?";
+
+    private static final String UPSERT = "INSERT INTO conversation_session (session_key, payload, updated_at) "
+            + "VALUES (?, ?, ?) ON DUPLICATE KEY UPDATE payload = VALUES(payload), updated_at = VALUES(updated_at)";
+
+    private static final String PURGE = "DELETE FROM conversation_session WHERE updated_at < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public JdbcSessionRepository(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    public void createTableIfMissing() {
+        jdbcTemplate.execute(CREATE_TABLE);
+    }
+
+    /**
+     * @param key 会话键
+     * @return 保存的会话，不存在时返回 null
+     */
+    public ConversationSession.Snapshot find(String key) {
+        List<String> rows = jdbcTemplate.queryForList(SELECT, String.class, key);
+        if (rows.isEmpty()) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(rows.get(0), ConversationSession.Snapshot.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("会话数据无法解析: " + key, e);
+        }
+    }
+
+    /**
+     * 批量保存会话
+     *
+     * @param snapshots 会话键 -> 快照
+     * @param batchSize 单个 JDBC 批次的最大行数
+     */
+    public void saveAll(Map<String, ConversationSession.Snapshot> snapshots, int batchSize) {
+        List<Object[]> batch = new ArrayList<>(Math.min(snapshots.size(), batchSize));
+        for (Map.Entry<String, ConversationSession.Snapshot> entry : snapshots.entrySet()) {
+            ConversationSession.Snapshot snapshot = entry.getValue();
+            try {
+                batch.add(new Object[]{entry.getKey(), objectMapper.writeValueAsString(snapshot),
+                        new Timestamp(snapshot.lastActiveMillis())});
+            } catch (JsonProcessingException e) {
+                // 快照只含字符串和数字，不会序列化失败
+                throw new IllegalStateException(e);
+            }
+            if (batch.size() >= batchSize) {
+                jdbcTemplate.batchUpdate(UPSERT, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT, batch);
+        }
+    }
+
+    /**
+     * 删除早于指定时间未更新的会话
+     *
+     * @param beforeMillis 时间戳（毫秒）
+     * @return 删除的行数
+     */
+    public int purgeOlderThan(long beforeMillis) {
+        return jdbcTemplate.update(PURGE, new Timestamp(beforeMillis));
+    }
+}
@@ -0,0 +1,154 @@
+package org.example.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.config.DedupConfig;
+import org.springframework.stereotype.Component;
+
+/**
+ * 重复消息过滤器
+ * 在指令分发之前按消息ID过滤网关重连补发、Webhook 重试造成的重复投递
+ *
+ * 两级结构：
+ * 1. 布隆过滤器：绝大多数消息是第一次出现，布隆过滤器判定"一定没见过"后直接记录，不查询缓存
+ * 2. 最近消息ID缓存（Caffeine，写入后过期）：布隆过滤器判定"可能见过"时做精确判断
+ *
+ * 布隆过滤器不能删除元素，按去重窗口轮换：保留当前和上一代两个过滤器，
+ * 一个ID至少在一个完整窗口内可被查到。同一ID的判断和记录在同一把分段锁内完成，
+ * 并发到达的两次投递只有一次会被放行
+ *
+ * 指标：
+ * qq.dedup.checks{result}        unique 新消息 / duplicate 重复消息
+ * qq.dedup.bloom.false.positives 布隆过滤器判定可能见过、但缓存中不存在的次数（含已过期的ID）
+ * qq.dedup.size                  缓存中的消息ID数
+ *
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+@Component
+public class MessageDeduplicator {
+
+    private static final int STRIPES = 64;
+
+    private final DedupConfig config;
+
+    private final long windowNanos;
+
+    // 消息ID -> 占位值，只用作并发集合
+    private final Cache<String, Boolean> recentIds;
+
+    private final Object[] locks = new Object[STRIPES];
+
+    private volatile Generations generations;
+
+    private final Counter uniqueCounter;
+    private final Counter duplicateCounter;
+    private final Counter falsePositiveCounter;
+
+    public MessageDeduplicator(DedupConfig config, MeterRegistry registry) {
+        this.config = config;
+        this.windowNanos = config.getWindow().toNanos();
+        this.recentIds = Caffeine.newBuilder()
+                .maximumSize(config.getMaximumSize())
+                .expireAfterWrite(config.getWindow())
+                .build();
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new Object();
+        }
+        this.generations = new Generations(newFilter(), newFilter(), System.nanoTime());
+
+        this.uniqueCounter = Counter.builder("qq.dedup.checks").tag("result", "unique")
+                .description("去重检查次数").register(registry);
+        this.duplicateCounter = Counter.builder("qq.dedup.checks").tag("result", "duplicate")
+                .description("去重检查次数").register(registry);
+        this.falsePositiveCounter = Counter.builder("qq.dedup.bloom.false.positives")
+                .description("布隆过滤器误判次数").register(registry);
+        Gauge.builder("qq.dedup.size", recentIds, Cache::estimatedSize)
+                .description("去重窗口内记录的消息ID数").register(registry);
+    }
+
+    /**
+     * 判断消息是否已经处理过，没有处理过时同时记录下来
+     *
+     * @param messageId 消息ID
+     * @return 去重窗口内是否已经出现过；消息ID为空或未启用时总是 false
+     */
+    public boolean isDuplicate(String messageId) {
+        if (!config.isEnabled() || messageId == null || messageId.isEmpty()) {
+            return false;
+        }
+        long hash = BloomFilter.hash(messageId);
+        rotateIfExpired();
+
+        synchronized (locks[(int) (hash >>> 58) & (STRIPES - 1)]) {
+            // 在锁内读取，保证看到同一ID上一次记录时使用的过滤器
+            Generations current = generations;
+            if (!current.active.mightContain(hash) && !current.previous.mightContain(hash)) {
+                current.active.put(hash);
+                recentIds.put(messageId, Boolean.TRUE);
+                uniqueCounter.increment();
+                return false;
+            }
+
+            if (recentIds.asMap().putIfAbsent(messageId, Boolean.TRUE) == null) {
+                // 误判或上一代记录已过期，当作新消息并记入当前过滤器
+                current.active.put(hash);
+                falsePositiveCounter.increment();
+                uniqueCounter.increment();
+                return false;
+            }
+        }
+        duplicateCounter.increment();
+        return true;
+    }
+
+    /**
+     * 撤销一条消息的记录，处理失败的消息再次投递时重新处理
+     * 布隆过滤器无法删除，之后的判断会走精确缓存，当作一次误判
+     *
+     * @param messageId 消息ID
+     */
+    public void forget(String messageId) {
+        if (messageId != null && !messageId.isEmpty()) {
+            recentIds.invalidate(messageId);
+        }
+    }
+
+    /**
+     * 当前过滤器已使用满一个窗口时轮换
+     */
+    private void rotateIfExpired() {
+        long now = System.nanoTime();
+        if (now - generations.startNanos < windowNanos) {
+            return;
+        }
+        synchronized (this) {
+            Generations current = generations;
+            if (now - current.startNanos >= windowNanos) {
+                generations = new Generations(newFilter(), current.active, now);
+            }
+        }
+    }
+
+    private BloomFilter newFilter() {
+        return new BloomFilter(config.getMaximumSize(), config.getBloomFalsePositiveRate());
+    }
+
+    /**
+     * 当前与上一代布隆过滤器，整体替换以保证读到的是一致的一对
+     */
+    private static final class Generations {
+        private final BloomFilter active;
+        private final BloomFilter previous;
+        private final long startNanos;
+
+        private Generations(BloomFilter active, BloomFilter previous, long startNanos) {
+            this.active = active;
+            this.previous = previous;
+            this.startNanos = startNanos;
+        }
+    }
+}
@@ -0,0 +1,373 @@
+package org.example.service;
+
+import org.example.config.OutboundSenderConfig;
+import org.example.config.QQBotConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 出站消息发送器
+ * 调用方把消息放入有界队列后立即拿到 CompletableFuture，不会阻塞等待QQ开放平台响应
+ *
+ * 单个调度线程按频道轮询待发送的消息：
+ * 1. 频道令牌桶和机器人令牌桶都有令牌时才发送，否则在令牌可用时再唤醒
+ * 2. 等待令牌期间同一频道积压的文本消息合并为一条发送，合并的各调用方拿到同一个结果
+ * 3. HTTP 请求通过共享连接池异步发出，调度线程本身从不阻塞
+ *
+ * 关闭时仍在排队的消息立即以失败结束，同步等待结果的调用方不会一直挂起
+ *
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+@Service
+public class OutboundMessageSender {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboundMessageSender.class);
+
+    // 可以合并的消息类型
+    private static final String TEXT_MSG_TYPE = "text";
+
+    // 清理空闲频道状态的间隔
+    private static final long SWEEP_INTERVAL_SECONDS = 60;
+
+    private static final Map<String, Object> CLOSED_RESULT = Map.of("success", false, "error", "出站发送器已关闭");
+
+    private final QQBotConfig botConfig;
+    private final OutboundSenderConfig config;
+    private final WebClient webClient;
+    private final BotMetrics metrics;
+
+    // 频道ID -> 该频道的待发送队列和令牌桶
+    private final Map<String, ChannelQueue> channels = new ConcurrentHashMap<>();
+
+    // 有待发送消息的频道，每个频道最多出现一次
+    private final Queue<ChannelQueue> readyChannels = new ConcurrentLinkedQueue<>();
+
+    // 所有频道排队中的消息总数
+    private final AtomicInteger pending = new AtomicInteger();
+
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+
+    private volatile boolean closed;
+
+    private final TokenBucket botBucket;
+
+    private final ScheduledExecutorService dispatcher;
+
+    public OutboundMessageSender(QQBotConfig botConfig, OutboundSenderConfig config,
+                                 @Qualifier("qqOpenApiWebClient") WebClient webClient, BotMetrics metrics) {
+        this.botConfig = botConfig;
+        this.config = config;
+        this.webClient = webClient;
+        this.metrics = metrics;
+        this.botBucket = new TokenBucket(config.getBotRatePerSecond(), config.getBotBurst());
+        this.dispatcher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "outbound-dispatcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.dispatcher.scheduleWithFixedDelay(this::sweepIdleChannels,
+                SWEEP_INTERVAL_SECONDS, SWEEP_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * 发送消息到频道
+     *
+     * @param channelId 频道ID
+     * @param content   消息内容
+     * @param msgType   消息类型
+     * @return 发送结果，格式与 {@link QQBotService#sendMessage} 相同；队列已满时立即返回失败
+     */
+    public CompletableFuture<Map<String, Object>> send(String channelId, String content, String msgType) {
+        if (closed) {
+            return CompletableFuture.completedFuture(CLOSED_RESULT);
+        }
+        if (pending.incrementAndGet() > config.getQueueCapacity()) {
+            pending.decrementAndGet();
+            log.warn("出站队列已满，丢弃消息: channelId={}", channelId);
+            return CompletableFuture.completedFuture(Map.of("success", false, "error", "出站队列已满"));
+        }
+
+        OutboundMessage message = new OutboundMessage(content, msgType);
+        boolean[] becameReady = new boolean[1];
+        ChannelQueue queue = channels.compute(channelId, (id, existing) -> {
+            ChannelQueue q = existing != null ? existing : new ChannelQueue(id,
+                    new TokenBucket(config.getChannelRatePerSecond(), config.getChannelBurst()));
+            becameReady[0] = q.offer(message);
+            return q;
+        });
+        if (becameReady[0]) {
+            readyChannels.add(queue);
+        }
+        signal();
+        if (closed) {
+            // 与 shutdown 并发时，入队晚于清理的消息在这里结束
+            failPending();
+        }
+        return message.result;
+    }
+
+    /**
+     * @return 排队中的消息总数
+     */
+    public int pendingCount() {
+        return pending.get();
+    }
+
+    /**
+     * 停止调度并让所有排队中的消息以失败结束
+     * 已经发出的 HTTP 请求照常完成，由连接池的响应超时兜底
+     */
+    @PreDestroy
+    public void shutdown() {
+        closed = true;
+        dispatcher.shutdownNow();
+        try {
+            // 等正在进行的一轮调度结束，之后队列只会被这里清理
+            dispatcher.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        int failed = failPending();
+        if (failed > 0) {
+            log.warn("出站发送器已关闭，{} 条排队中的消息未发送", failed);
+        }
+    }
+
+    /**
+     * 取出所有频道中排队的消息并以失败结束
+     *
+     * @return 结束的消息数
+     */
+    private int failPending() {
+        int failed = 0;
+        for (ChannelQueue queue : channels.values()) {
+            List<OutboundMessage> messages = queue.pollAll();
+            pending.addAndGet(-messages.size());
+            complete(messages, CLOSED_RESULT);
+            failed += messages.size();
+        }
+        return failed;
+    }
+
+    private void signal() {
+        if (drainScheduled.compareAndSet(false, true)) {
+            try {
+                dispatcher.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                // 已关闭，排队的消息由 shutdown 或 send 结束
+                drainScheduled.set(false);
+            }
+        }
+    }
+
+    /**
+     * 调度线程：每个有消息的频道最多发出一批，拿不到令牌的频道留到令牌可用时再处理
+     */
+    private void drain() {
+        drainScheduled.set(false);
+        long now = System.nanoTime();
+        long nextWake = Long.MAX_VALUE;
+
+        for (int i = readyChannels.size(); i > 0; i--) {
+            ChannelQueue queue = readyChannels.poll();
+            if (queue == null) {
+                break;
+            }
+            long wait = Math.max(queue.bucket.nanosUntilAvailable(now), botBucket.nanosUntilAvailable(now));
+            if (wait > 0) {
+                readyChannels.add(queue);
+                nextWake = Math.min(nextWake, wait);
+                continue;
+            }
+
+            List<OutboundMessage> batch = queue.pollBatch(config.getCoalesceMaxMessages(), config.getCoalesceMaxChars());
+            if (!batch.isEmpty()) {
+                pending.addAndGet(-batch.size());
+                queue.bucket.tryAcquire(now);
+                botBucket.tryAcquire(now);
+                post(queue.channelId, batch);
+            }
+            if (queue.stillReady()) {
+                readyChannels.add(queue);
+                nextWake = 0;
+            }
+        }
+
+        if (nextWake == 0) {
+            signal();
+        } else if (nextWake != Long.MAX_VALUE) {
+            dispatcher.schedule(this::signal, nextWake, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * 异步发出一批（合并后的）消息，完成时回调所有调用方
+     */
+    private void post(String channelId, List<OutboundMessage> batch) {
+        Map<String, Object> messageBody = new HashMap<>();
+        messageBody.put("content", joinContent(batch));
+        messageBody.put("msg_type", batch.get(0).msgType);
+
+        String url = botConfig.getApiBaseUrl() + "/channels/" + channelId + "/messages";
+        long start = metrics.startOutbound();
+
+        webClient.post()
+                .uri(url)
+                .header("Authorization", "QQBot " + botConfig.getToken())
+                .header("Content-Type", "application/json")
+                .bodyValue(messageBody)
+                .retrieve()
+                .bodyToMono(String.class)
+                .defaultIfEmpty("")
+                .subscribe(response -> {
+                    metrics.stopOutbound("send_message", start, false);
+                    complete(batch, Map.of("success", true, "response", response));
+                }, error -> {
+                    metrics.stopOutbound("send_message", start, true);
+                    log.error("发送消息失败: channelId={}", channelId, error);
+                    complete(batch, Map.of("success", false, "error", String.valueOf(error.getMessage())));
+                });
+    }
+
+    private static String joinContent(List<OutboundMessage> batch) {
+        if (batch.size() == 1) {
+            return batch.get(0).content;
+        }
+        StringBuilder content = new StringBuilder();
+        for (OutboundMessage message : batch) {
+            if (content.length() > 0) {
+                content.append('\n');
+            }
+            content.append(message.content);
+        }
+        return content.toString();
+    }
+
+    private static void complete(List<OutboundMessage> batch, Map<String, Object> result) {
+        for (OutboundMessage message : batch) {
+            message.result.complete(result);
+        }
+    }
+
+    /**
+     * 移除没有排队消息且令牌桶已补满的频道，防止频道状态无限增长
+     */
+    private void sweepIdleChannels() {
+        long now = System.nanoTime();
+        for (String channelId : channels.keySet()) {
+            channels.computeIfPresent(channelId, (id, queue) -> queue.isIdle(now) ? null : queue);
+        }
+    }
+
+    private static final class OutboundMessage {
+        private final String content;
+        private final String msgType;
+        private final CompletableFuture<Map<String, Object>> result = new CompletableFuture<>();
+
+        private OutboundMessage(String content, String msgType) {
+            this.content = content;
+            this.msgType = msgType;
+        }
+    }
+
+    /**
+     * 单个频道的待发送队列，队列操作都在自身监视器内完成
+     */
+    private static final class ChannelQueue {
+        private final String channelId;
+        private final TokenBucket bucket;
+        private final ArrayDeque<OutboundMessage> messages = new ArrayDeque<>();
+
+        // 是否已在 readyChannels 中
+        private boolean ready;
+
+        private ChannelQueue(String channelId, TokenBucket bucket) {
+            this.channelId = channelId;
+            this.bucket = bucket;
+        }
+
+        /**
+         * @return 频道是否由空闲变为待发送，是则调用方负责放入 readyChannels
+         */
+        synchronized boolean offer(OutboundMessage message) {
+            messages.add(message);
+            if (ready) {
+                return false;
+            }
+            ready = true;
+            return true;
+        }
+
+        /**
+         * 取出下一批消息：非文本消息单独发送，连续的文本消息在上限内合并
+         */
+        synchronized List<OutboundMessage> pollBatch(int maxMessages, int maxChars) {
+            OutboundMessage first = messages.poll();
+            if (first == null) {
+                return List.of();
+            }
+            if (!TEXT_MSG_TYPE.equals(first.msgType)) {
+                return List.of(first);
+            }
+            List<OutboundMessage> batch = new ArrayList<>();
+            batch.add(first);
+            int chars = first.content.length();
+            while (batch.size() < maxMessages) {
+                OutboundMessage next = messages.peek();
+                if (next == null || !TEXT_MSG_TYPE.equals(next.msgType)
+                        || chars + 1 + next.content.length() > maxChars) {
+                    break;
+                }
+                messages.poll();
+                batch.add(next);
+                chars += 1 + next.content.length();
+            }
+            return batch;
+        }
+
+        /**
+         * 取出全部待发送消息，关闭时使用
+         */
+        synchronized List<OutboundMessage> pollAll() {
+            List<OutboundMessage> all = new ArrayList<>(messages);
+            messages.clear();
+            return all;
+        }
+
+        /**
+         * @return 是否还有待发送消息；没有时清除就绪标记
+         */
+        synchronized boolean stillReady() {
+            if (messages.isEmpty()) {
+                ready = false;
+                return false;
+            }
+            return true;
+        }
+
+        synchronized boolean isIdle(long nowNanos) {
+            return !ready && messages.isEmpty() && bucket.isFull(nowNanos);
+        }
+    }
+}
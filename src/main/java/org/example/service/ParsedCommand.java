@@ -0,0 +1,115 @@
+package org.example.service;
+
+import java.util.Arrays;
+
+/**
+ * 解析后的指令视图
+ * 只记录指令名和参数在原始消息中的位置，按需才截取字符串
+ *
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+public final class ParsedCommand {
+
+    private static final String[] NO_ARGS = new String[0];
+
+    private final String source;
+    private final int nameStart;
+    private final int nameEnd;
+    // 参数边界，按 [start0, end0, start1, end1, ...] 排列
+    private final int[] argBounds;
+    private final int argCount;
+
+    private String name;
+    private String[] args;
+
+    ParsedCommand(String source, int nameStart, int nameEnd, int[] argBounds, int argCount) {
+        this.source = source;
+        this.nameStart = nameStart;
+        this.nameEnd = nameEnd;
+        this.argBounds = argBounds;
+        this.argCount = argCount;
+    }
+
+    /**
+     * @return 原始消息内容
+     */
+    public String source() {
+        return source;
+    }
+
+    /**
+     * @return 指令名在原始消息中的起始位置（不含"/"）
+     */
+    public int nameStart() {
+        return nameStart;
+    }
+
+    /**
+     * @return 指令名在原始消息中的结束位置（不含）
+     */
+    public int nameEnd() {
+        return nameEnd;
+    }
+
+    /**
+     * 获取小写的指令名，首次调用时才分配字符串
+     *
+     * @return 指令名
+     */
+    public String name() {
+        if (name == null) {
+            name = source.substring(nameStart, nameEnd).toLowerCase();
+        }
+        return name;
+    }
+
+    /**
+     * @return 参数个数
+     */
+    public int argCount() {
+        return argCount;
+    }
+
+    /**
+     * 获取第 index 个参数
+     *
+     * @param index 参数下标
+     * @return 参数内容
+     */
+    public String arg(int index) {
+        if (index < 0 || index >= argCount) {
+            throw new IndexOutOfBoundsException("参数下标越界: " + index);
+        }
+        if (args != null) {
+            return args[index];
+        }
+        return source.substring(argBounds[index * 2], argBounds[index * 2 + 1]);
+    }
+
+    /**
+     * 将参数物化为数组，供 {@link org.example.commands.Command#execute(String[])} 使用
+     * 结果会被缓存，多次调用返回同一个数组
+     *
+     * @return 参数数组
+     */
+    public String[] args() {
+        if (args == null) {
+            if (argCount == 0) {
+                args = NO_ARGS;
+            } else {
+                String[] materialized = new String[argCount];
+                for (int i = 0; i < argCount; i++) {
+                    materialized[i] = source.substring(argBounds[i * 2], argBounds[i * 2 + 1]);
+                }
+                args = materialized;
+            }
+        }
+        return args;
+    }
+
+    @Override
+    public String toString() {
+        return "/" + name() + " " + Arrays.toString(args());
+    }
+}
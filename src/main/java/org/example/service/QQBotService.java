@@ -1,19 +1,36 @@
 package org.example.service;
 
+import org.example.audit.AuditLog;
+import org.example.config.DedupConfig;
 import org.example.config.QQBotConfig;
+import org.example.event.AtMessageCreate;
+import org.example.event.BotEvent;
+import org.example.event.C2CMessageCreate;
+import org.example.event.CallbackValidation;
+import org.example.event.DirectMessageCreate;
+import org.example.event.EventDecoder;
+import org.example.event.GroupAtMessageCreate;
+import org.example.event.MessageCreate;
+import org.example.event.MessageEvent;
+import org.example.event.NodeEnvelope;
+import org.example.event.Ready;
+import org.example.reply.Reply;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.Marker;
+import org.slf4j.MarkerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 
-import javax.crypto.Mac;
-import javax.crypto.spec.SecretKeySpec;
-import java.nio.charset.StandardCharsets;
-import java.security.InvalidKeyException;
-import java.security.NoSuchAlgorithmException;
-import java.util.Base64;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * QQ机器人服务类
@@ -25,18 +42,55 @@ import java.util.Map;
 @Service
 public class QQBotService {
 
+    private static final Logger log = LoggerFactory.getLogger(QQBotService.class);
+
+    // 日志采样按 Marker 名区分事件类型；Marker 创建后不会释放，只使用固定的几个，
+    // 外部传入的未知事件类型统一归入 UNKNOWN_EVENT
+    private static final Marker AT_MESSAGE_MARKER = MarkerFactory.getMarker(AtMessageCreate.TYPE);
+    private static final Marker GROUP_AT_MESSAGE_MARKER = MarkerFactory.getMarker(GroupAtMessageCreate.TYPE);
+    private static final Marker C2C_MESSAGE_MARKER = MarkerFactory.getMarker(C2CMessageCreate.TYPE);
+    private static final Marker DIRECT_MESSAGE_MARKER = MarkerFactory.getMarker(DirectMessageCreate.TYPE);
+    private static final Marker MESSAGE_MARKER = MarkerFactory.getMarker(MessageCreate.TYPE);
+    private static final Marker UNKNOWN_EVENT_MARKER = MarkerFactory.getMarker("UNKNOWN_EVENT");
+
     @Autowired
     private QQBotConfig config;
 
     @Autowired
     private CommandService commandService;
 
-    private final WebClient webClient;
+    @Autowired
+    private BotMetrics metrics;
+
+    @Autowired
+    private OutboundMessageSender outboundSender;
+
+    @Autowired
+    private WebhookSignatureVerifier signatureVerifier;
+
+    @Autowired
+    private MessageDeduplicator deduplicator;
+
+    @Autowired
+    private AuditLog auditLog;
+
+    // 与出站发送器共享连接池
+    @Autowired
+    @Qualifier("qqOpenApiWebClient")
+    private WebClient webClient;
+
     private final ObjectMapper objectMapper;
 
-    public QQBotService() {
-        this.webClient = WebClient.builder().build();
+    // 消息ID -> 处理中或最近完成的结果，供桥接失败后的 HTTP 重试复用
+    private final Cache<String, CompletableFuture<Map<String, Object>>> recentResults;
+
+    @Autowired
+    public QQBotService(DedupConfig dedupConfig) {
         this.objectMapper = new ObjectMapper();
+        this.recentResults = Caffeine.newBuilder()
+                .maximumSize(dedupConfig.getMaximumSize())
+                .expireAfterWrite(dedupConfig.getRetryResultTtl())
+                .build();
     }
 
     /**
@@ -47,121 +101,243 @@ public class QQBotService {
      * @return 处理结果
      */
     public Map<String, Object> processMessageFromNode(String eventType, Map<String, Object> data) {
-        System.out.println("[QQBotService] 处理Node.js转发的事件: " + eventType);
+        return processMessageFromNodeAsync(eventType, data).join();
+    }
 
-        if ("AT_MESSAGE_CREATE".equals(eventType)) {
-            // 处理频道@消息
-            String content = (String) data.get("content");
-            String channelId = (String) data.get("channel_id");
-            String guildId = (String) data.get("guild_id");
-            String messageId = (String) data.get("id");
+    /**
+     * 异步处理从Node.js服务转发过来的消息
+     * 
+     * @param eventType 事件类型
+     * @param data      事件数据
+     * @return 处理结果
+     */
+    public CompletableFuture<Map<String, Object>> processMessageFromNodeAsync(String eventType, Map<String, Object> data) {
+        return processEventAsync(EventDecoder.fromMap(eventType, data));
+    }
 
-            System.out.println("[QQBotService] 频道消息内容: " + content);
-            System.out.println("[QQBotService] 频道ID: " + channelId);
-            System.out.println("[QQBotService] 频道GUILDID: " + guildId);
+    /**
+     * 异步处理一个已解码的事件
+     * 指令在指令线程池中执行，调用线程不会被阻塞
+     * 
+     * @param event 事件
+     * @return 处理结果
+     */
+    public CompletableFuture<Map<String, Object>> processEventAsync(BotEvent event) {
+        return processEventAsync(event, false);
+    }
 
-            // 尝试将消息作为指令处理，获取回复内容
-            String replyContent = commandService.processCommand(content);
-            
-            if (replyContent != null && !replyContent.isEmpty()) {
-                // 需要回复，让Node.js处理回复
-                return Map.of(
-                        "shouldReply", true,
-                        "replyContent", replyContent,
-                        "channelId", channelId,
-                        "guildId", guildId,
-                        "messageId", messageId,
-                        "status", "COMMAND_HANDLED");
-            } else {
-                return Map.of(
-                        "shouldReply", false,
-                        "replyContent", "",
-                        "status", "AT_MESSAGE_PROCESSED");
+    /**
+     * 异步处理一个已解码的事件
+     * 
+     * @param event 事件
+     * @param retry 是否为桥接请求失败后改走 HTTP 的重试；重试复用原请求的处理结果，不按重复消息丢弃
+     * @return 处理结果
+     */
+    public CompletableFuture<Map<String, Object>> processEventAsync(BotEvent event, boolean retry) {
+        String eventType = event.eventType();
+        long start = metrics.startEvent();
+        CompletableFuture<Map<String, Object>> result;
+        try {
+            result = event instanceof MessageEvent message && hasId(message)
+                    ? dispatchMessageAsync(message, retry)
+                    : dispatchEventAsync(event);
+        } catch (RuntimeException e) {
+            metrics.stopEvent(eventType, start, true);
+            throw e;
+        }
+        return result.whenComplete((reply, error) -> metrics.stopEvent(eventType, start, error != null));
+    }
+
+    /**
+     * 带去重的消息处理
+     * 处理中和最近完成的结果按消息ID保留一段时间：Node.js 在桥接超时或断开后改走 HTTP 重试时，
+     * 原请求可能仍在执行或已经完成，此时复用原结果；原请求失败时撤销去重记录，重试重新处理
+     */
+    private CompletableFuture<Map<String, Object>> dispatchMessageAsync(MessageEvent message, boolean retry) {
+        String messageId = message.id();
+        if (retry) {
+            CompletableFuture<Map<String, Object>> original = recentResults.getIfPresent(messageId);
+            if (original != null && !original.isCompletedExceptionally()) {
+                log.info("桥接重试复用原处理结果: {} id={}", message.eventType(), messageId);
+                return original;
             }
-        } else if ("GROUP_AT_MESSAGE_CREATE".equals(eventType)) {
-            // 处理群聊@消息
-            String content = (String) data.get("content");
-            String groupOpenid = (String) data.get("group_openid");
+        }
 
-            System.out.println("[QQBotService] 群聊消息内容: " + content);
-            System.out.println("[QQBotService] 群聊ID: " + groupOpenid);
+        // 网关重连补发的重复消息不再执行指令，也不再回复
+        if (isDuplicate(message)) {
+            return CompletableFuture.completedFuture(Map.of(
+                    "shouldReply", false,
+                    "replyContent", "",
+                    "status", "DUPLICATE_EVENT"));
+        }
 
-            // 尝试将消息作为指令处理
-            String replyContent = commandService.processCommand(content);
-            if (replyContent != null) {
-                return Map.of(
-                        "shouldReply", true,
-                        "replyContent", replyContent,
-                        "status", "COMMAND_HANDLED");
-            } else {
-                return Map.of(
-                        "shouldReply", true,
-                        "replyContent", "感谢您在群聊中@我，如果需要帮助，请发送 /help",
-                        "status", "GROUP_AT_MESSAGE_PROCESSED");
+        CompletableFuture<Map<String, Object>> result;
+        try {
+            result = dispatchEventAsync(message);
+        } catch (RuntimeException e) {
+            deduplicator.forget(messageId);
+            throw e;
+        }
+        recentResults.put(messageId, result);
+        return result.whenComplete((reply, error) -> {
+            if (error != null) {
+                deduplicator.forget(messageId);
+                recentResults.invalidate(messageId);
             }
-        } else if ("C2C_MESSAGE_CREATE".equals(eventType)) {
-            // 处理私聊消息
-            String content = (String) data.get("content");
-            @SuppressWarnings("unchecked")
-            Map<String, String> author = (Map<String, String>) data.get("author");
-            String userOpenid = author.get("user_openid");
+        });
+    }
+
+    private static boolean hasId(MessageEvent message) {
+        return message.id() != null && !message.id().isEmpty();
+    }
+
+    private CompletableFuture<Map<String, Object>> dispatchEventAsync(BotEvent event) {
+        if (event instanceof AtMessageCreate at) {
+            // 处理频道@消息
+            log.debug(AT_MESSAGE_MARKER, "频道消息 channelId={} guildId={} content={}",
+                    at.channelId(), at.guildId(), at.content());
 
-            System.out.println("[QQBotService] 私聊消息内容: " + content);
-            System.out.println("[QQBotService] 用户ID: " + userOpenid);
+            // 尝试将消息作为指令处理，获取回复内容
+            return commandService.processCommandAsync(at).thenApply(reply -> {
+                if (reply != null && !reply.isEmpty()) {
+                    // 需要回复，让Node.js处理回复；回复对象随响应体序列化一次
+                    return Map.of(
+                            "shouldReply", true,
+                            "reply", reply,
+                            "channelId", at.channelId(),
+                            "guildId", at.guildId(),
+                            "messageId", at.id(),
+                            "status", "COMMAND_HANDLED");
+                } else {
+                    return Map.of(
+                            "shouldReply", false,
+                            "replyContent", "",
+                            "status", "AT_MESSAGE_PROCESSED");
+                }
+            });
+        } else if (event instanceof GroupAtMessageCreate group) {
+            // 处理群聊@消息
+            log.debug(GROUP_AT_MESSAGE_MARKER, "群聊消息 groupOpenid={} content={}",
+                    group.groupOpenid(), group.content());
 
             // 尝试将消息作为指令处理
-            String replyContent = commandService.processCommand(content);
-            if (replyContent != null) {
-                return Map.of(
-                        "shouldReply", true,
-                        "replyContent", replyContent,
-                        "status", "COMMAND_HANDLED");
-            } else {
-                return Map.of(
-                        "shouldReply", true,
-                        "replyContent", "您好！感谢您的私聊消息，如果需要帮助，请发送 /help",
-                        "status", "C2C_MESSAGE_PROCESSED");
-            }
-        } else if ("DIRECT_MESSAGE_CREATE".equals(eventType)) {
-            // 处理频道私聊消息
-            String content = (String) data.get("content");
-            String channelId = (String) data.get("channel_id");
-            String guildId = (String) data.get("guild_id");
+            return commandService.processCommandAsync(group).thenApply(reply -> replyOrDefault(
+                    reply,
+                    "感谢您在群聊中@我，如果需要帮助，请发送 /help",
+                    "GROUP_AT_MESSAGE_PROCESSED"));
+        } else if (event instanceof C2CMessageCreate c2c) {
+            // 处理私聊消息
+            log.debug(C2C_MESSAGE_MARKER, "私聊消息 userOpenid={} content={}",
+                    c2c.userOpenid(), c2c.content());
 
-            System.out.println("[QQBotService] 频道私聊消息内容: " + content);
-            System.out.println("[QQBotService] 频道私聊频道ID: " + channelId);
-            System.out.println("[QQBotService] 频道ID: " + guildId);
+            // 尝试将消息作为指令处理
+            return commandService.processCommandAsync(c2c).thenApply(reply -> replyOrDefault(
+                    reply,
+                    "您好！感谢您的私聊消息，如果需要帮助，请发送 /help",
+                    "C2C_MESSAGE_PROCESSED"));
+        } else if (event instanceof DirectMessageCreate direct) {
+            // 处理频道私聊消息
+            log.debug(DIRECT_MESSAGE_MARKER, "频道私聊消息 channelId={} guildId={} content={}",
+                    direct.channelId(), direct.guildId(), direct.content());
 
             // 尝试将消息作为指令处理
-            String replyContent = commandService.processCommand(content);
-            if (replyContent != null) {
-                return Map.of(
-                        "shouldReply", true,
-                        "replyContent", replyContent,
-                        "status", "COMMAND_HANDLED");
-            } else {
-                return Map.of(
-                        "shouldReply", true,
-                        "replyContent", "您好！感谢您的频道私聊消息，如果需要帮助，请发送 /help",
-                        "status", "DIRECT_MESSAGE_PROCESSED");
-            }
+            return commandService.processCommandAsync(direct).thenApply(reply -> replyOrDefault(
+                    reply,
+                    "您好！感谢您的频道私聊消息，如果需要帮助，请发送 /help",
+                    "DIRECT_MESSAGE_PROCESSED"));
         }
 
-        return Map.of(
+        return CompletableFuture.completedFuture(Map.of(
                 "shouldReply", false,
                 "replyContent", "",
-                "status", "EVENT_IGNORED");
+                "status", "EVENT_IGNORED"));
+    }
+
+    private boolean isDuplicate(MessageEvent message) {
+        if (deduplicator.isDuplicate(message.id())) {
+            log.info("忽略重复投递的消息: {} id={}", message.eventType(), message.id());
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 构建回复结果：有指令回复时使用指令回复，否则使用默认提示
+     */
+    private static Map<String, Object> replyOrDefault(Reply reply, String defaultReply, String defaultStatus) {
+        if (reply != null) {
+            return Map.of(
+                    "shouldReply", true,
+                    "reply", reply,
+                    "status", "COMMAND_HANDLED");
+        }
+        return Map.of(
+                "shouldReply", true,
+                "reply", Reply.text(defaultReply),
+                "status", defaultStatus);
+    }
+
+    /**
+     * 并发处理一批从Node.js服务转发过来的事件
+     * notify 信封只记录日志，与 /qq/event-notification 相同
+     * 
+     * @param envelopes 事件信封列表
+     * @return 与输入顺序一一对应的处理结果
+     */
+    public CompletableFuture<List<Map<String, Object>>> processEnvelopesAsync(List<NodeEnvelope> envelopes) {
+        List<CompletableFuture<Map<String, Object>>> results = new ArrayList<>(envelopes.size());
+        for (NodeEnvelope envelope : envelopes) {
+            BotEvent event = envelope.event();
+
+            if (envelope.isNotify()) {
+                logEvent(event);
+                results.add(CompletableFuture.completedFuture(Map.of(
+                        "shouldReply", false,
+                        "replyContent", "",
+                        "status", "EVENT_LOGGED")));
+                continue;
+            }
+
+            CompletableFuture<Map<String, Object>> result;
+            try {
+                result = processEventAsync(event, envelope.retry());
+            } catch (Exception e) {
+                result = CompletableFuture.failedFuture(e);
+            }
+            // 单个事件失败不影响同批其它事件
+            results.add(result.exceptionally(e -> {
+                log.error("批量处理事件失败: {}", event.eventType(), e);
+                return Map.of(
+                        "shouldReply", false,
+                        "replyContent", "",
+                        "error", "处理消息失败: " + e.getMessage(),
+                        "status", "PROCESS_FAILED");
+            }));
+        }
+
+        return CompletableFuture.allOf(results.toArray(new CompletableFuture[0]))
+                .thenApply(ignored -> {
+                    List<Map<String, Object>> replies = new ArrayList<>(results.size());
+                    for (CompletableFuture<Map<String, Object>> result : results) {
+                        replies.add(result.join());
+                    }
+                    return replies;
+                });
     }
 
     /**
      * 记录从Node.js服务转发过来的事件
+     * 事件放入审计日志队列后立即返回，由 {@link AuditLog} 的写入线程批量写入数据库或文件
      * 
-     * @param eventType 事件类型
-     * @param data      事件数据
+     * @param event 事件
      */
-    public void logEvent(String eventType, Map<String, Object> data) {
-        System.out.println("收到Node.js事件通知: " + eventType);
-        // 在这里可以添加更详细的日志记录逻辑，例如写入文件或数据库
+    public void logEvent(BotEvent event) {
+        if (event instanceof Ready ready) {
+            log.info("收到Node.js事件通知: {} sessionId={} bot={}", event.eventType(), ready.sessionId(), ready.username());
+        } else {
+            log.debug("收到Node.js事件通知: {}", event.eventType());
+        }
+        auditLog.record(event);
     }
 
     /**
@@ -172,116 +348,93 @@ public class QQBotService {
      * @return 是否验证通过
      */
     public boolean verifySignature(Map<String, String> headers, String payload) {
-        try {
-            String timestamp = headers.get("x-signature-timestamp");
-            String signature = headers.get("x-signature-ed25519");
-
-            if (timestamp == null || signature == null) {
-                return false;
-            }
-
-            // 构建待签名字符串
-            String toSign = timestamp + payload;
-
-            // 使用HMAC-SHA256计算签名
-            Mac mac = Mac.getInstance("HmacSHA256");
-            SecretKeySpec secretKeySpec = new SecretKeySpec(
-                    config.getSecret().getBytes(StandardCharsets.UTF_8),
-                    "HmacSHA256");
-            mac.init(secretKeySpec);
-
-            byte[] hash = mac.doFinal(toSign.getBytes(StandardCharsets.UTF_8));
-            String calculatedSignature = Base64.getEncoder().encodeToString(hash);
-
-            return calculatedSignature.equals(signature);
-
-        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
-            e.printStackTrace();
-            return false;
-        }
+        return signatureVerifier.verify(headers, payload);
     }
 
     /**
      * 处理接收到的消息
+     * 回调地址验证（op 13）返回 JSON 格式的验证响应，其它事件返回 OK
      * 
      * @param payload 消息载荷
      * @return 处理结果
      */
     public String handleMessage(String payload) {
+        String type = null;
+        long start = metrics.startEvent();
+        boolean failed = false;
         try {
-            Map<String, Object> message = objectMapper.readValue(payload, Map.class);
-
-            // 获取消息类型
-            String type = (String) message.get("t");
-            Map<String, Object> data = (Map<String, Object>) message.get("d");
-
-            switch (type) {
-                case "READY":
-                    handleReadyEvent(data);
-                    break;
-                case "AT_MESSAGE_CREATE":
-                    handleAtMessageCreate(data);
-                    break;
-                case "MESSAGE_CREATE":
-                    handleMessageCreate(data);
-                    break;
-                default:
-                    System.out.println("Unknown message type: " + type);
-                    break;
+            BotEvent event = EventDecoder.decodeWebhook(payload);
+            type = event.eventType();
+
+            if (event instanceof CallbackValidation validation) {
+                return objectMapper.writeValueAsString(signatureVerifier.callbackValidationResponse(
+                        validation.plainToken(), validation.eventTs()));
+            } else if (event instanceof MessageEvent message && isDuplicate(message)) {
+                // Webhook 重试的消息已经处理过，直接确认，避免平台继续重试
+                return "OK";
+            } else if (event instanceof Ready ready) {
+                handleReadyEvent(ready);
+            } else if (event instanceof AtMessageCreate at) {
+                handleAtMessageCreate(at);
+            } else if (event instanceof MessageCreate message) {
+                handleMessageCreate(message);
+            } else {
+                log.debug(UNKNOWN_EVENT_MARKER, "未处理的事件类型: {}", type);
             }
 
             return "OK";
 
         } catch (Exception e) {
-            e.printStackTrace();
+            failed = true;
+            log.error("处理Webhook消息失败", e);
             return "ERROR: " + e.getMessage();
+        } finally {
+            metrics.stopEvent(type, start, failed);
         }
     }
 
     /**
      * 处理READY事件
      */
-    private void handleReadyEvent(Map<String, Object> data) {
-        System.out.println("机器人已连接，用户信息: " + data.get("user"));
+    private void handleReadyEvent(Ready ready) {
+        log.info("机器人已连接，用户信息: id={} username={}", ready.userId(), ready.username());
     }
 
     /**
      * 处理@消息事件
      */
-    private void handleAtMessageCreate(Map<String, Object> data) {
-        System.out.println("收到@消息: " + data);
+    private void handleAtMessageCreate(AtMessageCreate at) {
+        log.debug(AT_MESSAGE_MARKER, "收到@消息: {}", at);
 
-        String channelId = (String) data.get("channel_id");
-        String content = (String) data.get("content");
+        String channelId = at.channelId();
+        String content = at.content();
 
         // 尝试将消息作为指令处理
-        if (commandService.handleCommand(content, channelId)) {
+        Reply reply = commandService.processCommand(at);
+        if (reply != null && !reply.isEmpty()) {
             return; // 如果是指令，则不再执行后续逻辑
         }
 
-        // 如果不是指令，执行原有的自动回复逻辑
-        Map<String, Object> author = (Map<String, Object>) data.get("author");
-
         // 简单的自动回复逻辑
         if (content != null && content.contains("hello")) {
-            sendMessage(channelId, "Hello! 我是QQ机器人，很高兴见到你！", "text");
+            sendMessageAsync(channelId, "Hello! 我是QQ机器人，很高兴见到你！", "text");
         } else if (content != null && content.contains("时间")) {
-            sendMessage(channelId, "当前时间: " + java.time.LocalDateTime.now(), "text");
+            sendMessageAsync(channelId, "当前时间: " + java.time.LocalDateTime.now(), "text");
         } else {
-            sendMessage(channelId, "收到你的消息了！", "text");
+            sendMessageAsync(channelId, "收到你的消息了！", "text");
         }
     }
 
     /**
      * 处理普通消息事件
      */
-    private void handleMessageCreate(Map<String, Object> data) {
-        System.out.println("收到消息: " + data);
+    private void handleMessageCreate(MessageCreate message) {
+        log.debug(MESSAGE_MARKER, "收到消息: {}", message);
         // 普通消息处理逻辑
     }
 
     /**
-     * 发送消息
+     * 发送消息（阻塞等待发送结果）
      * 
      * @param channelId 频道ID
      * @param content   消息内容
@@ -289,28 +442,20 @@ public class QQBotService {
      * @return 发送结果
      */
     public Map<String, Object> sendMessage(String channelId, String content, String msgType) {
-        try {
-            Map<String, Object> messageBody = new HashMap<>();
-            messageBody.put("content", content);
-            messageBody.put("msg_type", msgType);
-
-            String url = config.getApiBaseUrl() + "/channels/" + channelId + "/messages";
-
-            String response = webClient.post()
-                    .uri(url)
-                    .header("Authorization", "QQBot " + config.getToken())
-                    .header("Content-Type", "application/json")
-                    .bodyValue(messageBody)
-                    .retrieve()
-                    .bodyToMono(String.class)
-                    .block();
-
-            return Map.of("success", true, "response", response);
+        return sendMessageAsync(channelId, content, msgType).join();
+    }
 
-        } catch (Exception e) {
-            e.printStackTrace();
-            return Map.of("success", false, "error", e.getMessage());
-        }
+    /**
+     * 异步发送消息
+     * 消息进入出站队列，按频道和机器人限流后发出，同一频道积压的文本消息可能被合并
+     * 
+     * @param channelId 频道ID
+     * @param content   消息内容
+     * @param msgType   消息类型
+     * @return 发送结果，包含 success 以及 response 或 error
+     */
+    public CompletableFuture<Map<String, Object>> sendMessageAsync(String channelId, String content, String msgType) {
+        return outboundSender.send(channelId, content, msgType);
     }
 
     /**
@@ -330,7 +475,7 @@ public class QQBotService {
             return objectMapper.readValue(response, Map.class);
 
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("调用QQ开放平台接口失败", e);
             return Map.of("error", e.getMessage());
         }
     }
@@ -352,7 +497,7 @@ public class QQBotService {
             return objectMapper.readValue(response, Map.class);
 
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("调用QQ开放平台接口失败", e);
             return Map.of("error", e.getMessage());
         }
     }
@@ -374,7 +519,7 @@ public class QQBotService {
             return objectMapper.readValue(response, Map.class);
 
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("调用QQ开放平台接口失败", e);
             return Map.of("error", e.getMessage());
         }
     }
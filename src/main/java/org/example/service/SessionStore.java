@@ -0,0 +1,304 @@
+package org.example.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import org.example.config.SessionStoreConfig;
+import org.example.event.MessageEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 会话存储
+ * 按用户 openid 或群/子频道保存 {@link ConversationSession}，供多轮指令和 AI 对话读取上下文
+ *
+ * 1. 内存：Caffeine 按 W-TinyLFU 限制会话数，空闲超过 idle-expiry 后移除；活跃会话的读写只访问内存
+ * 2. MySQL（qq.session.persistence.enabled）：修改过的会话记入待写集合，后台线程按 flush-interval
+ *    取快照后批量写入；内存中没有的会话在第一次访问时从数据库加载
+ *
+ * 待写集合持有会话引用，直到写入成功：淘汰后又立即访问的会话直接从待写集合取回，不会读到数据库中的旧数据
+ *
+ * 存储本身不记录任何消息：需要多轮上下文的指令自行通过 {@link #session(MessageEvent)} 读写，
+ * 没有这样的指令时不会产生会话，也不会写入数据库
+ *
+ * 指标：cache=conversation-session 的缓存统计，qq.session.pending 待写会话数，
+ * qq.session.persisted{result} 写入成功/失败/丢弃的会话数
+ *
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+@Component
+public class SessionStore {
+
+    private static final Logger log = LoggerFactory.getLogger(SessionStore.class);
+
+    private static final String USER_PREFIX = "u:";
+    private static final String CONVERSATION_PREFIX = "c:";
+
+    // 清理数据库中过期会话的间隔
+    private static final long PURGE_INTERVAL_MINUTES = 60;
+
+    private final SessionStoreConfig config;
+
+    // 未启用持久化或没有数据源时为 null
+    private final JdbcSessionRepository repository;
+
+    private final LoadingCache<String, ConversationSession> sessions;
+
+    // 修改后尚未写入数据库的会话
+    private final Map<String, ConversationSession> dirty = new ConcurrentHashMap<>();
+
+    // 正在写入的会话，写入完成前从这里加载，避免读到数据库中的旧数据
+    private volatile Map<String, ConversationSession> inFlight = Map.of();
+
+    private final ScheduledExecutorService flusher;
+
+    private final Counter persisted;
+    private final Counter failed;
+    private final Counter dropped;
+
+    public SessionStore(SessionStoreConfig config, ObjectProvider<JdbcTemplate> jdbcTemplate,
+                        MeterRegistry registry) {
+        this.config = config;
+        this.repository = createRepository(config, jdbcTemplate.getIfAvailable());
+        this.sessions = Caffeine.newBuilder()
+                .maximumSize(config.getMaximumSize())
+                .expireAfterAccess(config.getIdleExpiry())
+                .recordStats()
+                .build(this::load);
+
+        CaffeineCacheMetrics.monitor(registry, sessions, "conversation-session");
+        Gauge.builder("qq.session.pending", dirty, Map::size)
+                .description("修改后尚未写入数据库的会话数")
+                .register(registry);
+        this.persisted = persistedCounter(registry, "success");
+        this.failed = persistedCounter(registry, "failure");
+        this.dropped = persistedCounter(registry, "dropped");
+
+        if (repository == null) {
+            this.flusher = null;
+            return;
+        }
+        this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "session-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = config.getPersistence().getFlushInterval().toMillis();
+        flusher.scheduleWithFixedDelay(this::flushQuietly, interval, interval, TimeUnit.MILLISECONDS);
+        flusher.scheduleWithFixedDelay(this::purgeQuietly,
+                PURGE_INTERVAL_MINUTES, PURGE_INTERVAL_MINUTES, TimeUnit.MINUTES);
+    }
+
+    /**
+     * @param openid 用户 openid（频道消息为用户ID）
+     * @return 用户会话键
+     */
+    public static String userKey(String openid) {
+        return USER_PREFIX + openid;
+    }
+
+    /**
+     * @param conversationId 群 openid 或子频道ID
+     * @return 群/子频道会话键
+     */
+    public static String conversationKey(String conversationId) {
+        return CONVERSATION_PREFIX + conversationId;
+    }
+
+    /**
+     * 消息所属的会话键：群聊和子频道按会话共享上下文，单聊按用户
+     *
+     * @param event 消息事件
+     * @return 会话键
+     */
+    public static String keyOf(MessageEvent event) {
+        String conversationId = event.conversationId();
+        return conversationId != null ? conversationKey(conversationId) : userKey(event.senderId());
+    }
+
+    /**
+     * 获取会话，不存在时创建；内存中没有且启用了持久化时从数据库加载
+     *
+     * @param key 会话键
+     * @return 会话
+     */
+    public ConversationSession session(String key) {
+        return sessions.get(key);
+    }
+
+    /**
+     * @param event 消息事件
+     * @return 消息所属的会话
+     */
+    public ConversationSession session(MessageEvent event) {
+        return session(keyOf(event));
+    }
+
+    /**
+     * @return 修改后尚未写入数据库的会话数
+     */
+    public int pendingCount() {
+        return dirty.size();
+    }
+
+    /**
+     * 立即把待写会话写入数据库
+     */
+    public synchronized void flush() {
+        if (repository == null || dirty.isEmpty()) {
+            return;
+        }
+        // 先发布为正在写入的批次，再移出待写集合：两者之间未命中的会话总能在其中之一找到，
+        // 不会从数据库加载旧数据
+        Map<String, ConversationSession> batch = new LinkedHashMap<>(dirty);
+        inFlight = batch;
+
+        // 移出后再取快照：取快照之后的修改会重新记入，下一轮写入；
+        // 移出失败的会话已被替换，留给下一轮，不计入本批次
+        Map<String, ConversationSession> written = new LinkedHashMap<>(batch.size() * 2);
+        Map<String, ConversationSession.Snapshot> snapshots = new LinkedHashMap<>(batch.size() * 2);
+        for (Map.Entry<String, ConversationSession> entry : batch.entrySet()) {
+            if (dirty.remove(entry.getKey(), entry.getValue())) {
+                written.put(entry.getKey(), entry.getValue());
+                snapshots.put(entry.getKey(), entry.getValue().snapshot());
+            }
+        }
+        if (snapshots.isEmpty()) {
+            inFlight = Map.of();
+            return;
+        }
+
+        try {
+            repository.saveAll(snapshots, config.getPersistence().getBatchSize());
+            persisted.increment(snapshots.size());
+        } catch (RuntimeException e) {
+            failed.increment(snapshots.size());
+            log.warn("会话写入数据库失败，{} 个会话等待重试: {}", snapshots.size(), e.getMessage());
+            requeue(written);
+        } finally {
+            inFlight = Map.of();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (flusher == null) {
+            return;
+        }
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    /**
+     * 缓存未命中时调用：依次查找待写集合、正在写入的批次和数据库
+     */
+    private ConversationSession load(String key) {
+        ConversationSession pending = dirty.get(key);
+        if (pending == null) {
+            pending = inFlight.get(key);
+        }
+        if (pending != null) {
+            return pending;
+        }
+        ConversationSession.Snapshot snapshot = null;
+        if (repository != null) {
+            try {
+                snapshot = repository.find(key);
+            } catch (RuntimeException e) {
+                // 数据库不可用时以空会话继续处理消息，只丢失历史上下文
+                log.warn("加载会话失败，使用新会话: key={}, error={}", key, e.getMessage());
+            }
+        }
+        if (snapshot == null) {
+            snapshot = new ConversationSession.Snapshot(List.of(), Map.of(), 0);
+        }
+        ConversationSession session = new ConversationSession(key, config.getMaxTurns(), snapshot);
+        if (repository != null) {
+            session.onChange(() -> dirty.put(key, session));
+        }
+        return session;
+    }
+
+    private void requeue(Map<String, ConversationSession> batch) {
+        int limit = config.getPersistence().getMaxPending();
+        int lost = 0;
+        for (Map.Entry<String, ConversationSession> entry : batch.entrySet()) {
+            if (dirty.size() < limit) {
+                dirty.putIfAbsent(entry.getKey(), entry.getValue());
+            } else {
+                lost++;
+            }
+        }
+        if (lost > 0) {
+            dropped.increment(lost);
+            log.warn("待写会话超过上限 {}，丢弃 {} 个会话的修改", limit, lost);
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("会话写入异常: {}", e.getMessage());
+        }
+    }
+
+    private void purgeQuietly() {
+        try {
+            long before = System.currentTimeMillis() - config.getPersistence().getRetention().toMillis();
+            int purged = repository.purgeOlderThan(before);
+            if (purged > 0) {
+                log.info("已删除 {} 个过期会话", purged);
+            }
+        } catch (RuntimeException e) {
+            log.warn("清理过期会话失败: {}", e.getMessage());
+        }
+    }
+
+    private static JdbcSessionRepository createRepository(SessionStoreConfig config, JdbcTemplate jdbcTemplate) {
+        if (!config.getPersistence().isEnabled()) {
+            return null;
+        }
+        if (jdbcTemplate == null) {
+            log.warn("已启用会话持久化，但没有可用的数据源，会话只保存在内存中");
+            return null;
+        }
+        JdbcSessionRepository repository = new JdbcSessionRepository(jdbcTemplate, new ObjectMapper());
+        try {
+            repository.createTableIfMissing();
+        } catch (RuntimeException e) {
+            // 数据库暂时不可用时仍启用写入，由后续的批量写入重试
+            log.warn("创建会话表失败: {}", e.getMessage());
+        }
+        return repository;
+    }
+
+    private static Counter persistedCounter(MeterRegistry registry, String result) {
+        return Counter.builder("qq.session.persisted")
+                .description("写入数据库的会话数")
+                .tag("result", result)
+                .register(registry);
+    }
+}
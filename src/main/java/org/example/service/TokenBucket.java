@@ -0,0 +1,87 @@
+package org.example.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 无锁令牌桶
+ * 按 GCRA（通用信元速率算法）实现：只保存一个"理论到达时间"，
+ * 获取令牌是一次 CAS，不需要后台线程补充令牌
+ *
+ * 所有时间参数均为 {@link System#nanoTime()} 取值
+ *
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+public final class TokenBucket {
+
+    // 生成一个令牌所需的纳秒数
+    private final long intervalNanos;
+
+    // 桶满时可以连续消耗的时间额度（burst 个令牌）
+    private final long burstNanos;
+
+    // 理论到达时间：不早于此时刻才算桶里还有令牌
+    private final AtomicLong theoreticalArrival;
+
+    /**
+     * @param ratePerSecond 每秒补充的令牌数
+     * @param burst         桶容量
+     */
+    public TokenBucket(double ratePerSecond, int burst) {
+        if (ratePerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("令牌桶速率和容量必须为正数");
+        }
+        this.intervalNanos = Math.max(1L, (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond));
+        this.burstNanos = intervalNanos * burst;
+        this.theoreticalArrival = new AtomicLong(System.nanoTime() - burstNanos);
+    }
+
+    /**
+     * 尝试获取一个令牌
+     *
+     * @param nowNanos 当前时间
+     * @return 是否获取成功
+     */
+    public boolean tryAcquire(long nowNanos) {
+        while (true) {
+            long tat = theoreticalArrival.get();
+            long next = Math.max(tat, nowNanos - burstNanos) + intervalNanos;
+            if (next - nowNanos > 0) {
+                return false;
+            }
+            if (theoreticalArrival.compareAndSet(tat, next)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 归还一个刚取得、但最终没有使用的令牌
+     * 理论到达时间回退一个间隔；回退到桶满之前的部分在下次获取时按桶容量截断，不会超过 burst
+     */
+    public void release() {
+        theoreticalArrival.addAndGet(-intervalNanos);
+    }
+
+    /**
+     * 距离下一个令牌可用还需等待的时间，不消耗令牌
+     *
+     * @param nowNanos 当前时间
+     * @return 等待纳秒数，0 表示现在就有令牌
+     */
+    public long nanosUntilAvailable(long nowNanos) {
+        long wait = Math.max(theoreticalArrival.get(), nowNanos - burstNanos) + intervalNanos - nowNanos;
+        return Math.max(0L, wait);
+    }
+
+    /**
+     * 桶是否已经补满，补满的桶丢弃后重新创建不会改变限流行为
+     *
+     * @param nowNanos 当前时间
+     * @return 是否已满
+     */
+    public boolean isFull(long nowNanos) {
+        return theoreticalArrival.get() - (nowNanos - burstNanos) <= 0;
+    }
+}
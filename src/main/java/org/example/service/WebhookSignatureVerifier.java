@@ -0,0 +1,244 @@
+package org.example.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.example.config.QQBotConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.SecureRandom;
+import java.security.Signature;
+import java.security.spec.EdECPrivateKeySpec;
+import java.security.spec.NamedParameterSpec;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Map;
+
+/**
+ * Webhook 签名校验器（Ed25519）
+ * 按QQ开放平台规则，把机器人 secret 重复拼接到 32 字节作为种子派生密钥对，
+ * 密钥只在首次使用时派生一次；Signature 实例按线程复用
+ *
+ * 官方文档：https://bot.q.qq.com/wiki/develop/api-v2/dev-prepare/interface-framework/sign.html
+ *
+ * 待签名内容为 X-Signature-Timestamp + 请求体，签名以十六进制放在 X-Signature-Ed25519 中。
+ * 时间戳超出重放窗口、或窗口内出现过的签名都会被拒绝
+ *
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+@Component
+public class WebhookSignatureVerifier {
+
+    private static final Logger log = LoggerFactory.getLogger(WebhookSignatureVerifier.class);
+
+    public static final String SIGNATURE_HEADER = "x-signature-ed25519";
+    public static final String TIMESTAMP_HEADER = "x-signature-timestamp";
+
+    private static final String ALGORITHM = "Ed25519";
+    private static final int SEED_SIZE = 32;
+    private static final int SIGNATURE_SIZE = 64;
+
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final QQBotConfig config;
+
+    private final Cache<String, Boolean> seenSignatures;
+
+    private final long replayWindowSeconds;
+
+    private volatile KeyMaterial keyMaterial;
+
+    private final ThreadLocal<Signature> verifiers = ThreadLocal.withInitial(WebhookSignatureVerifier::newSignature);
+    private final ThreadLocal<Signature> signers = ThreadLocal.withInitial(WebhookSignatureVerifier::newSignature);
+
+    public WebhookSignatureVerifier(QQBotConfig config) {
+        this.config = config;
+        Duration window = config.getWebhookReplayWindow();
+        this.replayWindowSeconds = window.toSeconds();
+        // 签名在窗口内只允许出现一次，窗口外的请求已被时间戳检查拒绝，不必再记住
+        this.seenSignatures = Caffeine.newBuilder()
+                .maximumSize(config.getWebhookReplayCacheSize())
+                .expireAfterWrite(window.multipliedBy(2))
+                .build();
+    }
+
+    /**
+     * 校验 Webhook 请求签名
+     *
+     * @param headers 请求头
+     * @param payload 请求体
+     * @return 是否验证通过
+     */
+    public boolean verify(Map<String, String> headers, String payload) {
+        String timestamp = header(headers, TIMESTAMP_HEADER);
+        String signatureHex = header(headers, SIGNATURE_HEADER);
+        if (timestamp == null || signatureHex == null || signatureHex.length() != SIGNATURE_SIZE * 2) {
+            return false;
+        }
+        if (!withinReplayWindow(timestamp)) {
+            log.warn("Webhook 时间戳超出重放窗口: {}", timestamp);
+            return false;
+        }
+
+        byte[] signature;
+        try {
+            signature = HEX.parseHex(signatureHex);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        // RFC 8032：签名最后一个字节的高 3 位必须为 0
+        if ((signature[SIGNATURE_SIZE - 1] & 0xE0) != 0) {
+            return false;
+        }
+
+        try {
+            Signature verifier = verifiers.get();
+            verifier.initVerify(keyMaterial().publicKey);
+            verifier.update(timestamp.getBytes(StandardCharsets.UTF_8));
+            verifier.update(payload.getBytes(StandardCharsets.UTF_8));
+            if (!verifier.verify(signature)) {
+                return false;
+            }
+        } catch (GeneralSecurityException e) {
+            log.error("签名校验失败", e);
+            return false;
+        }
+
+        // 签名正确后才记入重放窗口，伪造请求不会占用缓存
+        if (seenSignatures.asMap().putIfAbsent(signatureHex, Boolean.TRUE) != null) {
+            log.warn("拒绝重放的 Webhook 请求: timestamp={}", timestamp);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 生成回调地址验证（op 13）的响应
+     * 用机器人私钥对 event_ts + plain_token 签名
+     *
+     * @param plainToken 平台下发的 plain_token
+     * @param eventTs    平台下发的 event_ts
+     * @return {"plain_token": ..., "signature": ...}
+     */
+    public Map<String, Object> callbackValidationResponse(String plainToken, String eventTs) {
+        try {
+            Signature signer = signers.get();
+            signer.initSign(keyMaterial().privateKey);
+            signer.update(eventTs.getBytes(StandardCharsets.UTF_8));
+            signer.update(plainToken.getBytes(StandardCharsets.UTF_8));
+            return Map.of(
+                    "plain_token", plainToken,
+                    "signature", HEX.formatHex(signer.sign()));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("生成回调验证签名失败", e);
+        }
+    }
+
+    private boolean withinReplayWindow(String timestamp) {
+        long seconds;
+        try {
+            seconds = Long.parseLong(timestamp);
+        } catch (NumberFormatException e) {
+            return false;
+        }
+        return Math.abs(System.currentTimeMillis() / 1000 - seconds) <= replayWindowSeconds;
+    }
+
+    private KeyMaterial keyMaterial() throws GeneralSecurityException {
+        KeyMaterial material = keyMaterial;
+        if (material == null) {
+            synchronized (this) {
+                material = keyMaterial;
+                if (material == null) {
+                    material = KeyMaterial.derive(config.getSecret());
+                    keyMaterial = material;
+                }
+            }
+        }
+        return material;
+    }
+
+    /**
+     * 请求头名称不区分大小写
+     */
+    private static String header(Map<String, String> headers, String name) {
+        String value = headers.get(name);
+        if (value != null) {
+            return value;
+        }
+        for (Map.Entry<String, String> entry : headers.entrySet()) {
+            if (name.equalsIgnoreCase(entry.getKey())) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    private static Signature newSignature() {
+        try {
+            return Signature.getInstance(ALGORITHM);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("当前 JDK 不支持 Ed25519", e);
+        }
+    }
+
+    /**
+     * 由 secret 派生的密钥对
+     */
+    private static final class KeyMaterial {
+        private final PrivateKey privateKey;
+        private final PublicKey publicKey;
+
+        private KeyMaterial(PrivateKey privateKey, PublicKey publicKey) {
+            this.privateKey = privateKey;
+            this.publicKey = publicKey;
+        }
+
+        static KeyMaterial derive(String secret) throws GeneralSecurityException {
+            if (secret == null || secret.isEmpty()) {
+                throw new IllegalStateException("未配置机器人 secret，无法校验 Webhook 签名");
+            }
+            StringBuilder repeated = new StringBuilder(secret);
+            while (repeated.length() < SEED_SIZE) {
+                repeated.append(secret);
+            }
+            byte[] seed = new byte[SEED_SIZE];
+            byte[] bytes = repeated.toString().getBytes(StandardCharsets.UTF_8);
+            System.arraycopy(bytes, 0, seed, 0, SEED_SIZE);
+
+            PrivateKey privateKey = KeyFactory.getInstance(ALGORITHM)
+                    .generatePrivate(new EdECPrivateKeySpec(NamedParameterSpec.ED25519, seed));
+
+            // JDK 没有从私钥推导公钥的接口，用固定种子的随机源让密钥对生成器生成同一对密钥
+            KeyPairGenerator generator = KeyPairGenerator.getInstance(ALGORITHM);
+            generator.initialize(NamedParameterSpec.ED25519, new FixedSeedRandom(seed));
+            KeyPair keyPair = generator.generateKeyPair();
+            return new KeyMaterial(privateKey, keyPair.getPublic());
+        }
+    }
+
+    /**
+     * 只用于派生密钥：每次都返回同一个种子
+     */
+    private static final class FixedSeedRandom extends SecureRandom {
+        private final byte[] seed;
+
+        private FixedSeedRandom(byte[] seed) {
+            this.seed = seed;
+        }
+
+        @Override
+        public void nextBytes(byte[] bytes) {
+            System.arraycopy(seed, 0, bytes, 0, Math.min(seed.length, bytes.length));
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package org.example.Z_Utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 模板 Markdown 消息测试
+ *
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+class MarkdownMessageTest {
+
+  @Test
+  void rejectsMissingTemplateId() {
+    List<MarkdownParam> params = List.of(MarkdownParam.of("title", "标题"));
+
+    assertThatThrownBy(() -> MarkdownMessage.template(null, params))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new MarkdownMessage(" ", params, "内容"))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> MarkdownMessageUtils.buildTitleMarkdownMessage("标题", "内容", null))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void serializesWithoutIntermediateMaps() {
+    MarkdownMessage message = MarkdownMessageUtils.buildListMarkdownMessage(
+        "清单", List.of("a", "\"b\""), "tpl_1");
+
+    assertThat(message.toJson()).isEqualTo("{\"content\":\" \",\"msg_type\":2,"
+        + "\"markdown\":{\"custom_template_id\":\"tpl_1\",\"params\":["
+        + "{\"key\":\"title\",\"values\":[\"清单\"]},"
+        + "{\"key\":\"items\",\"values\":[\"- a\\n- \\\"b\\\"\"]}]}}");
+  }
+}
@@ -0,0 +1,105 @@
+package org.example.audit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.config.AuditLogConfig;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 审计日志队列测试
+ * 写入线程在 flush-interval 内不会被唤醒，队列满后的丢弃全部发生在 offer 中；
+ * 关闭时写入线程写完队列中剩余的记录，由此校验保留了哪些记录
+ *
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+class AuditLogTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final List<AuditRecord> written = new CopyOnWriteArrayList<>();
+
+    private final AuditSink sink = new AuditSink() {
+        @Override
+        public String name() {
+            return "memory";
+        }
+
+        @Override
+        public void write(List<AuditRecord> records) {
+            written.addAll(records);
+        }
+    };
+
+    private AuditLog newAuditLog(AuditLogConfig.Overflow overflow, int sampleRate) {
+        AuditLogConfig config = new AuditLogConfig();
+        config.setQueueCapacity(3);
+        config.setOverflow(overflow);
+        config.setSampleRate(sampleRate);
+        // 一批大于队列容量，写入线程只在 flush-interval 到期或关闭时写入
+        config.setBatchSize(100);
+        config.setFlushInterval(Duration.ofHours(1));
+        return new AuditLog(config, sink, registry);
+    }
+
+    private static AuditRecord record(int i) {
+        return new AuditRecord(i, "AT_MESSAGE_CREATE", "m" + i, "u", "c", null);
+    }
+
+    private double count(String result) {
+        return registry.get("qq.audit.records").tag("result", result).counter().count();
+    }
+
+    @Test
+    void dropOldestKeepsTheNewestRecords() {
+        AuditLog auditLog = newAuditLog(AuditLogConfig.Overflow.DROP_OLDEST, 10);
+
+        for (int i = 1; i <= 5; i++) {
+            auditLog.offer(record(i));
+        }
+        assertThat(auditLog.queueDepth()).isEqualTo(3);
+        assertThat(count("dropped")).isEqualTo(2);
+
+        auditLog.shutdown();
+        assertThat(written).extracting(AuditRecord::messageId).containsExactly("m3", "m4", "m5");
+        assertThat(count("written")).isEqualTo(3);
+        assertThat(auditLog.queueDepth()).isZero();
+    }
+
+    @Test
+    void sampleKeepsOneOfEverySampleRateOverflowingRecords() {
+        AuditLog auditLog = newAuditLog(AuditLogConfig.Overflow.SAMPLE, 2);
+
+        for (int i = 1; i <= 3; i++) {
+            auditLog.offer(record(i));
+        }
+        assertThat(count("dropped")).isZero();
+
+        // 队列满后的第 1、3、5 条替换最早的一条，第 2、4 条直接丢弃
+        for (int i = 4; i <= 8; i++) {
+            auditLog.offer(record(i));
+        }
+        assertThat(auditLog.queueDepth()).isEqualTo(3);
+        assertThat(count("dropped")).isEqualTo(5);
+
+        auditLog.shutdown();
+        assertThat(written).extracting(AuditRecord::messageId).containsExactly("m4", "m6", "m8");
+        assertThat(count("written")).isEqualTo(3);
+    }
+
+    @Test
+    void disabledAuditLogIgnoresRecords() {
+        AuditLogConfig config = new AuditLogConfig();
+        AuditLog auditLog = new AuditLog(config, (AuditSink) null, registry);
+
+        auditLog.offer(record(1));
+        auditLog.shutdown();
+        assertThat(auditLog.queueDepth()).isZero();
+        assertThat(written).isEmpty();
+    }
+}
@@ -0,0 +1,115 @@
+package org.example.audit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 文件审计日志测试
+ * 校验每条记录写成一行 JSON、按记录所在日期切换文件，以及重新打开后追加写入
+ *
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+class FileAuditSinkTest {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    // 文件按系统时区的日期命名
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 1);
+
+    @TempDir
+    Path directory;
+
+    private FileAuditSink sink;
+
+    @AfterEach
+    void close() throws IOException {
+        if (sink != null) {
+            sink.close();
+        }
+    }
+
+    private static long at(LocalDate date, int hour) {
+        return date.atTime(hour, 0).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private List<JsonNode> readLines(LocalDate date) throws IOException {
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : Files.readAllLines(directory.resolve("audit-" + date + ".jsonl"), StandardCharsets.UTF_8)) {
+            lines.add(JSON.readTree(line));
+        }
+        return lines;
+    }
+
+    @Test
+    void writesOneJsonObjectPerLine() throws IOException {
+        sink = new FileAuditSink(directory.toString());
+        long time = at(DAY, 10);
+
+        sink.write(List.of(
+                new AuditRecord(time, "GROUP_AT_MESSAGE_CREATE", "m1", "u1", "g1", null),
+                new AuditRecord(time + 1, "READY", null, "bot", null, "sessionId=\"s\"\nbot=测试")));
+
+        List<JsonNode> lines = readLines(DAY);
+        assertThat(lines).hasSize(2);
+
+        JsonNode message = lines.get(0);
+        assertThat(message.path("time").asText()).isEqualTo(Instant.ofEpochMilli(time).toString());
+        assertThat(message.path("eventType").asText()).isEqualTo("GROUP_AT_MESSAGE_CREATE");
+        assertThat(message.path("messageId").asText()).isEqualTo("m1");
+        assertThat(message.path("senderId").asText()).isEqualTo("u1");
+        assertThat(message.path("conversationId").asText()).isEqualTo("g1");
+        // 为 null 的字段不输出
+        assertThat(message.has("detail")).isFalse();
+
+        JsonNode ready = lines.get(1);
+        assertThat(ready.has("messageId")).isFalse();
+        assertThat(ready.path("detail").asText()).isEqualTo("sessionId=\"s\"\nbot=测试");
+    }
+
+    @Test
+    void rollsOverToANewFileWhenTheDateChanges() throws IOException {
+        sink = new FileAuditSink(directory.toString());
+        LocalDate nextDay = DAY.plusDays(1);
+
+        // 同一批中跨越零点
+        sink.write(List.of(
+                new AuditRecord(at(DAY, 23), "AT_MESSAGE_CREATE", "m1", "u1", "c1", null),
+                new AuditRecord(at(nextDay, 0), "AT_MESSAGE_CREATE", "m2", "u1", "c1", null)));
+        sink.write(List.of(
+                new AuditRecord(at(nextDay, 1), "AT_MESSAGE_CREATE", "m3", "u1", "c1", null)));
+
+        assertThat(readLines(DAY)).extracting(line -> line.path("messageId").asText())
+                .containsExactly("m1");
+        assertThat(readLines(nextDay)).extracting(line -> line.path("messageId").asText())
+                .containsExactly("m2", "m3");
+    }
+
+    @Test
+    void appendsToTheExistingFileAfterReopening() throws IOException {
+        sink = new FileAuditSink(directory.toString());
+        sink.write(List.of(new AuditRecord(at(DAY, 8), "C2C_MESSAGE_CREATE", "m1", "u1", null, null)));
+        sink.close();
+
+        sink = new FileAuditSink(directory.toString());
+        sink.write(List.of(new AuditRecord(at(DAY, 9), "C2C_MESSAGE_CREATE", "m2", "u1", null, null)));
+
+        assertThat(readLines(DAY)).extracting(line -> line.path("messageId").asText())
+                .containsExactly("m1", "m2");
+    }
+}
@@ -0,0 +1,76 @@
+package org.example.audit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 数据库审计日志测试
+ * 在 MySQL 兼容模式的 H2 内存数据库中校验建表语句和批量插入
+ *
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+class JdbcAuditSinkTest {
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void createDatabase() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:audit;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", ""));
+    }
+
+    @AfterEach
+    void dropDatabase() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void createsTheTableOnlyOnce() {
+        new JdbcAuditSink(jdbcTemplate);
+        jdbcTemplate.update("INSERT INTO bot_event_audit (event_time, event_type) VALUES (?, ?)",
+                new Timestamp(0), "READY");
+
+        // 再次创建时保留已有的表和数据
+        new JdbcAuditSink(jdbcTemplate);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM bot_event_audit", Integer.class))
+                .isEqualTo(1);
+    }
+
+    @Test
+    void insertsABatchInOrder() {
+        JdbcAuditSink sink = new JdbcAuditSink(jdbcTemplate);
+        long time = 1_709_280_000_123L;
+
+        sink.write(List.of(
+                new AuditRecord(time, "GROUP_AT_MESSAGE_CREATE", "m1", "u1", "g1", null),
+                new AuditRecord(time + 1, "C2C_MESSAGE_CREATE", "m2", "u2", null, null),
+                new AuditRecord(time + 2, "READY", null, "bot", null, "x".repeat(600))));
+
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT event_time, event_type, message_id, sender_id, conversation_id, detail "
+                        + "FROM bot_event_audit ORDER BY id");
+        assertThat(rows).hasSize(3);
+
+        Map<String, Object> first = rows.get(0);
+        assertThat(((Timestamp) first.get("EVENT_TIME")).getTime()).isEqualTo(time);
+        assertThat(first.get("EVENT_TYPE")).isEqualTo("GROUP_AT_MESSAGE_CREATE");
+        assertThat(first.get("MESSAGE_ID")).isEqualTo("m1");
+        assertThat(first.get("SENDER_ID")).isEqualTo("u1");
+        assertThat(first.get("CONVERSATION_ID")).isEqualTo("g1");
+        assertThat(first.get("DETAIL")).isNull();
+
+        assertThat(rows.get(1).get("CONVERSATION_ID")).isNull();
+        // 超过列宽的附加信息截断，不让整批插入失败
+        assertThat((String) rows.get(2).get("DETAIL")).hasSize(512);
+    }
+}
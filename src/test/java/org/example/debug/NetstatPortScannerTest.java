@@ -0,0 +1,34 @@
+package org.example.debug;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * netstat -ano 输出解析测试
+ *
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+class NetstatPortScannerTest {
+
+    @Test
+    void keepsEveryTcpStateAndUdp() throws IOException {
+        List<String[]> sockets;
+        try (BufferedReader reader = ProcNetPortScannerTest.fixture("netstat-ano.txt")) {
+            sockets = NetstatPortScanner.readSockets(reader, port -> port >= 1000 && port <= 9999);
+        }
+
+        // 表头跳过；50000 和 68 不在范围内
+        assertThat(sockets).containsExactly(
+                new String[]{"TCP", "8070", "4321"},
+                new String[]{"TCP", "8070", "4321"},
+                new String[]{"TCP", "3000", "0"},
+                new String[]{"TCP", "8070", "4321"},
+                new String[]{"UDP", "5353", "1234"});
+    }
+}
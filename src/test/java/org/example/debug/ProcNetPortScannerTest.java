@@ -0,0 +1,78 @@
+package org.example.debug;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntPredicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * /proc/net 套接字表解析测试
+ * 夹具与 netstat-ano.txt 描述同一组套接字，两种引擎应得到相同的 协议/端口
+ *
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+class ProcNetPortScannerTest {
+
+    // 与 Debug_PortMain 相同的端口范围
+    private static final IntPredicate PORT_RANGE = port -> port >= 1000 && port <= 9999;
+
+    static BufferedReader fixture(String name) {
+        InputStream in = ProcNetPortScannerTest.class.getResourceAsStream("/debug/" + name);
+        assertThat(in).as(name).isNotNull();
+        return new BufferedReader(new InputStreamReader(in, StandardCharsets.US_ASCII));
+    }
+
+    private static List<ProcNetPortScanner.Socket> read(String name, String protocol) throws IOException {
+        try (BufferedReader reader = fixture(name)) {
+            return ProcNetPortScanner.readTable(reader, protocol, PORT_RANGE);
+        }
+    }
+
+    @Test
+    void keepsTcpSocketsInEveryState() throws IOException {
+        List<ProcNetPortScanner.Socket> sockets = read("proc-net-tcp", "TCP");
+
+        // LISTEN 和 ESTABLISHED 的 8070、TIME_WAIT 的 3000；50000 不在范围内，截断的行跳过
+        assertThat(sockets).containsExactly(
+                new ProcNetPortScanner.Socket("TCP", 8070, 1001),
+                new ProcNetPortScanner.Socket("TCP", 8070, 1002),
+                new ProcNetPortScanner.Socket("TCP", 3000, 0));
+    }
+
+    @Test
+    void parsesIpv6AndUdpTables() throws IOException {
+        assertThat(read("proc-net-tcp6", "TCP"))
+                .containsExactly(new ProcNetPortScanner.Socket("TCP", 8070, 1004));
+        // 68 不在范围内
+        assertThat(read("proc-net-udp", "UDP"))
+                .containsExactly(new ProcNetPortScanner.Socket("UDP", 5353, 1005));
+    }
+
+    @Test
+    void matchesNetstatOutputForTheSameSockets() throws IOException {
+        List<String> proc = new ArrayList<>();
+        for (String[] table : new String[][]{{"proc-net-tcp", "TCP"}, {"proc-net-tcp6", "TCP"}, {"proc-net-udp", "UDP"}}) {
+            for (ProcNetPortScanner.Socket socket : read(table[0], table[1])) {
+                proc.add(socket.protocol() + ":" + socket.port());
+            }
+        }
+
+        List<String> netstat = new ArrayList<>();
+        try (BufferedReader reader = fixture("netstat-ano.txt")) {
+            for (String[] socket : NetstatPortScanner.readSockets(reader, PORT_RANGE)) {
+                netstat.add(socket[0] + ":" + socket[1]);
+            }
+        }
+
+        assertThat(proc).containsExactlyInAnyOrderElementsOf(netstat);
+    }
+}
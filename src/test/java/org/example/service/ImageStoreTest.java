@@ -0,0 +1,54 @@
+package org.example.service;
+
+import org.example.config.ImageStoreConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 生成图片存储测试
+ * 保存的图片在重启（新建实例）后仍能按哈希读取
+ *
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+class ImageStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private ImageStore newStore() {
+        ImageStoreConfig config = new ImageStoreConfig();
+        config.setDirectory(directory.toString());
+        return new ImageStore(config);
+    }
+
+    @Test
+    void writesImagesToDiskWhenSaved() throws Exception {
+        byte[] png = "not really a png".getBytes(StandardCharsets.UTF_8);
+        String hash = newStore().put(png);
+
+        assertThat(Files.readAllBytes(directory.resolve(hash + ".png"))).isEqualTo(png);
+
+        // 重启后内存为空，从本地目录读取
+        ImageStore restarted = newStore();
+        assertThat(restarted.contains(hash)).isTrue();
+        assertThat(restarted.get(hash)).isEqualTo(png);
+    }
+
+    @Test
+    void storesTheSameContentOnce() throws Exception {
+        ImageStore store = newStore();
+        byte[] png = {1, 2, 3};
+
+        assertThat(store.put(png)).isEqualTo(store.put(png.clone()));
+        try (var files = Files.list(directory)) {
+            assertThat(files).hasSize(1);
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package org.example.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.config.OutboundSenderConfig;
+import org.example.config.QQBotConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 出站消息发送器测试
+ * 发送器直接连接本地桩 HTTP 服务器，校验合并、令牌桶限速、429 响应和关闭时的行为
+ *
+ * @author QQ Robot Team
+ * @since 2.1.0
+ */
+class OutboundMessageSenderTest {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private HttpServer server;
+
+    // 桩服务器收到的请求，按到达顺序
+    private final List<Received> received = new CopyOnWriteArrayList<>();
+
+    // 频道ID -> 桩服务器返回的状态码，未配置时返回 200
+    private final Map<String, Integer> statusByChannel = new ConcurrentHashMap<>();
+
+    // 非空时桩服务器在返回前等待，用于让消息在发送器中排队
+    private volatile CountDownLatch responseGate;
+
+    private final OutboundSenderConfig config = new OutboundSenderConfig();
+
+    private OutboundMessageSender sender;
+
+    private record Received(long nanos, String channelId, String content, String msgType) {
+    }
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/channels/", this::handle);
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        if (sender != null) {
+            sender.shutdown();
+        }
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        long now = System.nanoTime();
+        String channelId = exchange.getRequestURI().getPath().split("/")[2];
+        JsonNode body = JSON.readTree(exchange.getRequestBody());
+        received.add(new Received(now, channelId, body.path("content").asText(), body.path("msg_type").asText()));
+
+        CountDownLatch gate = responseGate;
+        if (gate != null) {
+            try {
+                gate.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        int status = statusByChannel.getOrDefault(channelId, 200);
+        byte[] response = (status == 200 ? "{\"id\":\"ok\"}" : "{\"code\":22009,\"message\":\"msg limit exceed\"}")
+                .getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, response.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(response);
+        }
+    }
+
+    private OutboundMessageSender newSender() {
+        QQBotConfig botConfig = new QQBotConfig();
+        botConfig.setToken("test");
+        botConfig.setApiBaseUrl("http://127.0.0.1:" + server.getAddress().getPort());
+        sender = new OutboundMessageSender(botConfig, config,
+                config.qqOpenApiWebClient(WebClient.builder()), new BotMetrics(new SimpleMeterRegistry()));
+        return sender;
+    }
+
+    private static Map<String, Object> await(CompletableFuture<Map<String, Object>> result) throws Exception {
+        return result.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void coalescesQueuedTextMessagesToTheSameChannel() throws Exception {
+        config.setChannelRatePerSecond(5);
+        config.setChannelBurst(1);
+        OutboundMessageSender sender = newSender();
+
+        // 先建立连接，避免首个请求的耗时超过令牌间隔
+        assertThat(await(sender.send("warmup", "warmup", "text"))).containsEntry("success", true);
+        received.clear();
+
+        // 第一条发出后频道令牌用完，之后的消息在等待令牌期间排队
+        assertThat(await(sender.send("c1", "m1", "text"))).containsEntry("success", true);
+        List<CompletableFuture<Map<String, Object>>> results = new ArrayList<>();
+        for (int i = 2; i <= 5; i++) {
+            results.add(sender.send("c1", "m" + i, "text"));
+        }
+        // 非文本消息不参与合并
+        results.add(sender.send("c1", "card", "ark"));
+
+        for (CompletableFuture<Map<String, Object>> result : results) {
+            assertThat(await(result)).containsEntry("success", true);
+        }
+        assertThat(received).extracting(Received::content)
+                .containsExactlyInAnyOrder("m1", "m2\nm3\nm4\nm5", "card");
+        assertThat(received).filteredOn(r -> r.content().equals("card"))
+                .extracting(Received::msgType).containsExactly("ark");
+        assertThat(sender.pendingCount()).isZero();
+    }
+
+    @Test
+    void pacesSendsByChannelAndBotTokenBuckets() throws Exception {
+        config.setChannelRatePerSecond(10);
+        config.setChannelBurst(1);
+        config.setBotRatePerSecond(20);
+        config.setBotBurst(1);
+        OutboundMessageSender sender = newSender();
+
+        // 非文本消息不会合并，每条都要等待令牌
+        List<CompletableFuture<Map<String, Object>>> results = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            results.add(sender.send("paced", "p" + i, "ark"));
+        }
+        for (CompletableFuture<Map<String, Object>> result : results) {
+            assertThat(await(result)).containsEntry("success", true);
+        }
+        // 频道每 100ms 一个令牌：4 条至少跨越 3 个间隔
+        long channelSpan = received.get(3).nanos() - received.get(0).nanos();
+        assertThat(channelSpan).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(270));
+
+        // 不同频道各自有令牌，但共享每 50ms 一个令牌的机器人令牌桶
+        received.clear();
+        results.clear();
+        for (int i = 0; i < 5; i++) {
+            results.add(sender.send("bot-" + i, "b" + i, "ark"));
+        }
+        for (CompletableFuture<Map<String, Object>> result : results) {
+            assertThat(await(result)).containsEntry("success", true);
+        }
+        long botSpan = received.get(4).nanos() - received.get(0).nanos();
+        assertThat(botSpan).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(180));
+    }
+
+    @Test
+    void reportsRateLimitedResponseAsFailureAndKeepsSending() throws Exception {
+        statusByChannel.put("limited", 429);
+        OutboundMessageSender sender = newSender();
+
+        Map<String, Object> limited = await(sender.send("limited", "hello", "text"));
+        assertThat(limited).containsEntry("success", false);
+        assertThat((String) limited.get("error")).contains("429");
+
+        // 一个频道被限流不影响其它频道
+        assertThat(await(sender.send("other", "hello", "text"))).containsEntry("success", true);
+        assertThat(sender.pendingCount()).isZero();
+    }
+
+    @Test
+    void failsQueuedMessagesOnShutdown() throws Exception {
+        config.setChannelRatePerSecond(0.1);
+        config.setChannelBurst(1);
+        OutboundMessageSender sender = newSender();
+        responseGate = new CountDownLatch(1);
+
+        // 第一条已发出，后面的要等 10 秒才有令牌
+        CompletableFuture<Map<String, Object>> inFlight = sender.send("slow", "first", "ark");
+        CompletableFuture<Map<String, Object>> queued = sender.send("slow", "second", "ark");
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (received.isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        sender.shutdown();
+        assertThat(queued.getNow(null)).containsEntry("success", false);
+        assertThat(sender.pendingCount()).isZero();
+        assertThat(sender.send("slow", "late", "text").getNow(null)).containsEntry("success", false);
+
+        // 已经发出的请求照常完成
+        responseGate.countDown();
+        assertThat(await(inFlight)).containsEntry("success", true);
+    }
+}